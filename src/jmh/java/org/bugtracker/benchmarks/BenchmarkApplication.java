@@ -0,0 +1,51 @@
+package org.bugtracker.benchmarks;
+
+import org.bugtracker.BugTrackerApplication;
+import org.bugtracker.config.DatasetProperties;
+import org.bugtracker.services.DatasetGenerator;
+import org.bugtracker.util.DatasetGenerationResult;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the whole application for the benchmarks that need Spring: the "test" profile only (embedded H2
+ * built by the Flyway migrations, no demo data, no SQL logging), Tomcat on a random port and quiet logging.
+ * The BCrypt strength is pinned, so startup skips the calibration.
+ */
+final class BenchmarkApplication {
+
+    /** Seed of the benchmark data, so every run and every release measures the same rows. */
+    static final long SEED = 42;
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        // As arguments, so they win over application.properties (which activates the dev profile)
+        return new SpringApplicationBuilder(BugTrackerApplication.class).run(
+                "--spring.profiles.active=test",
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--spring.main.banner-mode=off",
+                "--bugtracker.password-hashing.strength=4");
+    }
+
+    /**
+     * Inserts {@code count} bugs of the synthetic dataset (see DatasetGenerator), with one user per 40 bugs
+     * as assignees, all generated from {@link #SEED}.
+     *
+     * @return The IDs of the new bugs, in insertion order.
+     */
+    static long[] seedBugs(ConfigurableApplicationContext context, int count) {
+        DatasetProperties spec = new DatasetProperties();
+        spec.setUsers(Math.max(1, count / 40));
+        spec.setBugs(count);
+        spec.setSeed(SEED);
+        DatasetGenerationResult result = context.getBean(DatasetGenerator.class).generate(spec);
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = result.getFirstBugId() + i;
+        }
+        return ids;
+    }
+}
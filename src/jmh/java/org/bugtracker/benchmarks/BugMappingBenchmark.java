@@ -0,0 +1,78 @@
+package org.bugtracker.benchmarks;
+
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.BugDetailDto;
+import org.bugtracker.entities.BugSummaryDto;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.entities.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-view mapping: {@link BugDetailDto#from(Bug)} for the detail page and the JSON API (with the
+ * assignees sorted by username), and {@link BugSummaryDto#from(Bug)} for a full list page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BugMappingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"0", "5", "50"})
+    private int assignees;
+
+    private Bug bug;
+    private List<Bug> page;
+
+    @Setup
+    public void setUp() {
+        bug = bug(1);
+        for (int i = assignees; i > 0; i--) { // Reverse order, so the sort has work to do
+            User user = new User("user" + i, "not-a-hash", "First" + i, "Last" + i, "user" + i + "@example.com", false);
+            user.setId((long) i);
+            bug.getAssignedUsers().add(user);
+        }
+        page = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(bug(i));
+        }
+    }
+
+    private static Bug bug(long id) {
+        Bug bug = new Bug("Bug " + id, "Steps to reproduce", Priority.HIGH, Status.OPEN);
+        bug.setId(id);
+        bug.setVersion(3L);
+        bug.setCreatedAt(LocalDateTime.now());
+        bug.setUpdatedAt(LocalDateTime.now());
+        return bug;
+    }
+
+    @Benchmark
+    public BugDetailDto detail() {
+        return BugDetailDto.from(bug);
+    }
+
+    @Benchmark
+    public List<BugSummaryDto> summaryPage() {
+        return page.stream().map(BugSummaryDto::from).toList();
+    }
+}
@@ -0,0 +1,136 @@
+package org.bugtracker.benchmarks;
+
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.BugSummaryDto;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.services.BugService;
+import org.bugtracker.util.CriteriaDto;
+import org.bugtracker.util.KeysetPage;
+import org.bugtracker.util.SearchableBugField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BugServiceImpl against the embedded H2 database, through the Spring proxies (transactions, metrics), as the
+ * controllers call it: reads by ID (mostly second-level cache hits), create/update/delete, and the three ways
+ * of paging the list. The offset and keyset benchmarks read the same page deep in the list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BugServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    /** Bugs in the table; the deep pages sit at 80% of it. */
+    @Param("10000")
+    private int bugs;
+
+    private ConfigurableApplicationContext context;
+    private BugService bugService;
+    private long[] ids;
+    private long[] versions;
+    private int next;
+    private int deepPage;
+    private String deepCursor;
+    private List<CriteriaDto> criteria;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        context = BenchmarkApplication.start();
+        bugService = context.getBean(BugService.class);
+        ids = BenchmarkApplication.seedBugs(context, bugs);
+        versions = new long[bugs]; // Every fork starts from freshly generated bugs, all at version 0
+
+        deepPage = bugs * 4 / 5 / PAGE_SIZE;
+        KeysetPage<BugSummaryDto> slice = null;
+        for (int page = 0; page < deepPage; page++) {
+            slice = bugService.getBugsByCursor(slice == null ? null : slice.getNextCursor(), PAGE_SIZE);
+        }
+        deepCursor = slice == null ? null : slice.getNextCursor();
+        criteria = List.of(new CriteriaDto(SearchableBugField.STATUS, "OPEN", true),
+                new CriteriaDto(SearchableBugField.PRIORITY, "HIGH", true));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    private int nextIndex() {
+        next = (next + 1) % ids.length;
+        return next;
+    }
+
+    private long nextId() {
+        return ids[nextIndex()];
+    }
+
+    @Benchmark
+    public Bug getBugById() {
+        return bugService.getBugById(nextId());
+    }
+
+    @Benchmark
+    public Bug readAndUpdateBug() {
+        Bug bug = bugService.getBugById(nextId());
+        bug.setStatus(bug.getStatus() == Status.OPEN ? Status.IN_PROGRESS : Status.OPEN);
+        return bugService.updateBug(bug.getId(), bug);
+    }
+
+    @Benchmark
+    public long patchBug() {
+        int index = nextIndex();
+        // The conditional UPDATE alone: the versions it returns are remembered instead of read back
+        versions[index] = bugService.patchBug(ids[index], versions[index], new Bug(null, null, Priority.HIGH, null));
+        return versions[index];
+    }
+
+    @Benchmark
+    public Long createAndDeleteBug() {
+        Bug bug = bugService.createBug(new Bug("Benchmark bug", "Created and deleted again", Priority.LOW, Status.OPEN));
+        bugService.deleteBug(bug.getId());
+        return bug.getId();
+    }
+
+    @Benchmark
+    public Page<BugSummaryDto> firstPage() {
+        return bugService.getBugSummaries(PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Page<BugSummaryDto> deepOffsetPage() {
+        return bugService.getBugSummaries(PageRequest.of(deepPage, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public KeysetPage<BugSummaryDto> deepKeysetPage() throws Exception {
+        return bugService.getBugsByCursor(deepCursor, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<Bug> searchByStatusAndPriority() throws Exception {
+        return bugService.searchBugs(criteria, PageRequest.of(0, PAGE_SIZE));
+    }
+}
@@ -0,0 +1,49 @@
+package org.bugtracker.benchmarks;
+
+import org.bugtracker.config.HibernateConfig;
+import org.hibernate.boot.model.naming.Identifier;
+import org.hibernate.boot.model.naming.PhysicalNamingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The UPPER_SNAKE_CASE physical naming strategy of {@link HibernateConfig}, applied to short and long
+ * camelCase identifiers. Hibernate calls it for every table and column while it builds its metamodel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NamingStrategyBenchmark {
+
+    @Param({"id", "updatedAt", "userAssignedBugsAssignedUsersId"})
+    private String name;
+
+    private PhysicalNamingStrategy strategy;
+    private Identifier identifier;
+
+    @Setup
+    public void setUp() {
+        strategy = new HibernateConfig().customUpperSnakeCasePhysicalNamingStrategy();
+        identifier = Identifier.toIdentifier(name);
+    }
+
+    @Benchmark
+    public Identifier toPhysicalColumnName() {
+        // The strategy does not consult the JDBC environment
+        return strategy.toPhysicalColumnName(identifier, null);
+    }
+}
@@ -0,0 +1,37 @@
+package org.bugtracker.benchmarks;
+
+import org.bugtracker.util.SearchableBugField;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SearchableBugField#fromString(String)}, which runs for every search criterion a client sends:
+ * a match on the constant name, a match on the field name in another case, the last constant, and a miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchableBugFieldBenchmark {
+
+    @Param({"TITLE", "Status", "priority", "assignee"})
+    private String input;
+
+    @Benchmark
+    public Optional<SearchableBugField> fromString() {
+        return SearchableBugField.fromString(input);
+    }
+}
@@ -0,0 +1,111 @@
+package org.bugtracker.benchmarks;
+
+import org.bugtracker.entities.BugSummaryDto;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.util.BugSearchForm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders bugs/list.html (inside the main layout) through the application's Thymeleaf view resolver, with the
+ * model BugController#getAllBugs hands it and a logged-in user, but without the controller and the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateRenderingBenchmark {
+
+    @Param({"10", "100"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private View view;
+    private Map<String, Object> model;
+    private CsrfToken csrfToken;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        context = BenchmarkApplication.start();
+        view = context.getBean("thymeleafViewResolver", ViewResolver.class).resolveViewName("bugs/list", Locale.ENGLISH);
+
+        List<BugSummaryDto> summaries = new ArrayList<>();
+        for (long id = 1; id <= rows; id++) {
+            summaries.add(new BugSummaryDto(id, "Bug " + id, Priority.values()[(int) id % 4], Status.values()[(int) id % 5],
+                    LocalDateTime.now(), LocalDateTime.now()));
+        }
+        model = new HashMap<>();
+        model.put("bugsPage", new PageImpl<>(summaries, PageRequest.of(0, rows), 10_000));
+        model.put("search", new BugSearchForm());
+        model.put("currentPage", "bugs");
+        csrfToken = new DefaultCsrfToken("X-CSRF-TOKEN", "_csrf", "benchmark-token");
+
+        // The layout's sec:authorize checks read the security context; JMH may run the benchmark on another thread
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                "jdoe", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+
+        // Measure the page, not an error: the first render must produce every row and the logged-in user
+        String page = render().getContentAsString();
+        if (!page.contains("Bug " + rows + "<") || !page.contains("jdoe")) {
+            throw new IllegalStateException("bugs/list did not render as expected:\n" + page);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public int renderBugList() throws Exception {
+        return render().getContentAsByteArray().length;
+    }
+
+    private MockHttpServletResponse render() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(
+                ((WebApplicationContext) context).getServletContext(), "GET", "/bugs");
+        request.setAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, context);
+        request.setAttribute(CsrfToken.class.getName(), csrfToken);
+        request.setAttribute(csrfToken.getParameterName(), csrfToken);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        view.render(model, request, response);
+        return response;
+    }
+}
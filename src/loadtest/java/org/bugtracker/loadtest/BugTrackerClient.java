@@ -0,0 +1,118 @@
+package org.bugtracker.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One browser session against the application: its own cookie jar (so its own JSESSIONID), the form login
+ * of SecurityConfig, and CSRF tokens taken from the page that holds the form, as a browser would submit them.
+ * Redirects are not followed, so every request is measured on its own.
+ */
+final class BugTrackerClient {
+
+    private static final Pattern CSRF_INPUT = Pattern.compile("<input[^>]*name=\"_csrf\"[^>]*>");
+    private static final Pattern VALUE = Pattern.compile("value=\"([^\"]*)\"");
+
+    /** A response: status, body and the Location header of redirects. */
+    record Response(int status, String body, String location) {
+    }
+
+    private final URI baseUri;
+    private final HttpClient http;
+    private final Function<String, LatencyStats> stats;
+
+    /**
+     * @param baseUri The application, e.g. http://localhost:8081.
+     * @param stats   Returns the recorder of an endpoint name.
+     */
+    BugTrackerClient(URI baseUri, Function<String, LatencyStats> stats) {
+        this.baseUri = baseUri;
+        this.stats = stats;
+        this.http = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * Logs in through the login page, like a browser: GET /auth for the CSRF token, then POST /login.
+     *
+     * @throws IllegalStateException if the application rejects the credentials or throttles the login.
+     */
+    void login(String username, String password) throws IOException, InterruptedException {
+        Response page = get("GET /auth", "/auth", 200);
+        Response result = postForm("POST /login", "/login", Map.of(
+                "username", List.of(username),
+                "password", List.of(password),
+                "_csrf", List.of(csrfToken(page.body()))), 302);
+        if (result.location() == null || result.location().contains("/auth")) {
+            throw new IllegalStateException("Login of '" + username + "' failed: redirected to " + result.location());
+        }
+    }
+
+    /**
+     * @param endpoint       The name the latency is recorded under.
+     * @param path           The path and query.
+     * @param expectedStatus The status that counts as success.
+     */
+    Response get(String endpoint, String path, int expectedStatus) throws IOException, InterruptedException {
+        return send(endpoint, HttpRequest.newBuilder(baseUri.resolve(path)).GET(), expectedStatus);
+    }
+
+    /**
+     * Submits a form (application/x-www-form-urlencoded); parameters may repeat, e.g. assigneeIds.
+     */
+    Response postForm(String endpoint, String path, Map<String, List<String>> form, int expectedStatus)
+            throws IOException, InterruptedException {
+        StringJoiner body = new StringJoiner("&");
+        form.forEach((name, values) -> values.forEach(value -> body.add(
+                URLEncoder.encode(name, StandardCharsets.UTF_8) + "=" + URLEncoder.encode(value, StandardCharsets.UTF_8))));
+        return send(endpoint, HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString())), expectedStatus);
+    }
+
+    private Response send(String endpoint, HttpRequest.Builder request, int expectedStatus)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            HttpResponse<String> response = http.send(request.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            ok = response.statusCode() == expectedStatus;
+            return new Response(response.statusCode(), response.body(),
+                    response.headers().firstValue("Location").orElse(null));
+        } finally {
+            stats.apply(endpoint).record(System.nanoTime() - start, ok);
+        }
+    }
+
+    /**
+     * @return The CSRF token of the (first) form on the page.
+     * @throws IllegalStateException if the page has no CSRF field, e.g. because it is the login page.
+     */
+    static String csrfToken(String html) {
+        Matcher input = CSRF_INPUT.matcher(html);
+        if (input.find()) {
+            Matcher value = VALUE.matcher(input.group());
+            if (value.find()) {
+                return value.group(1);
+            }
+        }
+        throw new IllegalStateException("No CSRF token on the page");
+    }
+}
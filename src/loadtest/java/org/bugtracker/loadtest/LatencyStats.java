@@ -0,0 +1,96 @@
+package org.bugtracker.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Latencies of one endpoint. Every sample is kept, so the percentiles are exact; a run of a few minutes
+ * records a few hundred thousand samples at most.
+ */
+final class LatencyStats {
+
+    private final String endpoint;
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+
+    LatencyStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @param nanos The time from sending the request to reading the whole response.
+     * @param ok    Whether the response was the expected one.
+     */
+    synchronized void record(long nanos, boolean ok) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+        if (!ok) {
+            errors++;
+        }
+    }
+
+    synchronized void addTo(LatencyStats total) {
+        for (int i = 0; i < count; i++) {
+            total.record(samples[i], true);
+        }
+        synchronized (total) {
+            total.errors += errors;
+        }
+    }
+
+    /**
+     * @param elapsed The measured part of the run, to compute the throughput.
+     * @return One line of the report: requests, errors, requests per second and latencies in milliseconds.
+     */
+    synchronized String summarize(Duration elapsed) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        double seconds = elapsed.toNanos() / 1e9;
+        return String.format(Locale.ROOT, "%-22s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f",
+                endpoint, count, errors, count / seconds,
+                millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                millis(percentile(sorted, 0.999)), millis(count == 0 ? 0 : sorted[count - 1]));
+    }
+
+    /**
+     * @return The same figures as {@link #summarize}, as a CSV row.
+     */
+    synchronized String toCsv(Duration elapsed) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return String.format(Locale.ROOT, "%s,%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f",
+                endpoint, count, errors, count / (elapsed.toNanos() / 1e9),
+                millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)),
+                millis(percentile(sorted, 0.999)), millis(count == 0 ? 0 : sorted[count - 1]));
+    }
+
+    static String header() {
+        return String.format(Locale.ROOT, "%-22s %9s %7s %9s %9s %9s %9s %9s",
+                "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+    }
+
+    static String csvHeader() {
+        return "endpoint,requests,errors,requests_per_second,p50_ms,p99_ms,p999_ms,max_ms";
+    }
+
+    /** Nearest-rank percentile of sorted samples. */
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
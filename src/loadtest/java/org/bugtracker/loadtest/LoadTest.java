@@ -0,0 +1,198 @@
+package org.bugtracker.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Replays a mix of browser traffic (see {@link Workflow}) against a running application and reports the
+ * throughput and the p50/p99/p99.9 latencies of every endpoint. Start the application first, e.g. with
+ * {@code mvn spring-boot:run} (the dev profile, whose demo data has the jdoe and asmith accounts), then run
+ * <pre>
+ *     mvn -P load-test test-compile exec:exec -Dloadtest.args="--users=8 --duration=60s"
+ * </pre>
+ * For a realistic table size, start the application with a synthetic dataset (see DatasetGeneratorRunner);
+ * with the same {@code bugtracker.dataset.seed} and {@code seed} options, two runs replay the same requests
+ * against the same data:
+ * <pre>
+ *     mvn spring-boot:run -Dspring-boot.run.arguments="--generate-dataset --bugtracker.dataset.bugs=200000"
+ * </pre>
+ * Options ({@code --name=value}):
+ * <ul>
+ *     <li>{@code base-url}: the application, default http://localhost:8081</li>
+ *     <li>{@code users}: concurrent sessions, each with its own login, default 8</li>
+ *     <li>{@code admins}: how many of them log in as the admin, default a quarter</li>
+ *     <li>{@code duration}, {@code warmup}: the measured run and the unmeasured warmup before it, default 60s and 10s</li>
+ *     <li>{@code think-time}: pause between two actions of a session, default 0s (closed loop, maximum load)</li>
+ *     <li>{@code seed}: seed of the random action mix, so two runs replay the same sequence</li>
+ *     <li>{@code admin-user}, {@code user}, {@code password}: the accounts, default jdoe, asmith and password</li>
+ *     <li>{@code report}: CSV file of the results, default target/load-test-report.csv</li>
+ * </ul>
+ * Every session logs in from the same address; LoginThrottle only counts failed logins against it, so any
+ * number of {@code users} can log in with the right password. The dev profile logs every SQL statement at DEBUG, which costs more
+ * than many of the requests themselves; compare runs against the same logging settings.
+ */
+public final class LoadTest {
+
+    private final URI baseUri;
+    private final int users;
+    private final int admins;
+    private final Duration duration;
+    private final Duration warmup;
+    private final Duration thinkTime;
+    private final long seed;
+    private final String adminUser;
+    private final String user;
+    private final String password;
+    private final Path report;
+
+    private final Map<String, LatencyStats> stats = new ConcurrentHashMap<>();
+    private final Workflow.KnownIds knownIds = new Workflow.KnownIds();
+    private final AtomicLong failedActions = new AtomicLong();
+    private final AtomicReference<Exception> firstFailure = new AtomicReference<>();
+
+    private LoadTest(Map<String, String> options) {
+        this.baseUri = URI.create(options.getOrDefault("base-url", "http://localhost:8081"));
+        this.users = Integer.parseInt(options.getOrDefault("users", "8"));
+        this.admins = Integer.parseInt(options.getOrDefault("admins", String.valueOf(Math.max(1, users / 4))));
+        this.duration = parseDuration(options.getOrDefault("duration", "60s"));
+        this.warmup = parseDuration(options.getOrDefault("warmup", "10s"));
+        this.thinkTime = parseDuration(options.getOrDefault("think-time", "0s"));
+        this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        this.adminUser = options.getOrDefault("admin-user", "jdoe");
+        this.user = options.getOrDefault("user", "asmith");
+        this.password = options.getOrDefault("password", "password");
+        this.report = Path.of(options.getOrDefault("report", "target/load-test-report.csv"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        new LoadTest(options).run(System.out);
+    }
+
+    private void run(PrintStream out) throws Exception {
+        out.printf("Load test of %s: %d sessions (%d admin), %ss warmup, %ss measured%n",
+                baseUri, users, admins, warmup.toSeconds(), duration.toSeconds());
+
+        // Log every session in before the clock starts, so the logins are not part of the mix
+        List<BugTrackerClient> clients = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            BugTrackerClient client = new BugTrackerClient(baseUri, this::statsOf);
+            client.login(i < admins ? adminUser : user, password);
+            clients.add(client);
+        }
+        // Seed the known bug IDs, so detail and edit have something to open from the start
+        Workflow.LIST.run(clients.get(0), knownIds, new Random(seed));
+
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+        List<Future<?>> sessions = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            BugTrackerClient client = clients.get(i);
+            boolean admin = i < admins;
+            Random random = new Random(seed + i);
+            sessions.add(executor.submit(() -> session(client, admin, random, warmupEnd, end)));
+        }
+        // The warmup samples are thrown away once it is over; the sessions keep running
+        Thread.sleep(warmup.toMillis());
+        stats.clear();
+        for (Future<?> session : sessions) {
+            session.get();
+        }
+        executor.shutdown();
+
+        printReport(out);
+    }
+
+    private void session(BugTrackerClient client, boolean admin, Random random, long warmupEnd, long end) {
+        while (System.nanoTime() < end) {
+            Workflow workflow = Workflow.pick(random, admin);
+            try {
+                workflow.run(client, knownIds, random);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // A broken page or a dropped connection: count it, keep the session going
+                if (System.nanoTime() > warmupEnd) {
+                    failedActions.incrementAndGet();
+                }
+                firstFailure.compareAndSet(null, e);
+            }
+            if (!thinkTime.isZero()) {
+                try {
+                    Thread.sleep(thinkTime.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private LatencyStats statsOf(String endpoint) {
+        return stats.computeIfAbsent(endpoint, LatencyStats::new);
+    }
+
+    private void printReport(PrintStream out) throws IOException {
+        Map<String, LatencyStats> byEndpoint = new TreeMap<>(stats);
+        LatencyStats all = new LatencyStats("ALL");
+        byEndpoint.values().forEach(endpoint -> endpoint.addTo(all));
+
+        out.println();
+        out.println(LatencyStats.header());
+        byEndpoint.values().forEach(endpoint -> out.println(endpoint.summarize(duration)));
+        out.println(all.summarize(duration));
+        out.printf("%nKnown bugs: %d, failed actions: %d%n", knownIds.bugCount(), failedActions.get());
+        if (firstFailure.get() != null) {
+            out.println("First failure: " + firstFailure.get());
+        }
+
+        List<String> lines = new ArrayList<>();
+        lines.add(LatencyStats.csvHeader());
+        byEndpoint.values().forEach(endpoint -> lines.add(endpoint.toCsv(duration)));
+        lines.add(all.toCsv(duration));
+        if (report.getParent() != null) {
+            Files.createDirectories(report.getParent());
+        }
+        Files.write(report, lines);
+        out.println("Report written to " + report.toAbsolutePath());
+    }
+
+    /** Accepts 90s, 5m or an ISO-8601 duration such as PT90S. */
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.parse(value);
+    }
+}
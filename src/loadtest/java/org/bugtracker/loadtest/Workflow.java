@@ -0,0 +1,215 @@
+package org.bugtracker.loadtest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The user actions replayed by the load test, with their share of the traffic. Each one is what a browser
+ * sends for the action (a form submission includes loading the form first, for its CSRF token and version).
+ */
+enum Workflow {
+
+    /** The offset-paged list, on one of the first pages. */
+    LIST(30, false) {
+        @Override
+        void run(BugTrackerClient client, KnownIds ids, Random random) throws IOException, InterruptedException {
+            String page = client.get("GET /bugs", "/bugs?page=" + random.nextInt(5), 200).body();
+            ids.addBugs(BUG_LINK, page);
+        }
+    },
+
+    /** The keyset-paged list: the first slice and the next one. */
+    BROWSE(10, false) {
+        @Override
+        void run(BugTrackerClient client, KnownIds ids, Random random) throws IOException, InterruptedException {
+            String page = client.get("GET /bugs/browse", "/bugs/browse", 200).body();
+            Matcher older = NEXT_CURSOR.matcher(page);
+            if (older.find()) {
+                client.get("GET /bugs/browse", "/bugs/browse?cursor=" + older.group(1) + "&size=10", 200);
+            }
+        }
+    },
+
+    DETAIL(25, false) {
+        @Override
+        void run(BugTrackerClient client, KnownIds ids, Random random) throws IOException, InterruptedException {
+            Long id = ids.randomBug(random);
+            if (id != null) {
+                client.get("GET /bugs/{id}", "/bugs/" + id, 200);
+            }
+        }
+    },
+
+    SEARCH(8, false) {
+        @Override
+        void run(BugTrackerClient client, KnownIds ids, Random random) throws IOException, InterruptedException {
+            String status = STATUSES[random.nextInt(STATUSES.length)];
+            client.get("GET /bugs/search", "/bugs/search?status=" + status, 200);
+        }
+    },
+
+    CREATE(7, false) {
+        @Override
+        void run(BugTrackerClient client, KnownIds ids, Random random) throws IOException, InterruptedException {
+            String form = client.get("GET /bugs/new", "/bugs/new", 200).body();
+            Map<String, List<String>> fields = new LinkedHashMap<>();
+            fields.put("_csrf", List.of(BugTrackerClient.csrfToken(form)));
+            fields.put("title", List.of("Load test bug " + random.nextInt(1_000_000)));
+            fields.put("description", List.of("Created by the load test"));
+            fields.put("priority", List.of(PRIORITIES[random.nextInt(PRIORITIES.length)]));
+            fields.put("status", List.of("OPEN"));
+            BugTrackerClient.Response created = client.postForm("POST /bugs", "/bugs", fields, 302);
+            if (created.location() != null) {
+                ids.addBugs(BUG_LINK, created.location());
+            }
+        }
+    },
+
+    /**
+     * Loads the edit form and submits it with the version it was rendered with. When two sessions edit the
+     * same bug, the later one gets the form back with a conflict message (200), which counts as an error.
+     */
+    EDIT(12, false) {
+        @Override
+        void run(BugTrackerClient client, KnownIds ids, Random random) throws IOException, InterruptedException {
+            Long id = ids.randomBug(random);
+            if (id == null) {
+                return;
+            }
+            String form = client.get("GET /bugs/{id}/edit", "/bugs/" + id + "/edit", 200).body();
+            Matcher version = VERSION_INPUT.matcher(form);
+            if (!version.find()) {
+                return;
+            }
+            Map<String, List<String>> fields = new LinkedHashMap<>();
+            fields.put("_csrf", List.of(BugTrackerClient.csrfToken(form)));
+            fields.put("id", List.of(String.valueOf(id)));
+            fields.put("version", List.of(version.group(1)));
+            fields.put("title", List.of("Edited by the load test " + random.nextInt(1_000_000)));
+            fields.put("description", List.of("Edited by the load test"));
+            fields.put("priority", List.of(PRIORITIES[random.nextInt(PRIORITIES.length)]));
+            fields.put("status", List.of(STATUSES[random.nextInt(STATUSES.length)]));
+            // The form posts the full selection; keep the current assignees
+            fields.put("assigneeIds", selectedAssignees(form));
+            client.postForm("POST /bugs/{id}/edit", "/bugs/" + id + "/edit", fields, 302);
+        }
+    },
+
+    /** Admin only: the user list and a user's edit form. */
+    ADMIN_USERS(8, true) {
+        @Override
+        void run(BugTrackerClient client, KnownIds ids, Random random) throws IOException, InterruptedException {
+            String page = client.get("GET /users", "/users?page=0&size=10", 200).body();
+            ids.addUsers(USER_EDIT_LINK, page);
+            Long id = ids.randomUser(random);
+            if (id != null) {
+                client.get("GET /users/{id}/edit", "/users/" + id + "/edit", 200);
+            }
+        }
+    };
+
+    private static final String[] STATUSES = {"OPEN", "IN_PROGRESS", "RESOLVED", "CLOSED", "REOPENED"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH", "CRITICAL"};
+
+    private static final Pattern BUG_LINK = Pattern.compile("/bugs/(\\d+)");
+    private static final Pattern USER_EDIT_LINK = Pattern.compile("/users/(\\d+)/edit");
+    private static final Pattern NEXT_CURSOR = Pattern.compile("/bugs/browse\\?cursor=([^&\"]+)&amp;size=\\d+\"[^>]*>Older");
+    private static final Pattern VERSION_INPUT = Pattern.compile("<input[^>]*name=\"version\"[^>]*value=\"(\\d+)\"");
+    private static final Pattern SELECTED_OPTION = Pattern.compile("<option value=\"(\\d+)\"[^>]*selected");
+
+    private final int weight;
+    private final boolean adminOnly;
+
+    Workflow(int weight, boolean adminOnly) {
+        this.weight = weight;
+        this.adminOnly = adminOnly;
+    }
+
+    abstract void run(BugTrackerClient client, KnownIds ids, Random random) throws IOException, InterruptedException;
+
+    /**
+     * Picks the next action of a session by weight.
+     *
+     * @param admin Whether the session may use the admin pages.
+     */
+    static Workflow pick(Random random, boolean admin) {
+        int total = 0;
+        for (Workflow workflow : values()) {
+            total += workflow.weightFor(admin);
+        }
+        int ticket = random.nextInt(total);
+        for (Workflow workflow : values()) {
+            ticket -= workflow.weightFor(admin);
+            if (ticket < 0) {
+                return workflow;
+            }
+        }
+        throw new IllegalStateException("Weights changed while picking");
+    }
+
+    private int weightFor(boolean admin) {
+        return adminOnly && !admin ? 0 : weight;
+    }
+
+    private static List<String> selectedAssignees(String form) {
+        int select = form.indexOf("id=\"assigneeIds\"");
+        if (select < 0) {
+            return List.of();
+        }
+        List<String> selected = new ArrayList<>();
+        Matcher option = SELECTED_OPTION.matcher(form.substring(select, form.indexOf("</select>", select)));
+        while (option.find()) {
+            selected.add(option.group(1));
+        }
+        return selected;
+    }
+
+    /**
+     * Bug and user IDs seen in responses so far, shared by all sessions.
+     */
+    static final class KnownIds {
+
+        private final List<Long> bugs = new ArrayList<>();
+        private final Set<Long> bugSet = new HashSet<>();
+        private final List<Long> users = new ArrayList<>();
+        private final Set<Long> userSet = new HashSet<>();
+
+        synchronized void addBugs(Pattern link, String html) {
+            add(link, html, bugs, bugSet);
+        }
+
+        synchronized void addUsers(Pattern link, String html) {
+            add(link, html, users, userSet);
+        }
+
+        synchronized Long randomBug(Random random) {
+            return bugs.isEmpty() ? null : bugs.get(random.nextInt(bugs.size()));
+        }
+
+        synchronized Long randomUser(Random random) {
+            return users.isEmpty() ? null : users.get(random.nextInt(users.size()));
+        }
+
+        synchronized int bugCount() {
+            return bugs.size();
+        }
+
+        private static void add(Pattern link, String html, List<Long> list, Set<Long> set) {
+            Matcher matcher = link.matcher(html);
+            while (matcher.find()) {
+                Long id = Long.valueOf(matcher.group(1));
+                if (set.add(id)) {
+                    list.add(id);
+                }
+            }
+        }
+    }
+}
@@ -1,25 +1,62 @@
 package org.bugtracker.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 /**
  * General application configuration, including common beans.
  */
 @Configuration
+@EnableConfigurationProperties(PasswordHashingProperties.class)
 public class ApplicationConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationConfig.class);
+
+    /** Strength the startup measurement is taken at (BCrypt's default). */
+    private static final int CALIBRATION_STRENGTH = 10;
+
+    /** Hashes measured per calibration; the fastest one counts, the first ones warm up the JIT. */
+    private static final int CALIBRATION_ROUNDS = 5;
+
     /**
      * Defines the password encoder bean. BCrypt is the industry standard.
      * This bean will be used for both encoding passwords when saving users
      * and for verifying passwords during login.
+     * <p>
+     * Hashing runs on a bounded pool (see {@link BoundedPasswordEncoder}) so it cannot occupy every
+     * request thread, and the BCrypt strength is calibrated at startup to the configured target latency.
+     * Existing hashes keep verifying, as every BCrypt hash records the strength it was made with.
      *
-     * @return A BCryptPasswordEncoder instance.
+     * @param properties The pool and work factor settings.
+     * @return A BCrypt encoder running on the password-hashing pool.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties) {
+        int strength = properties.getStrength() != null ? properties.getStrength() : calibrateStrength(properties);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength),
+                properties.getThreads(), properties.getQueueCapacity(), properties.getTimeout());
+    }
+
+    private static int calibrateStrength(PasswordHashingProperties properties) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(CALIBRATION_STRENGTH);
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration-password");
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        Duration measured = Duration.ofNanos(fastest);
+        int strength = BoundedPasswordEncoder.calibrateStrength(measured, CALIBRATION_STRENGTH,
+                properties.getTargetLatency(), properties.getMinStrength(), properties.getMaxStrength());
+        logger.info("BCrypt strength {} calibrated for a target of {} ms per hash (strength {} took {} ms)",
+                strength, properties.getTargetLatency().toMillis(), CALIBRATION_STRENGTH, measured.toMillis());
+        return strength;
     }
-}
\ No newline at end of file
+}
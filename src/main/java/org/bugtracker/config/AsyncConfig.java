@@ -0,0 +1,34 @@
+package org.bugtracker.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables {@code @Async}. The work runs on the {@code applicationTaskExecutor}: Spring Boot's bounded pool of
+ * platform threads (spring.task.execution.pool.*), or a virtual thread per task when
+ * {@code bugtracker.virtual-threads.enabled} is set (see VirtualThreadConfig).
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    /** Compiled from src/main/java21, only by builds with JDK 21 or later (Maven profile java21). */
+    static final String VIRTUAL_THREAD_CONFIG = "org.bugtracker.config.VirtualThreadConfig";
+
+    /**
+     * Fails the startup when virtual threads are asked for but this build cannot provide them, instead of
+     * silently running on platform threads.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "bugtracker.virtual-threads", name = "enabled", havingValue = "true")
+    @ConditionalOnMissingClass(VIRTUAL_THREAD_CONFIG)
+    static class VirtualThreadsUnavailable {
+
+        VirtualThreadsUnavailable() {
+            throw new IllegalStateException("bugtracker.virtual-threads.enabled needs a build with JDK 21 or "
+                    + "later (Maven profile java21); this one was built without VirtualThreadConfig");
+        }
+    }
+}
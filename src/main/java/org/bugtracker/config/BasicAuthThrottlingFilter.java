@@ -0,0 +1,63 @@
+package org.bugtracker.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.authentication.www.BasicAuthenticationConverter;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * The {@link LoginThrottlingFilter} of the HTTP Basic chains (JSON API and Actuator), where every request
+ * carries credentials and costs a BCrypt verification. Registered in front of the Basic authentication filter
+ * by SecurityConfig; the limits are the same as for the login form, keyed on the client IP and the username
+ * of the {@code Authorization} header.
+ * <p>
+ * A rejected request is answered with 429 and a {@code Retry-After} header, without any password hashing.
+ * Requests without Basic credentials (or with a malformed header) pass on to the Basic filter unchanged.
+ */
+public class BasicAuthThrottlingFilter extends OncePerRequestFilter {
+
+    private final LoginThrottle throttle;
+    private final BasicAuthenticationConverter converter = new BasicAuthenticationConverter();
+
+    /**
+     * @param throttle The counters deciding which attempts may proceed.
+     */
+    public BasicAuthThrottlingFilter(LoginThrottle throttle) {
+        this.throttle = throttle;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !throttle.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        UsernamePasswordAuthenticationToken credentials;
+        try {
+            credentials = converter.convert(request);
+        } catch (AuthenticationException e) {
+            credentials = null; // Rejected by the Basic filter itself, before any hashing
+        }
+        if (credentials != null) {
+            // The client's address behind a trusted proxy too (server.forward-headers-strategy in application.properties)
+            LoginThrottle.Decision decision = throttle.tryAcquire(request.getRemoteAddr(), credentials.getName());
+            if (decision != LoginThrottle.Decision.ALLOWED) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(throttle.getRetryAfterSeconds()));
+                // A status rather than an error: the /error dispatch would run through the main chain
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
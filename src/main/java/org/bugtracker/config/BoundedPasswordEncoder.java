@@ -0,0 +1,149 @@
+package org.bugtracker.config;
+
+import org.bugtracker.problems.PasswordHashingBusyException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link PasswordEncoder} that runs the (deliberately slow) hashing of its delegate on a small,
+ * dedicated thread pool instead of on the calling request thread.
+ * <p>
+ * At most {@code threads} hashes run at once, so a burst of logins or a bulk user import can only
+ * occupy that many cores; the rest of the application keeps serving requests. Up to {@code queueCapacity}
+ * further hashes wait for a thread, anything beyond that is rejected immediately with a
+ * {@link PasswordHashingBusyException} (HTTP 503, or a redirect to {@code /auth?busy} for the login form)
+ * instead of piling up blocked request threads. Callers also give up after {@code timeout}.
+ * <p>
+ * The timeout bounds the wait of the caller, not the work of the pool: a hash that times out while still
+ * queued is skipped, but one that is already running cannot be stopped (BCrypt does not check for
+ * interrupts) and keeps its thread until it is done. Under overload the pool therefore stays busy for up to
+ * one hash time after the callers gave up; size {@code queueCapacity} so that {@code threads} can work the
+ * full queue off within {@code timeout} (queue / threads &times; hash time &le; timeout), or most queued
+ * callers time out anyway.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+
+    /**
+     * @param delegate      The encoder doing the actual hashing.
+     * @param threads       Maximum number of concurrent hashes.
+     * @param queueCapacity Number of hashes that may wait for a free thread.
+     * @param timeout       Maximum time a caller waits for its result, queueing included.
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration timeout) {
+        this.delegate = delegate;
+        this.timeout = timeout;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Only inspects the hash prefix; cheap enough for the calling thread
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T hash(Callable<T> task) {
+        Future<T> result;
+        try {
+            result = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new PasswordHashingBusyException("Password hashing is at capacity, please try again later.", e);
+        }
+        try {
+            return result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Skips the hash if it is still queued; a running one finishes in the background (see above)
+            result.cancel(false);
+            throw new PasswordHashingBusyException("Password hashing timed out after " + timeout.toMillis() + " ms.", e);
+        } catch (InterruptedException e) {
+            result.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Interrupted while waiting for password hashing.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed.", e.getCause());
+        }
+    }
+
+    /**
+     * @return The number of hashes currently waiting for a free thread.
+     */
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return The number of hashes currently running.
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Stops the hashing threads; hashes still waiting in the queue are dropped.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Picks the highest BCrypt strength whose expected hash time stays within the target latency.
+     * Every strength step doubles the work, so the time measured at one strength extrapolates to all others.
+     *
+     * @param measured      Hash time measured at {@code baseStrength}.
+     * @param baseStrength  Strength the measurement was taken at.
+     * @param targetLatency Time a single hash should take at most.
+     * @param minStrength   Lower bound of the result.
+     * @param maxStrength   Upper bound of the result.
+     * @return The calibrated strength, within [minStrength, maxStrength].
+     */
+    public static int calibrateStrength(Duration measured, int baseStrength, Duration targetLatency,
+                                        int minStrength, int maxStrength) {
+        long measuredNanos = Math.max(1, measured.toNanos());
+        int strength = baseStrength;
+        long expected = measuredNanos;
+        while (strength < maxStrength && expected * 2 <= targetLatency.toNanos()) {
+            expected *= 2;
+            strength++;
+        }
+        while (strength > minStrength && expected > targetLatency.toNanos()) {
+            expected /= 2;
+            strength--;
+        }
+        return Math.max(minStrength, Math.min(maxStrength, strength));
+    }
+}
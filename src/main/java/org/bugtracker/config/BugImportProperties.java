@@ -0,0 +1,39 @@
+package org.bugtracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings of the bulk bug import, bound from {@code bugtracker.import.*}.
+ * <pre>
+ *     bugtracker.import.chunk-size=1000
+ *     bugtracker.import.max-reported-errors=100
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "bugtracker.import")
+public class BugImportProperties {
+
+    /**
+     * Rows written per transaction. The persistence context is flushed and cleared after each chunk, so this
+     * bounds the memory of an import; keep it a multiple of hibernate.jdbc.batch_size.
+     */
+    private int chunkSize = 1000;
+
+    /** Rejected rows whose reason is included in the import result. */
+    private int maxReportedErrors = 100;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMaxReportedErrors() {
+        return maxReportedErrors;
+    }
+
+    public void setMaxReportedErrors(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+}
@@ -0,0 +1,121 @@
+package org.bugtracker.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.User;
+import org.bugtracker.services.JCacheUserCache;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.userdetails.UserCache;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache and the {@link UserCache} of the login path: JCache caches backed by Caffeine.
+ * <p>
+ * Every region is created up front with its size and TTL limits from {@link SecondLevelCacheProperties};
+ * Hibernate is told to fail on any other region, so a renamed region cannot silently fall back to an
+ * unbounded cache. Hit/miss/eviction statistics are recorded per region and published as the standard
+ * JCache {@code CacheStatistics} MBeans.
+ * <p>
+ * Entity and collection regions use READ_WRITE, so changes made through the persistence context
+ * (updateBug, deleteBug, updateUser, updateUserProfile, ...) replace or evict the cached entries on commit.
+ * Bulk JPQL/SQL statements bypass the persistence context and must evict the affected regions themselves.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class CacheConfig {
+
+    /** Cache of the UserDetails built for authentication; not a Hibernate region. */
+    public static final String USER_DETAILS_CACHE = "userDetails";
+
+    /** Regions with size and TTL limits. */
+    static final List<String> BOUNDED_REGIONS = List.of(
+            Bug.CACHE_REGION,
+            Bug.ASSIGNED_USERS_CACHE_REGION,
+            User.CACHE_REGION,
+            User.ASSIGNED_BUGS_CACHE_REGION,
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+            USER_DETAILS_CACHE);
+
+    /**
+     * Creates the JCache manager holding all second-level cache regions and the UserDetails cache.
+     *
+     * @param properties The configured region limits.
+     * @return The cache manager; closed together with the application context.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager jcacheManager(SecondLevelCacheProperties properties) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // A manager of our own rather than the provider-wide default one: every application context
+        // (e.g. several test contexts in one JVM) gets separate regions and closes only its own.
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("bugtracker:second-level-cache:" + UUID.randomUUID()), provider.getDefaultClassLoader());
+        for (String region : BOUNDED_REGIONS) {
+            SecondLevelCacheProperties.Region limits = properties.getRegion(region);
+            CaffeineConfiguration<Object, Object> configuration = regionConfiguration();
+            configuration.setMaximumSize(OptionalLong.of(limits.getMaxSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(limits.getTtl().toNanos()));
+            cacheManager.createCache(region, configuration);
+        }
+        // Must never lose entries: a missing timestamp would make stale query results look current.
+        // It holds one entry per table, so it stays tiny without a bound.
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, regionConfiguration());
+        return cacheManager;
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate already stores disassembled, immutable cache entries; copying them on every access is wasted work.
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+
+    /**
+     * Caches the UserDetails looked up by CustomUserDetailsService, so repeated authentications of the
+     * same user skip the database. UserServiceImpl evicts a user whenever it changes or deletes it.
+     *
+     * @param jcacheManager The cache manager holding the UserDetails cache.
+     * @return The user cache.
+     */
+    @Bean
+    @SuppressWarnings("unchecked")
+    public UserCache userCache(CacheManager jcacheManager) {
+        // The cache is configured untyped like the Hibernate regions; only JCacheUserCache writes to it.
+        Cache<String, JCacheUserCache.CachedUser> cache =
+                (Cache<String, JCacheUserCache.CachedUser>) (Cache<?, ?>) jcacheManager.getCache(USER_DETAILS_CACHE);
+        return new JCacheUserCache(cache);
+    }
+
+    /**
+     * Enables the second-level and query caches and hands the regions above to Hibernate.
+     *
+     * @param jcacheManager The cache manager holding the regions.
+     * @return The customizer applied to the Hibernate properties of the entity manager factory.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager jcacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, jcacheManager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package org.bugtracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Size and shape of the synthetic dataset of DatasetGenerator, bound from {@code bugtracker.dataset.*}.
+ * <pre>
+ *     bugtracker.dataset.users=50000
+ *     bugtracker.dataset.bugs=2000000
+ *     bugtracker.dataset.seed=42
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "bugtracker.dataset")
+public class DatasetProperties {
+
+    private int users = 50_000;
+
+    private int bugs = 2_000_000;
+
+    /** Seed of every random choice; the same seed on the same empty database produces the same rows. */
+    private long seed = 42;
+
+    /** Usernames are the prefix and a number, e.g. user000001; change it to add users to an existing dataset. */
+    private String usernamePrefix = "user";
+
+    /** Password of every generated user. It is hashed once, so seeding does not pay for BCrypt per user. */
+    private String password = "password";
+
+    private int minDescriptionLength = 200;
+
+    /** Description lengths are spread log-uniformly between the minimum and this, so most are short. */
+    private int maxDescriptionLength = 4_000;
+
+    /**
+     * Exponent of the Zipf distribution that picks assignees: at 1.0 and more, a few users carry most of the
+     * assignments, as in a real tracker; 0 spreads them evenly.
+     */
+    private double assignmentSkew = 1.1;
+
+    /** How far back the creation dates of the generated users and bugs go. */
+    private Duration history = Duration.ofDays(3 * 365);
+
+    /** Rows per JDBC batch and transaction. */
+    private int batchSize = 5_000;
+
+    public int getUsers() {
+        return users;
+    }
+
+    public void setUsers(int users) {
+        this.users = users;
+    }
+
+    public int getBugs() {
+        return bugs;
+    }
+
+    public void setBugs(int bugs) {
+        this.bugs = bugs;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public String getUsernamePrefix() {
+        return usernamePrefix;
+    }
+
+    public void setUsernamePrefix(String usernamePrefix) {
+        this.usernamePrefix = usernamePrefix;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public int getMinDescriptionLength() {
+        return minDescriptionLength;
+    }
+
+    public void setMinDescriptionLength(int minDescriptionLength) {
+        this.minDescriptionLength = minDescriptionLength;
+    }
+
+    public int getMaxDescriptionLength() {
+        return maxDescriptionLength;
+    }
+
+    public void setMaxDescriptionLength(int maxDescriptionLength) {
+        this.maxDescriptionLength = maxDescriptionLength;
+    }
+
+    public double getAssignmentSkew() {
+        return assignmentSkew;
+    }
+
+    public void setAssignmentSkew(double assignmentSkew) {
+        this.assignmentSkew = assignmentSkew;
+    }
+
+    public Duration getHistory() {
+        return history;
+    }
+
+    public void setHistory(Duration history) {
+        this.history = history;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
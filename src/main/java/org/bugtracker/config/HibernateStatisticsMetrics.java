@@ -0,0 +1,104 @@
+package org.bugtracker.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the Hibernate {@link Statistics} of the entity manager factory as Micrometer meters: sessions,
+ * transactions, statements, queries, entity operations and second-level/query cache hits and misses.
+ * The counters are read from the statistics when scraped, so nothing is recorded twice.
+ * <p>
+ * Hibernate only collects the numbers while {@code hibernate.generate_statistics} is on (see application.properties).
+ */
+public class HibernateStatisticsMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+    private final Tags tags;
+
+    /**
+     * @param statistics The statistics of the session factory.
+     * @param name       The name of the entity manager factory, added as the {@code entityManagerFactory} tag.
+     */
+    public HibernateStatisticsMetrics(Statistics statistics, String name) {
+        this.statistics = statistics;
+        this.tags = Tags.of("entityManagerFactory", name);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        counter(registry, "hibernate.sessions.open", "Sessions opened", Statistics::getSessionOpenCount);
+        counter(registry, "hibernate.sessions.closed", "Sessions closed", Statistics::getSessionCloseCount);
+        counter(registry, "hibernate.transactions", "Transactions completed", Statistics::getTransactionCount);
+        counter(registry, "hibernate.transactions.successful", "Transactions committed", Statistics::getSuccessfulTransactionCount);
+        counter(registry, "hibernate.optimistic.failures", "Stale object and optimistic lock failures",
+                Statistics::getOptimisticFailureCount);
+        counter(registry, "hibernate.flushes", "Flushes of a session", Statistics::getFlushCount);
+        counter(registry, "hibernate.connections.obtained", "JDBC connections obtained by sessions",
+                Statistics::getConnectCount);
+        counter(registry, "hibernate.statements", "JDBC statements prepared", Statistics::getPrepareStatementCount);
+
+        counter(registry, "hibernate.query.executions", "Queries executed", Statistics::getQueryExecutionCount);
+        TimeGauge.builder("hibernate.query.executions.max", statistics, TimeUnit.MILLISECONDS,
+                        Statistics::getQueryExecutionMaxTime)
+                .tags(tags)
+                .description("Time of the slowest query")
+                .register(registry);
+
+        counter(registry, "hibernate.entities.loads", "Entities loaded", Statistics::getEntityLoadCount);
+        counter(registry, "hibernate.entities.fetches", "Entities fetched by a separate select", Statistics::getEntityFetchCount);
+        counter(registry, "hibernate.entities.inserts", "Entities inserted", Statistics::getEntityInsertCount);
+        counter(registry, "hibernate.entities.updates", "Entities updated", Statistics::getEntityUpdateCount);
+        counter(registry, "hibernate.entities.deletes", "Entities deleted", Statistics::getEntityDeleteCount);
+        counter(registry, "hibernate.collections.loads", "Collections loaded", Statistics::getCollectionLoadCount);
+        counter(registry, "hibernate.collections.fetches", "Collections fetched by a separate select",
+                Statistics::getCollectionFetchCount);
+
+        cacheRequests(registry, "hibernate.cache.query.requests", "Query cache lookups", tags,
+                Statistics::getQueryCacheHitCount, Statistics::getQueryCacheMissCount);
+        counter(registry, "hibernate.cache.query.puts", "Query results put into the query cache",
+                Statistics::getQueryCachePutCount);
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            Tags regionTags = tags.and("region", region);
+            cacheRequests(registry, "hibernate.second.level.cache.requests", "Second-level cache lookups", regionTags,
+                    s -> s.getCacheRegionStatistics(region).getHitCount(),
+                    s -> s.getCacheRegionStatistics(region).getMissCount());
+            FunctionCounter.builder("hibernate.second.level.cache.puts", statistics,
+                            s -> s.getCacheRegionStatistics(region).getPutCount())
+                    .tags(regionTags)
+                    .description("Entries put into the second-level cache")
+                    .register(registry);
+        }
+    }
+
+    private void counter(MeterRegistry registry, String name, String description, ToDoubleFunction<Statistics> count) {
+        FunctionCounter.builder(name, statistics, count)
+                .tags(tags)
+                .description(description)
+                .register(registry);
+    }
+
+    private void cacheRequests(MeterRegistry registry, String name, String description, Tags meterTags,
+                               ToDoubleFunction<Statistics> hits, ToDoubleFunction<Statistics> misses) {
+        FunctionCounter.builder(name, statistics, hits)
+                .tags(meterTags.and(Tag.of("result", "hit")))
+                .description(description)
+                .register(registry);
+        FunctionCounter.builder(name, statistics, misses)
+                .tags(meterTags.and(Tag.of("result", "miss")))
+                .description(description)
+                .register(registry);
+    }
+}
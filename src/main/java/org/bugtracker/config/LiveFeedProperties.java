@@ -0,0 +1,87 @@
+package org.bugtracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the live feed of bug changes (BugEventHub), bound from {@code bugtracker.live-feed.*}.
+ * <pre>
+ *     bugtracker.live-feed.coalesce-window=1s
+ *     bugtracker.live-feed.max-changes-per-batch=100
+ *     bugtracker.live-feed.client-buffer-size=16
+ *     bugtracker.live-feed.max-clients=5000
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "bugtracker.live-feed")
+public class LiveFeedProperties {
+
+    /** Changes arriving within this window after the first one are sent to the clients as a single batch. */
+    private Duration coalesceWindow = Duration.ofSeconds(1);
+
+    /** Above this many changed bugs in one window, the batch only tells the clients to reload. */
+    private int maxChangesPerBatch = 100;
+
+    /** Batches queued for one client; a client that falls further behind is disconnected. */
+    private int clientBufferSize = 16;
+
+    /**
+     * Connected clients at most; further ones are turned away with 503 until others leave. Keep it well below
+     * server.tomcat.max-connections, since every client holds a connection.
+     */
+    private int maxClients = 5000;
+
+    /** Interval of the comments sent to every client, so proxies keep idle connections open and dead ones are found. */
+    private Duration heartbeatInterval = Duration.ofSeconds(30);
+
+    /** How long one connection is kept; the browser then reconnects on its own. */
+    private Duration connectionTimeout = Duration.ofMinutes(30);
+
+    public Duration getCoalesceWindow() {
+        return coalesceWindow;
+    }
+
+    public void setCoalesceWindow(Duration coalesceWindow) {
+        this.coalesceWindow = coalesceWindow;
+    }
+
+    public int getMaxChangesPerBatch() {
+        return maxChangesPerBatch;
+    }
+
+    public void setMaxChangesPerBatch(int maxChangesPerBatch) {
+        this.maxChangesPerBatch = maxChangesPerBatch;
+    }
+
+    public int getClientBufferSize() {
+        return clientBufferSize;
+    }
+
+    public void setClientBufferSize(int clientBufferSize) {
+        this.clientBufferSize = clientBufferSize;
+    }
+
+    public int getMaxClients() {
+        return maxClients;
+    }
+
+    public void setMaxClients(int maxClients) {
+        this.maxClients = maxClients;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public Duration getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public void setConnectionTimeout(Duration connectionTimeout) {
+        this.connectionTimeout = connectionTimeout;
+    }
+}
@@ -0,0 +1,208 @@
+package org.bugtracker.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.bugtracker.util.SlidingWindowCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps the sliding-window counters behind {@link LoginThrottlingFilter} (login form) and
+ * {@link BasicAuthThrottlingFilter} (HTTP Basic on the API and Actuator endpoints).
+ * <p>
+ * Two independent limits apply: every failed login counts against the client IP and against the username
+ * (whatever IP it came from), which stops both a single guessing client and a distributed guess at one account.
+ * Only failures count, so many users logging in behind one NAT or proxy are never locked out by their own
+ * successful logins. Failures and successes are taken from Spring Security's authentication events; the IP
+ * comes from the request details of the failed authentication, i.e. the same {@code getRemoteAddr()} the filter
+ * checks (see server.forward-headers-strategy). A successful login clears the username's failures.
+ * <p>
+ * Counters live in size-bounded Caffeine maps and are dropped once idle, and all updates are lock-free,
+ * so checking a request costs a hash lookup and a compare-and-set, far less than the BCrypt verification it saves.
+ */
+@Component
+@EnableConfigurationProperties(LoginThrottlingProperties.class)
+public class LoginThrottle {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginThrottle.class);
+
+    /** Outcome of {@link #tryAcquire(String, String)}. */
+    public enum Decision {
+        ALLOWED,
+        REJECTED_IP,
+        REJECTED_USERNAME
+    }
+
+    private final LoginThrottlingProperties properties;
+    private final LongSupplier clock;
+    private final Cache<String, SlidingWindowCounter> failuresByIp;
+    private final Cache<String, SlidingWindowCounter> failuresByUsername;
+
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder rejectedByIp = new LongAdder();
+    private final LongAdder rejectedByUsername = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    @Autowired
+    public LoginThrottle(LoginThrottlingProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    LoginThrottle(LoginThrottlingProperties properties, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.failuresByIp = newCounterMap(properties.getIpWindow(), properties.getMaxTrackedKeys());
+        this.failuresByUsername = newCounterMap(properties.getUsernameWindow(), properties.getMaxTrackedKeys());
+    }
+
+    private static Cache<String, SlidingWindowCounter> newCounterMap(Duration window, long maxSize) {
+        // A counter idle for two windows has slid back to zero and can be forgotten
+        return Caffeine.newBuilder()
+                .expireAfterAccess(window.multipliedBy(2))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * Decides whether a login attempt may proceed to authentication. Only counts the attempt for the
+     * statistics; the limits are fed by {@link #onFailure}.
+     *
+     * @param ip       The client IP address.
+     * @param username The submitted username; may be null.
+     * @return Whether the attempt is allowed, or which limit rejected it.
+     */
+    public Decision tryAcquire(String ip, String username) {
+        attempts.increment();
+        long now = clock.getAsLong();
+
+        SlidingWindowCounter ipFailures = failuresByIp.getIfPresent(ip);
+        if (ipFailures != null && ipFailures.estimate(now) >= properties.getIpMaxFailures()) {
+            rejectedByIp.increment();
+            return Decision.REJECTED_IP;
+        }
+
+        SlidingWindowCounter usernameFailures = username == null ? null : failuresByUsername.getIfPresent(normalize(username));
+        if (usernameFailures != null && usernameFailures.estimate(now) >= properties.getUsernameMaxFailures()) {
+            rejectedByUsername.increment();
+            return Decision.REJECTED_USERNAME;
+        }
+        return Decision.ALLOWED;
+    }
+
+    /**
+     * Counts a failed login (wrong password or unknown user) against the username and the client IP.
+     *
+     * @param event The failure published by the authentication manager.
+     */
+    @EventListener
+    public void onFailure(AuthenticationFailureBadCredentialsEvent event) {
+        failures.increment();
+        long now = clock.getAsLong();
+        String username = normalize(event.getAuthentication().getName());
+        double recent = failuresByUsername.get(username, key -> new SlidingWindowCounter(properties.getUsernameWindow(), now))
+                .increment(now);
+        if (recent >= properties.getUsernameMaxFailures()) {
+            logger.warn("Login for username '{}' is throttled after {} failed attempts", username, (long) recent);
+        }
+        if (event.getAuthentication().getDetails() instanceof WebAuthenticationDetails details
+                && details.getRemoteAddress() != null) {
+            String ip = details.getRemoteAddress();
+            double fromIp = failuresByIp.get(ip, key -> new SlidingWindowCounter(properties.getIpWindow(), now))
+                    .increment(now);
+            if (fromIp >= properties.getIpMaxFailures()) {
+                logger.warn("Login from {} is throttled after {} failed attempts", ip, (long) fromIp);
+            }
+        }
+    }
+
+    /**
+     * Clears the failures of a username once its owner has logged in.
+     *
+     * @param event The success published by the authentication manager.
+     */
+    @EventListener
+    public void onSuccess(AuthenticationSuccessEvent event) {
+        failuresByUsername.invalidate(normalize(event.getAuthentication().getName()));
+    }
+
+    private static String normalize(String username) {
+        // Case variants of a username must share one counter
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return Whether throttling is switched on.
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * @return How long a rejected client should wait before trying again, in seconds.
+     */
+    public long getRetryAfterSeconds() {
+        return properties.getIpWindow().toSeconds();
+    }
+
+    /**
+     * @return The number of login attempts checked so far.
+     */
+    public long getAttemptCount() {
+        return attempts.sum();
+    }
+
+    /**
+     * @return The number of attempts rejected by the per-IP limit.
+     */
+    public long getRejectedByIpCount() {
+        return rejectedByIp.sum();
+    }
+
+    /**
+     * @return The number of attempts rejected by the per-username limit.
+     */
+    public long getRejectedByUsernameCount() {
+        return rejectedByUsername.sum();
+    }
+
+    /**
+     * @return The number of failed logins seen (each one cost a full password verification).
+     */
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    /**
+     * @return The share of checked attempts that were rejected, between 0 and 1.
+     */
+    public double getRejectionRate() {
+        long total = attempts.sum();
+        return total == 0 ? 0 : (double) (rejectedByIp.sum() + rejectedByUsername.sum()) / total;
+    }
+
+    /**
+     * @return The number of client IPs with recent failures currently tracked.
+     */
+    public long getTrackedIpCount() {
+        return failuresByIp.estimatedSize();
+    }
+
+    /**
+     * @return The number of usernames with recent failures currently tracked.
+     */
+    public long getTrackedUsernameCount() {
+        return failuresByUsername.estimatedSize();
+    }
+}
@@ -0,0 +1,53 @@
+package org.bugtracker.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Rejects throttled login attempts before they reach the authentication manager, i.e. before the user
+ * lookup and the BCrypt verification run. Registered in front of the form login filter by SecurityConfig.
+ * <p>
+ * A rejected attempt is redirected back to the login page ({@code /auth?throttled}) with a
+ * {@code Retry-After} header, just like a failed login but without any password hashing.
+ */
+public class LoginThrottlingFilter extends OncePerRequestFilter {
+
+    private final LoginThrottle throttle;
+    private final RequestMatcher loginRequest;
+
+    /**
+     * @param throttle           The counters deciding which attempts may proceed.
+     * @param loginProcessingUrl The URL the login form posts to.
+     */
+    public LoginThrottlingFilter(LoginThrottle throttle, String loginProcessingUrl) {
+        this.throttle = throttle;
+        this.loginRequest = new AntPathRequestMatcher(loginProcessingUrl, HttpMethod.POST.name());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !throttle.isEnabled() || !loginRequest.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // The client's address behind a trusted proxy too (server.forward-headers-strategy in application.properties)
+        LoginThrottle.Decision decision = throttle.tryAcquire(request.getRemoteAddr(), request.getParameter("username"));
+        if (decision != LoginThrottle.Decision.ALLOWED) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(throttle.getRetryAfterSeconds()));
+            response.sendRedirect(request.getContextPath() + "/auth?throttled");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
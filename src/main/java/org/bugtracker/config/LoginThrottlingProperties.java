@@ -0,0 +1,82 @@
+package org.bugtracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Limits of the login throttle, bound from {@code bugtracker.login-throttling.*}.
+ * <pre>
+ *     bugtracker.login-throttling.ip-max-failures=20
+ *     bugtracker.login-throttling.ip-window=1m
+ *     bugtracker.login-throttling.username-max-failures=5
+ *     bugtracker.login-throttling.username-window=5m
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "bugtracker.login-throttling")
+public class LoginThrottlingProperties {
+
+    /** Whether login attempts are throttled at all. */
+    private boolean enabled = true;
+
+    /** Failed logins one client IP may collect per window; successful logins do not count. */
+    private int ipMaxFailures = 20;
+
+    private Duration ipWindow = Duration.ofMinutes(1);
+
+    /** Failed logins one username may collect per window before it is locked until the window slides on. */
+    private int usernameMaxFailures = 5;
+
+    private Duration usernameWindow = Duration.ofMinutes(5);
+
+    /** Upper bound of tracked IPs and usernames each, so a flood of distinct keys cannot exhaust memory. */
+    private long maxTrackedKeys = 100_000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getIpMaxFailures() {
+        return ipMaxFailures;
+    }
+
+    public void setIpMaxFailures(int ipMaxFailures) {
+        this.ipMaxFailures = ipMaxFailures;
+    }
+
+    public Duration getIpWindow() {
+        return ipWindow;
+    }
+
+    public void setIpWindow(Duration ipWindow) {
+        this.ipWindow = ipWindow;
+    }
+
+    public int getUsernameMaxFailures() {
+        return usernameMaxFailures;
+    }
+
+    public void setUsernameMaxFailures(int usernameMaxFailures) {
+        this.usernameMaxFailures = usernameMaxFailures;
+    }
+
+    public Duration getUsernameWindow() {
+        return usernameWindow;
+    }
+
+    public void setUsernameWindow(Duration usernameWindow) {
+        this.usernameWindow = usernameWindow;
+    }
+
+    public long getMaxTrackedKeys() {
+        return maxTrackedKeys;
+    }
+
+    public void setMaxTrackedKeys(long maxTrackedKeys) {
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+}
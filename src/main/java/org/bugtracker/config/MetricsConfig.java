@@ -0,0 +1,148 @@
+package org.bugtracker.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.bugtracker.services.BugEventHub;
+import org.hibernate.SessionFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.cache.CacheManager;
+import java.util.Collections;
+
+/**
+ * Micrometer meters of the application, published through Actuator (Prometheus format at /actuator/prometheus).
+ * <p>
+ * Spring Boot already binds the JVM, the Hikari pool, Tomcat's threads (with the MBean registry switched on),
+ * HTTP requests and Spring Data repository invocations. This class adds:
+ * <ul>
+ *     <li>{@code bugtracker.service}: a timer per BugService and UserService method, from their {@code @Timed}</li>
+ *     <li>{@code hibernate.*}: the Hibernate statistics, including second-level and query cache hits</li>
+ *     <li>{@code cache.*}: the JCache caches behind the second-level cache and the UserDetails cache</li>
+ *     <li>{@code bugtracker.login.*}: the counters of {@link LoginThrottle}</li>
+ *     <li>{@code bugtracker.password.hashing.*}: the queue of {@link BoundedPasswordEncoder}</li>
+ *     <li>{@code bugtracker.live-feed.*}: the clients and batches of the live feed ({@link BugEventHub})</li>
+ * </ul>
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    /** Name of the timer recorded around every service method; tagged with class, method and exception. */
+    public static final String SERVICE_TIMER = "bugtracker.service";
+
+    /**
+     * Records the {@code @Timed} annotations; Spring Boot does not register the aspect by itself.
+     *
+     * @param registry The registry the timers are recorded in.
+     * @return The aspect.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    /**
+     * @param entityManagerFactory The entity manager factory whose statistics are published.
+     * @return The binder of the Hibernate statistics.
+     */
+    @Bean
+    public MeterBinder hibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateStatisticsMetrics(entityManagerFactory.unwrap(SessionFactory.class).getStatistics(),
+                "entityManagerFactory");
+    }
+
+    /**
+     * Size, hit, miss, put and eviction meters of every JCache cache (from their JCache statistics).
+     *
+     * @param jcacheManager The cache manager of CacheConfig.
+     * @return The binder of the caches.
+     */
+    @Bean
+    public MeterBinder jcacheMetrics(CacheManager jcacheManager) {
+        return registry -> {
+            for (String name : jcacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, jcacheManager.getCache(name), Collections.emptyList());
+            }
+        };
+    }
+
+    /**
+     * @param loginThrottle The login throttle.
+     * @return The binder of its attempt, rejection and failure counters and of the tracked keys.
+     */
+    @Bean
+    public MeterBinder loginThrottleMetrics(LoginThrottle loginThrottle) {
+        return registry -> {
+            FunctionCounter.builder("bugtracker.login.attempts", loginThrottle, LoginThrottle::getAttemptCount)
+                    .description("Login attempts checked by the throttle")
+                    .register(registry);
+            FunctionCounter.builder("bugtracker.login.rejected", loginThrottle, LoginThrottle::getRejectedByIpCount)
+                    .tag("limit", "ip")
+                    .description("Login attempts rejected before authentication")
+                    .register(registry);
+            FunctionCounter.builder("bugtracker.login.rejected", loginThrottle, LoginThrottle::getRejectedByUsernameCount)
+                    .tag("limit", "username")
+                    .description("Login attempts rejected before authentication")
+                    .register(registry);
+            FunctionCounter.builder("bugtracker.login.failures", loginThrottle, LoginThrottle::getFailureCount)
+                    .description("Failed logins")
+                    .register(registry);
+            Gauge.builder("bugtracker.login.tracked", loginThrottle, LoginThrottle::getTrackedIpCount)
+                    .tag("key", "ip")
+                    .description("Keys with a live throttling counter")
+                    .register(registry);
+            Gauge.builder("bugtracker.login.tracked", loginThrottle, LoginThrottle::getTrackedUsernameCount)
+                    .tag("key", "username")
+                    .description("Keys with a live throttling counter")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * @param bugEventHub The hub of the live feed.
+     * @return The binder of its connected clients, sent batches and dropped or rejected clients.
+     */
+    @Bean
+    public MeterBinder liveFeedMetrics(BugEventHub bugEventHub) {
+        return registry -> {
+            Gauge.builder("bugtracker.live-feed.clients", bugEventHub, BugEventHub::getClientCount)
+                    .description("Clients connected to the live feed")
+                    .register(registry);
+            FunctionCounter.builder("bugtracker.live-feed.batches", bugEventHub, BugEventHub::getBatchCount)
+                    .description("Batches of bug changes sent to the live feed clients")
+                    .register(registry);
+            FunctionCounter.builder("bugtracker.live-feed.dropped", bugEventHub, BugEventHub::getDroppedClientCount)
+                    .tag("reason", "slow")
+                    .description("Live feed clients disconnected or turned away")
+                    .register(registry);
+            FunctionCounter.builder("bugtracker.live-feed.dropped", bugEventHub, BugEventHub::getRejectedClientCount)
+                    .tag("reason", "max-clients")
+                    .description("Live feed clients disconnected or turned away")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * @param passwordEncoder The password encoder of ApplicationConfig.
+     * @return The binder of the hashing pool's queue and active hashes; binds nothing for an unbounded encoder.
+     */
+    @Bean
+    public MeterBinder passwordHashingMetrics(PasswordEncoder passwordEncoder) {
+        return registry -> {
+            if (passwordEncoder instanceof BoundedPasswordEncoder bounded) {
+                Gauge.builder("bugtracker.password.hashing.queued", bounded, BoundedPasswordEncoder::getQueuedCount)
+                        .description("Hashes waiting for a hashing thread")
+                        .register(registry);
+                Gauge.builder("bugtracker.password.hashing.active", bounded, BoundedPasswordEncoder::getActiveCount)
+                        .description("Hashes running")
+                        .register(registry);
+            }
+        };
+    }
+}
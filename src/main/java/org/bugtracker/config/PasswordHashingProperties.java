@@ -0,0 +1,97 @@
+package org.bugtracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings of the password-hashing pool and the BCrypt work factor, bound from {@code bugtracker.password-hashing.*}.
+ * <pre>
+ *     bugtracker.password-hashing.threads=2
+ *     bugtracker.password-hashing.queue-capacity=16
+ *     bugtracker.password-hashing.target-latency=250ms
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "bugtracker.password-hashing")
+public class PasswordHashingProperties {
+
+    /** Number of hashing threads; defaults to half of the available processors (at least one). */
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * Hash requests that may wait for a free thread; further requests are rejected right away. Keep
+     * queueCapacity / threads &times; target-latency within the timeout, or queued callers time out anyway.
+     */
+    private int queueCapacity = 16;
+
+    /** How long a caller waits for its hash (queueing included) before the request is given up. */
+    private Duration timeout = Duration.ofSeconds(5);
+
+    /** Time a single hash should take; the BCrypt strength is calibrated to it at startup. */
+    private Duration targetLatency = Duration.ofMillis(250);
+
+    /** Lowest BCrypt strength the calibration may pick, however slow the machine is. */
+    private int minStrength = 10;
+
+    /** Highest BCrypt strength the calibration may pick, however fast the machine is. */
+    private int maxStrength = 14;
+
+    /** Fixed BCrypt strength that skips the calibration (e.g. to keep hashes identical across nodes). */
+    private Integer strength;
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public Duration getTargetLatency() {
+        return targetLatency;
+    }
+
+    public void setTargetLatency(Duration targetLatency) {
+        this.targetLatency = targetLatency;
+    }
+
+    public int getMinStrength() {
+        return minStrength;
+    }
+
+    public void setMinStrength(int minStrength) {
+        this.minStrength = minStrength;
+    }
+
+    public int getMaxStrength() {
+        return maxStrength;
+    }
+
+    public void setMaxStrength(int maxStrength) {
+        this.maxStrength = maxStrength;
+    }
+
+    public Integer getStrength() {
+        return strength;
+    }
+
+    public void setStrength(Integer strength) {
+        this.strength = strength;
+    }
+}
@@ -0,0 +1,91 @@
+package org.bugtracker.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size and time-to-live limits of the Hibernate second-level cache regions, bound from {@code bugtracker.cache.*}.
+ * <pre>
+ *     bugtracker.cache.defaults.max-size=10000
+ *     bugtracker.cache.defaults.ttl=10m
+ *     bugtracker.cache.regions.users.ttl=5m
+ * </pre>
+ * Regions without an entry under {@code regions} use the {@code defaults}.
+ */
+@ConfigurationProperties(prefix = "bugtracker.cache")
+public class SecondLevelCacheProperties {
+
+    private Region defaults = new Region(10_000L, Duration.ofMinutes(10));
+
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    /**
+     * Returns the limits of a region, falling back to the defaults for every unset value.
+     *
+     * @param name The region name.
+     * @return The effective limits of the region.
+     */
+    public Region getRegion(String name) {
+        Region region = regions.get(name);
+        if (region == null) {
+            return defaults;
+        }
+        return new Region(region.getMaxSize() != null ? region.getMaxSize() : defaults.getMaxSize(),
+                region.getTtl() != null ? region.getTtl() : defaults.getTtl());
+    }
+
+    public Region getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Region defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Region> getRegions() {
+        return regions;
+    }
+
+    public void setRegions(Map<String, Region> regions) {
+        this.regions = regions;
+    }
+
+    /**
+     * Limits of a single cache region.
+     */
+    public static class Region {
+
+        /** Maximum number of entries before the least recently/frequently used ones are evicted. */
+        private Long maxSize;
+
+        /** Time after which an entry expires, counted from when it was written. */
+        private Duration ttl;
+
+        public Region() {
+        }
+
+        public Region(Long maxSize, Duration ttl) {
+            this.maxSize = maxSize;
+            this.ttl = ttl;
+        }
+
+        public Long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(Long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+}
@@ -1,13 +1,26 @@
 package org.bugtracker.config;
 
+import org.bugtracker.problems.PasswordHashingBusyException;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.security.web.authentication.LoginUrlAuthenticationEntryPoint;
+import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 /**
  * Configures the application's security settings using modern Spring Security 6+ patterns.
@@ -17,6 +30,75 @@ import org.springframework.security.web.SecurityFilterChain;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    /**
+     * Secures the Actuator endpoints, ahead of the main chain. Health stays public for load balancers;
+     * metrics and the Prometheus scrape need an ADMIN account, sent with HTTP Basic because a scraper
+     * cannot fill in the login form. No session is created for these requests.
+     *
+     * @param http          The HttpSecurity object to be configured.
+     * @param loginThrottle The limits on failed logins, applied to the Basic credentials.
+     * @return The SecurityFilterChain of the Actuator endpoints.
+     * @throws Exception If an error occurs during configuration.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http, LoginThrottle loginThrottle) throws Exception {
+        http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                // Every request checks a password, so the login limits apply here too (429 when throttled)
+                .addFilterBefore(new BasicAuthThrottlingFilter(loginThrottle), BasicAuthenticationFilter.class)
+                .authorizeHttpRequests(authorize -> authorize
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                        .anyRequest().hasRole("ADMIN")
+                )
+                // Statuses are set rather than sent as errors: the container's /error dispatch would run
+                // through the main chain and turn them into a redirect to the login page.
+                .httpBasic(basic -> basic.authenticationEntryPoint(basicAuthenticationEntryPoint()))
+                .exceptionHandling(exceptions -> exceptions
+                        .accessDeniedHandler((request, response, exception) ->
+                                response.setStatus(HttpStatus.FORBIDDEN.value()))
+                )
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                // Read-only endpoints without a session or cookies: nothing for a CSRF token to protect
+                .csrf(csrf -> csrf.disable());
+
+        return http.build();
+    }
+
+    /**
+     * Secures the JSON API at /api/**, ahead of the main chain. Dashboards and command-line tools send
+     * their credentials with every request (HTTP Basic) and get no session; which roles may call what is
+     * decided by the controllers' {@code @PreAuthorize}. Unauthenticated requests get a 401 instead of the
+     * login redirect, and throttled ones (see LoginThrottle) a 429.
+     *
+     * @param http          The HttpSecurity object to be configured.
+     * @param loginThrottle The limits on failed logins, applied to the Basic credentials.
+     * @return The SecurityFilterChain of the JSON API.
+     * @throws Exception If an error occurs during configuration.
+     */
+    @Bean
+    @Order(2)
+    public SecurityFilterChain apiSecurityFilterChain(HttpSecurity http, LoginThrottle loginThrottle) throws Exception {
+        http
+                .securityMatcher("/api/**")
+                // As for the Actuator endpoints
+                .addFilterBefore(new BasicAuthThrottlingFilter(loginThrottle), BasicAuthenticationFilter.class)
+                .authorizeHttpRequests(authorize -> authorize
+                        .anyRequest().authenticated()
+                )
+                // Statuses only, as for the Actuator endpoints
+                .httpBasic(basic -> basic.authenticationEntryPoint(basicAuthenticationEntryPoint()))
+                .exceptionHandling(exceptions -> exceptions
+                        .accessDeniedHandler((request, response, exception) ->
+                                response.setStatus(HttpStatus.FORBIDDEN.value()))
+                )
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                // No session cookie is ever sent along by a browser, so there is no cross-site request to forge
+                .csrf(csrf -> csrf.disable());
+
+        return http.build();
+    }
+
     /**
      * Defines the main security filter chain that protects application endpoints.
      * This is the central place to configure URL-based security.
@@ -72,8 +154,12 @@ public class SecurityConfig {
 //    }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, LoginThrottle loginThrottle) throws Exception {
         http
+                // Throttled login attempts are turned away before any user lookup or password hashing.
+                // Not a bean on purpose: as a bean it would also be registered as a plain servlet filter.
+                .addFilterBefore(new LoginThrottlingFilter(loginThrottle, "/login"),
+                        UsernamePasswordAuthenticationFilter.class)
                 .authorizeHttpRequests(authorize -> authorize
                         // 1. CRITICAL FIX: Permit access to common static resources (CSS, JS, images, favicon)
                         // This rule MUST come before any authenticated() or more specific rules
@@ -96,7 +182,7 @@ public class SecurityConfig {
                         .loginPage("/auth")           // Specifies the custom login page URL.
                         .loginProcessingUrl("/login") // The URL where the login form is submitted.
                         .defaultSuccessUrl("/", true) // Redirect to the home page on successful login.
-                        .failureUrl("/auth?error")    // Redirect back to the login page with an error parameter.
+                        .failureHandler(loginFailureHandler()) // Back to the login page, see below.
                         .permitAll()                  // The login page itself must be accessible to everyone.
                 )
                 .logout(logout -> logout
@@ -106,6 +192,11 @@ public class SecurityConfig {
                         .deleteCookies("JSESSIONID")            // Delete the session cookie.
                         .permitAll()
                 )
+                // Always the redirect to the login page, whatever the Accept header says; the JSON API
+                // has its own chain (see above).
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new LoginUrlAuthenticationEntryPoint("/auth"))
+                )
                 // CSRF is enabled by default. We only need to configure it to ignore the H2 console.
                 .csrf(csrf -> csrf
                         .ignoringRequestMatchers("/h2-console/**")
@@ -118,4 +209,36 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * Answers a request without valid HTTP Basic credentials with 401 and a Basic challenge, or with 503 if
+     * the password could not be checked because the hashing pool is saturated (see BoundedPasswordEncoder).
+     */
+    private static AuthenticationEntryPoint basicAuthenticationEntryPoint() {
+        return (request, response, exception) -> {
+            if (exception instanceof PasswordHashingBusyException
+                    || exception.getCause() instanceof PasswordHashingBusyException) {
+                response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+                return;
+            }
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"BugTracker\"");
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        };
+    }
+
+    /**
+     * Sends a failed form login back to the login page: to {@code /auth?busy} if the password could not be
+     * checked because the hashing pool is saturated (see BoundedPasswordEncoder), to {@code /auth?error}
+     * for wrong credentials and anything else.
+     */
+    private static AuthenticationFailureHandler loginFailureHandler() {
+        AuthenticationFailureHandler invalidCredentials = new SimpleUrlAuthenticationFailureHandler("/auth?error");
+        return (request, response, exception) -> {
+            if (exception instanceof PasswordHashingBusyException
+                    || exception.getCause() instanceof PasswordHashingBusyException) {
+                response.sendRedirect(request.getContextPath() + "/auth?busy");
+                return;
+            }
+            invalidCredentials.onAuthenticationFailure(request, response, exception);
+        };
+    }
 }
\ No newline at end of file
@@ -0,0 +1,251 @@
+package org.bugtracker.controllers;
+
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.BugDetailDto;
+import org.bugtracker.entities.BugSummaryDto;
+import org.bugtracker.entities.Status;
+import org.bugtracker.problems.ConcurrentUpdateException;
+import org.bugtracker.problems.InvalidCriteriaException;
+import org.bugtracker.services.BugService;
+import org.bugtracker.util.BugApiRequest;
+import org.bugtracker.util.KeysetPage;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JSON REST API for bugs, for dashboards and command-line tools.
+ * <p>
+ * Every bug representation carries a strong ETag, the bug's version (see {@link Bug#getVersion()}). GETs
+ * honour {@code If-None-Match}: when the client's copy is current, the answer is a bodiless 304 and no
+ * representation is built or serialized. PATCH and DELETE honour {@code If-Match} and answer 412 if the bug
+ * changed in the meantime; a PATCH that names its base version in the body gets a 409 instead. Clients
+ * authenticate with HTTP Basic on every request and get no session, so there is no CSRF token to send
+ * (see SecurityConfig); unauthenticated requests get a 401 instead of the login redirect.
+ */
+@RestController
+@RequestMapping(value = "/api/bugs", produces = MediaType.APPLICATION_JSON_VALUE)
+public class BugApiController {
+
+    private static final int MAX_TITLE_LENGTH = 255;
+
+    /** Clients may keep responses, but must revalidate them (cheaply, see above) before every use. */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final BugService bugService;
+
+    public BugApiController(BugService bugService) {
+        this.bugService = bugService;
+    }
+
+    /**
+     * Lists bugs newest first, a slice at a time (keyset pagination, see {@link BugService#getBugsByCursor}).
+     */
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<KeysetPage<BugSummaryDto>> listBugs(@RequestParam(value = "cursor", required = false) String cursor,
+                                                              @RequestParam(value = "size", defaultValue = "20") int size,
+                                                              WebRequest webRequest) {
+        KeysetPage<BugSummaryDto> page;
+        try {
+            page = bugService.getBugsByCursor(cursor, size);
+        } catch (InvalidCriteriaException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessageKey(), e);
+        }
+        String etag = etagOf(page);
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 with the ETag already set
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(page);
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<BugDetailDto> getBug(@PathVariable Long id, WebRequest webRequest) {
+        Bug bug = bugService.getBugById(id); // Usually served from the second-level cache
+        String etag = etagOf(bug);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(BugDetailDto.from(bug));
+    }
+
+    /**
+     * Creates a bug; title, description and priority are required, the status defaults to OPEN.
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<BugDetailDto> createBug(@RequestBody BugApiRequest request) {
+        Bug bug = new Bug(request.getTitle(), request.getDescription(), request.getPriority(),
+                request.getStatus() == null ? Status.OPEN : request.getStatus());
+        validate(bug);
+        Bug created = bugService.createBug(bug, request.getAssigneeIds()); // With its assignees, in one transaction
+        return ResponseEntity.created(URI.create("/api/bugs/" + created.getId())).eTag(etagOf(created))
+                .body(BugDetailDto.from(created));
+    }
+
+    /**
+     * Changes the given fields of a bug. The change is applied to the version of the bug the client has seen,
+     * from {@code If-Match} or the {@code version} field; without either, to the current version. Unless the
+     * assignees change as well, the bug is not loaded: the answer is a bodiless 204 with the new ETag.
+     */
+    @PatchMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<Void> patchBug(@PathVariable Long id, @RequestBody BugApiRequest request,
+                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Bug changes = new Bug(request.getTitle(), request.getDescription(), request.getPriority(), request.getStatus());
+        validatePatch(changes, request.getAssigneeIds());
+
+        boolean precondition = ifMatch != null && !ifMatch.trim().equals("*");
+        Long expectedVersion = precondition ? expectedVersion(id, ifMatch) : request.getVersion();
+        long version;
+        try {
+            // The fields and the assignees change together, in one transaction
+            version = bugService.patchBug(id, expectedVersion, changes, request.getAssigneeIds());
+        } catch (ConcurrentUpdateException e) {
+            if (precondition) {
+                throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "The bug has been changed by someone else", e);
+            }
+            throw e; // 409
+        }
+        return ResponseEntity.noContent().eTag(etagOf(version)).build();
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')") // Only ADMIN can delete bugs
+    public ResponseEntity<Void> deleteBug(@PathVariable Long id,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (ifMatch != null) {
+            checkPrecondition(ifMatch, etagOf(bugService.getBugById(id)));
+        }
+        bugService.deleteBug(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static void validate(Bug bug) {
+        if (!StringUtils.hasText(bug.getTitle())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "title is required");
+        }
+        if (bug.getTitle().length() > MAX_TITLE_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "title is longer than " + MAX_TITLE_LENGTH + " characters");
+        }
+        if (!StringUtils.hasText(bug.getDescription())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "description is required");
+        }
+        if (bug.getPriority() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "priority is required");
+        }
+    }
+
+    private static void validatePatch(Bug changes, List<Long> assigneeIds) {
+        if (changes.getTitle() != null && !StringUtils.hasText(changes.getTitle())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "title must not be blank");
+        }
+        if (changes.getTitle() != null && changes.getTitle().length() > MAX_TITLE_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "title is longer than " + MAX_TITLE_LENGTH + " characters");
+        }
+        if (changes.getDescription() != null && !StringUtils.hasText(changes.getDescription())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "description must not be blank");
+        }
+        if (!hasFieldChanges(changes) && assigneeIds == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "nothing to change");
+        }
+    }
+
+    private static boolean hasFieldChanges(Bug changes) {
+        return changes.getTitle() != null || changes.getDescription() != null || changes.getPriority() != null
+                || changes.getStatus() != null;
+    }
+
+    /**
+     * The version a conditional PATCH is based on, read from its {@code If-Match} header. A single ETag is
+     * taken as is, without a read; only for a list of several ETags is the current version looked up.
+     * Fails with 412 if no listed ETag is (or could be) current.
+     */
+    private Long expectedVersion(Long id, String ifMatch) {
+        List<Long> versions = new ArrayList<>();
+        for (String candidate : ifMatch.split(",")) {
+            Long version = versionOf(candidate.trim());
+            if (version != null) {
+                versions.add(version);
+            }
+        }
+        if (versions.size() == 1) {
+            return versions.get(0);
+        }
+        if (!versions.isEmpty()) {
+            Long current = bugService.getBugById(id).getVersion();
+            if (versions.contains(current)) {
+                return current;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "The bug has been changed by someone else");
+    }
+
+    /** The version in a strong ETag of this API, or null for anything else (weak ETags never match). */
+    private static Long versionOf(String etag) {
+        if (etag.length() < 3 || etag.charAt(0) != '"' || etag.charAt(etag.length() - 1) != '"') {
+            return null;
+        }
+        try {
+            return Long.valueOf(etag.substring(1, etag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Fails with 412 unless the {@code If-Match} header is absent, is {@code *}, or lists the current ETag.
+     * Weak ETags never match (strong comparison, RFC 9110 section 13.1.1).
+     */
+    static void checkPrecondition(String ifMatch, String currentEtag) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return;
+        }
+        for (String candidate : ifMatch.split(",")) {
+            if (candidate.trim().equals(currentEtag)) {
+                return;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "The bug has been changed by someone else");
+    }
+
+    /**
+     * The ETag of a bug representation: its version. Every change of the bug row and of its assignment
+     * increments the version, so the ETag can be checked by the UPDATE statement itself.
+     */
+    static String etagOf(Bug bug) {
+        return etagOf(bug.getVersion());
+    }
+
+    static String etagOf(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /** The ETag of a list slice: the IDs and update times of its bugs, and its cursors. */
+    static String etagOf(KeysetPage<BugSummaryDto> page) {
+        StringBuilder fingerprint = new StringBuilder()
+                .append(page.getPreviousCursor()).append('|').append(page.getNextCursor());
+        for (BugSummaryDto bug : page.getContent()) {
+            fingerprint.append(';').append(bug.getId()).append('@').append(bug.getUpdatedAt());
+        }
+        return quoted(fingerprint);
+    }
+
+    private static String quoted(CharSequence fingerprint) {
+        return "\"" + DigestUtils.md5DigestAsHex(fingerprint.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
@@ -1,18 +1,52 @@
 package org.bugtracker.controllers;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.bugtracker.entities.AssigneeDto;
 import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.BugDetailDto;
+import org.bugtracker.entities.BugSummaryDto;
+import org.bugtracker.problems.ConcurrentUpdateException;
+import org.bugtracker.problems.InvalidCriteriaException;
 import org.bugtracker.problems.NotFoundException;
+import org.bugtracker.services.BugEventHub;
+import org.bugtracker.services.BugExportService;
+import org.bugtracker.services.BugImportService;
 import org.bugtracker.services.BugService;
+import org.bugtracker.services.BulkDeleteService;
 import org.bugtracker.services.UserService;
+import org.bugtracker.util.BugImportFormat;
+import org.bugtracker.util.BugImportResult;
+import org.bugtracker.util.BugSearchForm;
+import org.bugtracker.util.BulkDeleteResult;
+import org.bugtracker.util.BulkUpdateRequest;
+import org.bugtracker.util.KeysetPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.prepost.PreAuthorize; // Import for security annotations
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 @Controller
@@ -21,27 +55,123 @@ public class BugController {
 
     private final BugService bugService;
     private final UserService userService;
+    private final BugImportService bugImportService;
+    private final BugExportService bugExportService;
+    private final BulkDeleteService bulkDeleteService;
+    private final BugEventHub bugEventHub;
 
-    public BugController(BugService bugService, UserService userService) {
+    public BugController(BugService bugService, UserService userService, BugImportService bugImportService,
+                         BugExportService bugExportService, BulkDeleteService bulkDeleteService,
+                         BugEventHub bugEventHub) {
         this.bugService = bugService;
         this.userService = userService;
+        this.bugImportService = bugImportService;
+        this.bugExportService = bugExportService;
+        this.bulkDeleteService = bulkDeleteService;
+        this.bugEventHub = bugEventHub;
     }
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')") // Any authenticated user can view bugs
     public String getAllBugs(Model model, @PageableDefault(size = 10) Pageable pageable) {
-        Page<Bug> bugsPage = bugService.getAllBugs(pageable);
+        // The list only needs a few columns, so it uses the lightweight read model
+        Page<BugSummaryDto> bugsPage = bugService.getBugSummaries(pageable);
         model.addAttribute("bugsPage", bugsPage);
+        model.addAttribute("search", new BugSearchForm());
         model.addAttribute("currentPage", "bugs");
         return "bugs/list";
     }
 
+    /**
+     * Cursor-based variant of the bug list. Each page costs the same regardless of its depth,
+     * because it seeks on the primary key instead of using OFFSET and never counts the table.
+     */
+    @GetMapping("/browse")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')") // Any authenticated user can view bugs
+    public String browseBugs(@RequestParam(value = "cursor", required = false) String cursor,
+                             @RequestParam(value = "size", defaultValue = "10") int size,
+                             Model model) {
+        KeysetPage<BugSummaryDto> bugsPage;
+        try {
+            bugsPage = bugService.getBugsByCursor(cursor, size);
+        } catch (InvalidCriteriaException e) {
+            // A stale or tampered cursor: fall back to the first page
+            model.addAttribute("searchError", e.getMessageKey());
+            bugsPage = bugService.getBugsByCursor(null, size);
+        }
+        model.addAttribute("bugsPage", bugsPage);
+        model.addAttribute("keyset", true);
+        model.addAttribute("keysetPath", "/bugs/browse");
+        model.addAttribute("search", new BugSearchForm());
+        model.addAttribute("currentPage", "bugs");
+        return "bugs/list";
+    }
+
+    /**
+     * JSON variant of {@link #browseBugs}, selected by the Accept header.
+     */
+    @GetMapping(value = "/browse", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @ResponseBody
+    public KeysetPage<BugSummaryDto> browseBugsJson(@RequestParam(value = "cursor", required = false) String cursor,
+                                          @RequestParam(value = "size", defaultValue = "10") int size) {
+        try {
+            return bugService.getBugsByCursor(cursor, size);
+        } catch (InvalidCriteriaException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessageKey(), e);
+        }
+    }
+
+    /**
+     * Search results, newest first, with keyset pagination like {@link #browseBugs}: only the listed columns are
+     * read and the matches are never counted. The Newer/Older links repeat the search fields next to the cursor.
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')") // Any authenticated user can search bugs
+    public String searchBugs(@ModelAttribute("search") BugSearchForm search, Model model,
+                             @RequestParam(value = "cursor", required = false) String cursor,
+                             @RequestParam(value = "size", defaultValue = "10") int size) {
+        KeysetPage<BugSummaryDto> bugsPage;
+        try {
+            bugsPage = bugService.searchBugsByCursor(search.toCriteria(), cursor, size);
+        } catch (InvalidCriteriaException e) {
+            // Show an empty result with the (i18n) reason instead of failing the whole page
+            model.addAttribute("searchError", e.getMessageKey());
+            bugsPage = new KeysetPage<>(List.of(), size, null, null);
+        }
+        model.addAttribute("bugsPage", bugsPage);
+        model.addAttribute("keyset", true);
+        model.addAttribute("keysetPath", searchPath(search));
+        model.addAttribute("currentPage", "bugs");
+        return "bugs/list";
+    }
+
+    /**
+     * The search page with the filled-in fields of the form as query parameters, for the cursor links.
+     */
+    private static String searchPath(BugSearchForm search) {
+        UriComponentsBuilder path = UriComponentsBuilder.fromPath("/bugs/search");
+        if (StringUtils.hasText(search.getTitle())) {
+            path.queryParam("title", search.getTitle());
+            if (search.isTitleExact()) {
+                path.queryParam("titleExact", true);
+            }
+        }
+        if (StringUtils.hasText(search.getStatus())) {
+            path.queryParam("status", search.getStatus());
+        }
+        if (StringUtils.hasText(search.getPriority())) {
+            path.queryParam("priority", search.getPriority());
+        }
+        return path.encode().build().toUriString();
+    }
+
     @GetMapping("/new")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')") // Any authenticated user can access the create form
     public String showCreateBugForm(Model model) {
         model.addAttribute("bug", new Bug());
-        // Corrected: Use userService.getAllUsers to get all users for the dropdown
-        model.addAttribute("users", userService.getAllUsers(Pageable.unpaged()).getContent());
+        // Assignees are picked through the /bugs/assignees typeahead, so no user list is loaded here
+        model.addAttribute("selectedAssignees", List.of());
         model.addAttribute("currentPage", "createBug");
         return "bugs/create";
     }
@@ -49,28 +179,133 @@ public class BugController {
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')") // Any authenticated user can create a bug
     public String createBug(@Valid @ModelAttribute("bug") Bug bug, BindingResult result,
+                            @RequestParam(value = "assigneeIds", required = false) List<Long> assigneeIds,
                             RedirectAttributes redirectAttributes, Model model) {
         if (result.hasErrors()) {
             // If there are validation errors, return to the form view
             // The 'bug' object with errors will be automatically added to the model
             // for Thymeleaf to display.
-            // Re-add users to the model for the "Assigned Users" dropdown when returning to the form
-            model.addAttribute("users", userService.getAllUsers(Pageable.unpaged()).getContent());
+            // Re-add only the users that were picked, so the selection survives the round trip
+            model.addAttribute("selectedAssignees", userService.getAssignees(assigneeIds));
             model.addAttribute("currentPage", "createBug");
             return "bugs/create";
         }
-        // The bugService.createBug method should handle setting createdAt, updatedAt, and default Status
-        Bug createdBug = bugService.createBug(bug);
+        // The bugService.createBug method should handle setting createdAt, updatedAt, and default Status.
+        // The bug and its assignees are saved in one transaction, so a failure leaves no half-created bug.
+        Bug createdBug = bugService.createBug(bug, assigneeIds);
         redirectAttributes.addFlashAttribute("successMessage", "Bug created successfully!");
         return "redirect:/bugs/" + createdBug.getId();
     }
 
+    /**
+     * Bulk import of bugs from a CSV or NDJSON request body (see {@link BugImportFormat}), selected by the
+     * Content-Type header. The body is read as a stream, not as a multipart upload, so its size is not limited
+     * by the upload settings and it is never buffered as a whole.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')") // Only ADMIN can import bugs
+    @ResponseBody
+    public BugImportResult importBugs(HttpServletRequest request) throws IOException {
+        BugImportFormat format = BugImportFormat.fromContentType(request.getContentType());
+        Charset charset = request.getCharacterEncoding() == null
+                ? StandardCharsets.UTF_8 : Charset.forName(request.getCharacterEncoding());
+        return bugImportService.importBugs(request.getInputStream(), charset, format);
+    }
+
+    /**
+     * Export of all bugs with their assignees as CSV or NDJSON, in the layout the import reads.
+     * The body is written by {@link BugExportService} on an async thread while the rows are read from a
+     * database cursor, so neither the request thread nor the heap holds the whole export.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')") // Any authenticated user can view bugs
+    public ResponseEntity<StreamingResponseBody> exportBugs(@RequestParam(value = "format", defaultValue = "csv") String format) {
+        BugImportFormat exportFormat;
+        try {
+            exportFormat = BugImportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format, e);
+        }
+        StreamingResponseBody body = out -> bugExportService.exportBugs(out, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"bugs." + exportFormat.name().toLowerCase(Locale.ROOT) + "\"")
+                .body(body);
+    }
+
+    /**
+     * Live feed of bug changes as server-sent events, for the list, detail and home pages (see live-feed.js):
+     * batches of created, updated and deleted bug IDs, coalesced by {@link BugEventHub}. The request thread is
+     * released as soon as the stream is open, and the batches are written without blocking; an idle stream holds
+     * no thread. A reconnecting browser that missed batches (per its {@code Last-Event-ID}) is told to reload.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')") // Any authenticated user can view bugs
+    public void bugEvents(HttpServletRequest request, HttpServletResponse response,
+                          @RequestHeader(value = BugEventHub.LAST_EVENT_ID_HEADER, required = false) String lastEventId)
+            throws IOException {
+        if (!bugEventHub.subscribe(request, response, lastEventId)) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many clients on the live feed, please try again later");
+        }
+    }
+
+    /**
+     * Bulk status/priority change for triage, e.g. closing every resolved bug at once. The bugs are selected
+     * by IDs or by search criteria and updated with set-based UPDATE statements, without loading them.
+     */
+    @PostMapping(value = "/bulk-update", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')") // Any authenticated user can update bugs
+    @ResponseBody
+    public Map<String, Integer> bulkUpdateBugs(@RequestBody BulkUpdateRequest request) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byCriteria = request.getCriteria() != null && !request.getCriteria().isEmpty();
+        if (byIds == byCriteria) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Select the bugs either by ids or by criteria");
+        }
+        try {
+            int updated = byIds
+                    ? bugService.bulkUpdateByIds(request.getIds(), request.getStatus(), request.getPriority())
+                    : bugService.bulkUpdateByCriteria(request.getCriteria(), request.getStatus(), request.getPriority());
+            return Map.of("updated", updated);
+        } catch (InvalidCriteriaException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessageKey(), e);
+        }
+    }
+
+    /**
+     * Bulk purge of bugs by ID, e.g. after an import went wrong. The request body is a JSON array of bug IDs;
+     * the bugs and their assignments are deleted in chunks by set-based statements, without loading them.
+     */
+    @PostMapping(value = "/bulk-delete", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')") // Only ADMIN can delete bugs
+    @ResponseBody
+    public BulkDeleteResult bulkDeleteBugs(@RequestBody List<Long> ids) {
+        return bulkDeleteService.deleteBugs(ids, null);
+    }
+
+    /**
+     * Typeahead lookup for the assignee picker on the create and edit forms.
+     * Returns at most a handful of users whose username, first or last name starts with the query.
+     */
+    @GetMapping(value = "/assignees", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')") // Anyone who can edit bugs can pick assignees
+    @ResponseBody
+    public List<AssigneeDto> findAssignees(@RequestParam(value = "q", defaultValue = "") String query,
+                                          @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return userService.searchAssignees(query, limit);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')") // Any authenticated user can view a specific bug
     public String getBugById(@PathVariable Long id, Model model, RedirectAttributes redirectAttributes) {
         try {
-            Bug bug = bugService.getBugById(id);
-            model.addAttribute("bug", bug);
+            // A plain view model: the page renders after the transaction has ended (no open-session-in-view)
+            model.addAttribute("bug", BugDetailDto.from(bugService.getBugById(id)));
             model.addAttribute("currentPage", "bugDetail");
             return "bugs/detail";
         } catch (NotFoundException e) {
@@ -85,8 +320,11 @@ public class BugController {
         try {
             Bug bug = bugService.getBugById(id);
             model.addAttribute("bug", bug);
-            // Re-add users for dropdown
-            model.addAttribute("users", userService.getAllUsers(Pageable.unpaged()).getContent());
+            // Only the current assignees are rendered; others are found through the typeahead
+            model.addAttribute("selectedAssignees", bug.getAssignedUsers().stream()
+                    .map(AssigneeDto::from)
+                    .sorted(Comparator.comparing(AssigneeDto::getUsername))
+                    .toList());
             model.addAttribute("currentPage", "editBug");
             return "bugs/edit";
         } catch (NotFoundException e) {
@@ -98,17 +336,27 @@ public class BugController {
     @PostMapping("/{id}/edit")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')") // Any authenticated user can update a bug
     public String updateBug(@PathVariable Long id, @Valid @ModelAttribute("bug") Bug bug, BindingResult result,
+                            @RequestParam(value = "assigneeIds", required = false) List<Long> assigneeIds,
                             RedirectAttributes redirectAttributes, Model model) {
         if (result.hasErrors()) {
-            // Re-add users for dropdown
-            model.addAttribute("users", userService.getAllUsers(Pageable.unpaged()).getContent());
+            // Re-add only the users that were picked, so the selection survives the round trip
+            model.addAttribute("selectedAssignees", userService.getAssignees(assigneeIds));
             model.addAttribute("currentPage", "editBug");
             return "bugs/edit";
         } 
         try {
-            bugService.updateBug(id, bug);
+            // The edit form always posts the full selection; nothing selected means nobody is assigned.
+            // Fields and assignees change in one transaction, so neither is applied without the other.
+            bugService.updateBug(id, bug, assigneeIds);
             redirectAttributes.addFlashAttribute("successMessage", "Bug updated successfully!");
             return "redirect:/bugs/" + id;
+        } catch (ConcurrentUpdateException | ObjectOptimisticLockingFailureException e) {
+            // Keep what the user typed; they reload the page to see the other change
+            result.reject("bug.error.conflict", "Someone else changed this bug while you were editing it. "
+                    + "Reload the page to see the changes, then edit again.");
+            model.addAttribute("selectedAssignees", userService.getAssignees(assigneeIds));
+            model.addAttribute("currentPage", "editBug");
+            return "bugs/edit";
         } catch (NotFoundException e) {
             redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
             return "redirect:/bugs";
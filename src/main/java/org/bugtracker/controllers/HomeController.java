@@ -17,10 +17,18 @@ public class HomeController {
     @GetMapping("/auth")
     public String login(@RequestParam(value = "error", required = false) String error,
                         @RequestParam(value = "logout", required = false) String logout,
+                        @RequestParam(value = "throttled", required = false) String throttled,
+                        @RequestParam(value = "busy", required = false) String busy,
                         Model model) {
         if (error != null) {
             model.addAttribute("loginError", "Invalid username or password.");
         }
+        if (throttled != null) {
+            model.addAttribute("loginError", "Too many login attempts. Please wait a few minutes and try again.");
+        }
+        if (busy != null) {
+            model.addAttribute("loginError", "The server is too busy to check your password right now. Please try again in a moment.");
+        }
         if (logout != null) {
             model.addAttribute("logoutMessage", "You have been logged out successfully.");
         }
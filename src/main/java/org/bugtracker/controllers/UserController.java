@@ -4,12 +4,15 @@ import jakarta.validation.Valid;
 import org.bugtracker.entities.User;
 import org.bugtracker.problems.NotFoundException;
 import org.bugtracker.problems.UserAlreadyExistsException;
+import org.bugtracker.services.BulkDeleteService;
 import org.bugtracker.services.UserService;
+import org.bugtracker.util.BulkDeleteResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Controller;
@@ -19,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.security.Principal;
+import java.util.List;
 
 /**
  * Controller for handling user-related web requests, including
@@ -30,9 +34,11 @@ public class UserController {
 
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
     private final UserService userService;
+    private final BulkDeleteService bulkDeleteService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, BulkDeleteService bulkDeleteService) {
         this.userService = userService;
+        this.bulkDeleteService = bulkDeleteService;
     }
 
     // --- Current User Profile Methods ---
@@ -214,4 +220,18 @@ public class UserController {
         }
         return "redirect:/users";
     }
+
+    /**
+     * Bulk purge of users by ID. The request body is a JSON array of user IDs; the users and their
+     * assignments are deleted in chunks by set-based statements, while their bugs are kept.
+     */
+    @PostMapping(value = "/bulk-delete", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @ResponseBody
+    public BulkDeleteResult bulkDeleteUsers(@RequestBody List<Long> ids) {
+        BulkDeleteResult result = bulkDeleteService.deleteUsers(ids, null);
+        logger.info("Admin deleted {} users in bulk", result.getDeleted());
+        return result;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package org.bugtracker.entities;
+
+/**
+ * A minimal, read-only view of a {@link User} for picking bug assignees.
+ * It carries just enough to render a typeahead suggestion and never exposes credentials.
+ */
+public class AssigneeDto {
+
+    private final Long id;
+    private final String username;
+    private final String firstName;
+    private final String lastName;
+
+    public AssigneeDto(Long id, String username, String firstName, String lastName) {
+        this.id = id;
+        this.username = username;
+        this.firstName = firstName;
+        this.lastName = lastName;
+    }
+
+    /**
+     * Builds an assignee view from an already loaded user entity.
+     *
+     * @param user The user entity.
+     * @return The assignee view of the user.
+     */
+    public static AssigneeDto from(User user) {
+        return new AssigneeDto(user.getId(), user.getUsername(), user.getFirstName(), user.getLastName());
+    }
+
+    // --- Getters ---
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    /**
+     * @return The label shown in the assignee picker, e.g. "John Doe (jdoe)".
+     */
+    public String getDisplayName() {
+        return firstName + " " + lastName + " (" + username + ")";
+    }
+
+    @Override
+    public String toString() {
+        return "AssigneeDto{" +
+                "id=" + id +
+                ", username='" + username + '\'' +
+                '}';
+    }
+}
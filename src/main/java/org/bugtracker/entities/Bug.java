@@ -1,6 +1,10 @@
 package org.bugtracker.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Objects;
@@ -14,11 +18,38 @@ import org.bugtracker.entities.Status;
  * Represents a bug or issue in the tracking system.
  */
 @Entity
-@Table(name = "bug") // Changed to snake_case for database table naming convention
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Bug.CACHE_REGION)
+@NamedEntityGraph(name = Bug.WITH_ASSIGNED_USERS, attributeNodes = @NamedAttributeNode("assignedUsers"))
+@Table(name = "bug", // Changed to snake_case for database table naming convention
+        indexes = {
+                // Indexes backing the search path in BugSpecifications (status, priority and title filters)
+                // and list pages sorted by time. Keep in sync with db/migration, which creates them outside dev.
+                @Index(name = "idx_bug_status_updated_at", columnList = "status, updated_at desc"),
+                @Index(name = "idx_bug_priority_status", columnList = "priority, status"),
+                @Index(name = "idx_bug_title", columnList = "title"),
+                @Index(name = "idx_bug_created_at", columnList = "created_at desc"),
+                @Index(name = "idx_bug_updated_at", columnList = "updated_at desc")
+        })
 public class Bug {
 
+    /** Name of the entity graph that fetches the assigned users together with the bug. */
+    public static final String WITH_ASSIGNED_USERS = "Bug.assignedUsers";
+
+    /** Second-level cache region of the bug entities (see CacheConfig). */
+    public static final String CACHE_REGION = "bugs";
+
+    /** Second-level cache region of the {@code assignedUsers} collections. */
+    public static final String ASSIGNED_USERS_CACHE_REGION = "bugs.assignedUsers";
+
+    /** Number of IDs reserved per call of the {@code bug_seq} sequence. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence instead of IDENTITY: Hibernate reserves {@value #ID_ALLOCATION_SIZE} IDs per sequence call
+    // and knows them before the INSERT, so inserts can be sent in JDBC batches (hibernate.jdbc.batch_size).
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bug_seq")
+    @SequenceGenerator(name = "bug_seq", sequenceName = "bug_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "title", nullable = false, length = 255) // Changed to snake_case, added length constraint
@@ -33,18 +64,32 @@ public class Bug {
     @Column(name = "updated_at", nullable = false) // Changed to snake_case
     private LocalDateTime updatedAt;
 
-    @Enumerated(EnumType.STRING) // Stores enum as String in DB
-    @Column(name = "priority", nullable = false, length = 50) // Changed to snake_case, added length
+    // Optimistic locking: every update checks and increments the version, so concurrent edits fail
+    // instead of silently overwriting each other. Also the ETag of the bug in the REST API.
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Convert(converter = PriorityConverter.class) // Stores the severity code, so the column sorts by severity
+    @Column(name = "priority", nullable = false)
     private Priority priority;
 
-    @Enumerated(EnumType.STRING) // Stores enum as String in DB
-    @Column(name = "status", nullable = false, length = 50) // Changed to snake_case, added length
+    @Convert(converter = StatusConverter.class) // Stores the status code (SMALLINT) instead of the name
+    @Column(name = "status", nullable = false)
     private Status status;
 
     // Inverse side of Many-to-Many relationship with User entity.
     // The 'mappedBy' attribute indicates that the owning side of the relationship is in the 'User' entity,
     // specifically the field named 'assignedBugs'.
     // FetchType.LAZY is generally recommended for collections.
+    // Ignored for JSON: it would trigger lazy loading and expose User entities (including password hashes).
+    // @BatchSize: when several bugs are loaded, touching one collection initializes the assignees of up to
+    // 50 bugs in a single IN query instead of one query per bug (N+1).
+    // Single-bug views read it through the second-level cache. As this is the inverse side, the cached
+    // collection is only kept correct if both sides are changed together (see assignUser/unassignUser).
+    @JsonIgnore
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Bug.ASSIGNED_USERS_CACHE_REGION)
     @ManyToMany(mappedBy = "assignedBugs", fetch = FetchType.LAZY)
     private Set<User> assignedUsers = new HashSet<>();
 
@@ -135,6 +180,14 @@ public class Bug {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Priority getPriority() {
         return priority;
     }
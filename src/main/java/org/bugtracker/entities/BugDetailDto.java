@@ -0,0 +1,88 @@
+package org.bugtracker.entities;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The JSON representation of a single {@link Bug} in the REST API: all columns plus its assignees as
+ * {@link AssigneeDto}s, so no User entity (and no password hash) is ever serialized.
+ */
+public class BugDetailDto {
+
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final Priority priority;
+    private final Status status;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final Long version;
+    private final List<AssigneeDto> assignees;
+
+    public BugDetailDto(Long id, String title, String description, Priority priority, Status status,
+                        LocalDateTime createdAt, LocalDateTime updatedAt, Long version, List<AssigneeDto> assignees) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.priority = priority;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+        this.assignees = assignees;
+    }
+
+    /**
+     * Builds the representation of a bug whose assignees are initialized.
+     *
+     * @param bug The bug entity.
+     * @return The representation, with the assignees ordered by username.
+     */
+    public static BugDetailDto from(Bug bug) {
+        List<AssigneeDto> assignees = bug.getAssignedUsers().stream()
+                .map(AssigneeDto::from)
+                .sorted(Comparator.comparing(AssigneeDto::getUsername))
+                .toList();
+        return new BugDetailDto(bug.getId(), bug.getTitle(), bug.getDescription(), bug.getPriority(),
+                bug.getStatus(), bug.getCreatedAt(), bug.getUpdatedAt(), bug.getVersion(), assignees);
+    }
+
+    // --- Getters ---
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public List<AssigneeDto> getAssignees() {
+        return assignees;
+    }
+}
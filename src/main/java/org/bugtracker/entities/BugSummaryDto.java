@@ -0,0 +1,76 @@
+package org.bugtracker.entities;
+
+import java.time.LocalDateTime;
+
+/**
+ * A read-only projection of a {@link Bug} carrying only the columns shown on the bug list page.
+ * Instances are created directly by JPQL constructor expressions, so they never enter the
+ * persistence context, are never dirty-checked and never load the (potentially large) description.
+ */
+public class BugSummaryDto {
+
+    private final Long id;
+    private final String title;
+    private final Priority priority;
+    private final Status status;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public BugSummaryDto(Long id, String title, Priority priority, Status status,
+                         LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.priority = priority;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Builds a summary from an already loaded entity (e.g. search results).
+     *
+     * @param bug The bug entity.
+     * @return The summary of the bug.
+     */
+    public static BugSummaryDto from(Bug bug) {
+        return new BugSummaryDto(bug.getId(), bug.getTitle(), bug.getPriority(), bug.getStatus(),
+                bug.getCreatedAt(), bug.getUpdatedAt());
+    }
+
+    // --- Getters ---
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "BugSummaryDto{" +
+                "id=" + id +
+                ", title='" + title + '\'' +
+                ", priority=" + priority +
+                ", status=" + status +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
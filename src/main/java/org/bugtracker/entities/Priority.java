@@ -1,19 +1,45 @@
 package org.bugtracker.entities;
 
-// Inside your Bug.java or a separate enum file
+/**
+ * How urgent a bug is. Stored as its {@link #getCode() code} (see {@link PriorityConverter}), which grows with
+ * the severity, so ordering by the column sorts from LOW to CRITICAL.
+ */
 public enum Priority {
-    CRITICAL("Critical"),
-    HIGH("High"),
-    MEDIUM("Medium"),
-    LOW("Low");
+    CRITICAL(40, "Critical"),
+    HIGH(30, "High"),
+    MEDIUM(20, "Medium"),
+    LOW(10, "Low");
 
+    private final int code;
     private final String displayName;
 
-    Priority(String displayName) {
+    Priority(int code, String displayName) {
+        this.code = code;
         this.displayName = displayName;
     }
 
+    /**
+     * The database value. Codes never change once assigned; the gaps leave room for new levels in between.
+     */
+    public int getCode() {
+        return code;
+    }
+
     public String getDisplayName() {
         return displayName;
     }
+
+    /**
+     * @param code A database value.
+     * @return The priority with this code.
+     * @throws IllegalArgumentException if no priority has this code.
+     */
+    public static Priority fromCode(int code) {
+        for (Priority priority : values()) {
+            if (priority.code == code) {
+                return priority;
+            }
+        }
+        throw new IllegalArgumentException("Unknown priority code: " + code);
+    }
 }
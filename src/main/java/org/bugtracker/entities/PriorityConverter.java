@@ -0,0 +1,22 @@
+package org.bugtracker.entities;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a {@link Priority} as its small integer code instead of its name, which keeps rows and indexes small
+ * and does not depend on the order or the names of the enum constants.
+ */
+@Converter
+public class PriorityConverter implements AttributeConverter<Priority, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(Priority priority) {
+        return priority == null ? null : (short) priority.getCode();
+    }
+
+    @Override
+    public Priority convertToEntityAttribute(Short code) {
+        return code == null ? null : Priority.fromCode(code);
+    }
+}
@@ -1,19 +1,45 @@
 package org.bugtracker.entities;
 
+/**
+ * Where a bug is in its life cycle. Stored as its {@link #getCode() code} (see {@link StatusConverter}).
+ */
 public enum Status {
-    OPEN("Open"),
-    IN_PROGRESS("In Progress"),
-    RESOLVED("Resolved"),
-    CLOSED("Closed"),
-    REOPENED("Reopened");
+    OPEN(1, "Open"),
+    IN_PROGRESS(2, "In Progress"),
+    RESOLVED(3, "Resolved"),
+    CLOSED(4, "Closed"),
+    REOPENED(5, "Reopened");
 
+    private final int code;
     private final String displayName;
 
-    Status(String displayName) {
+    Status(int code, String displayName) {
+        this.code = code;
         this.displayName = displayName;
     }
 
+    /**
+     * The database value. Codes never change once assigned, so the constants can be reordered or added freely.
+     */
+    public int getCode() {
+        return code;
+    }
+
     public String getDisplayName() {
         return displayName;
     }
-}
\ No newline at end of file
+
+    /**
+     * @param code A database value.
+     * @return The status with this code.
+     * @throws IllegalArgumentException if no status has this code.
+     */
+    public static Status fromCode(int code) {
+        for (Status status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown status code: " + code);
+    }
+}
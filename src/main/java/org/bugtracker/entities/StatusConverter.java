@@ -0,0 +1,22 @@
+package org.bugtracker.entities;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a {@link Status} as its small integer code instead of its name, which keeps rows and indexes small
+ * and does not depend on the order or the names of the enum constants.
+ */
+@Converter
+public class StatusConverter implements AttributeConverter<Status, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(Status status) {
+        return status == null ? null : (short) status.getCode();
+    }
+
+    @Override
+    public Status convertToEntityAttribute(Short code) {
+        return code == null ? null : Status.fromCode(code);
+    }
+}
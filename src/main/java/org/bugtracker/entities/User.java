@@ -4,6 +4,9 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -13,11 +16,30 @@ import java.util.Objects;
 import java.util.Set;
 
 @Entity
-@Table(name = "APP_USER") // Renamed to avoid conflict with SQL keywords like 'USER'
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@Table(name = "APP_USER", // Renamed to avoid conflict with SQL keywords like 'USER'
+        indexes = {
+                // Case-insensitive name indexes for the assignee typeahead (see the lower-cased columns below).
+                @Index(name = "idx_app_user_username_lower", columnList = "USERNAME_LOWER"),
+                @Index(name = "idx_app_user_first_name_lower", columnList = "FIRST_NAME_LOWER"),
+                @Index(name = "idx_app_user_last_name_lower", columnList = "LAST_NAME_LOWER")
+        })
 public class User {
 
+    /** Second-level cache region of the user entities (see CacheConfig). */
+    public static final String CACHE_REGION = "users";
+
+    /** Second-level cache region of the {@code assignedBugs} collections. */
+    public static final String ASSIGNED_BUGS_CACHE_REGION = "users.assignedBugs";
+
+    /** Number of IDs reserved per call of the {@code app_user_seq} sequence. */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence instead of IDENTITY so inserts can be batched (see Bug.id).
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "app_user_seq")
+    @SequenceGenerator(name = "app_user_seq", sequenceName = "app_user_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @NotBlank(message = "Username cannot be empty")
@@ -40,6 +62,21 @@ public class User {
     @Column(name = "LAST_NAME")
     private String lastName;
 
+    // Lower-cased copies of the names, computed by the database (see V4__assignee_name_indexes.sql) so the
+    // case-insensitive typeahead can use an index. Only read by queries; never written by Hibernate.
+    // The column definitions repeat V4 for the schema the dev profile generates from the entities.
+    @Column(name = "USERNAME_LOWER", insertable = false, updatable = false,
+            columnDefinition = "VARCHAR(50) GENERATED ALWAYS AS (LOWER(USERNAME))")
+    private String usernameLower;
+
+    @Column(name = "FIRST_NAME_LOWER", insertable = false, updatable = false,
+            columnDefinition = "VARCHAR(50) GENERATED ALWAYS AS (LOWER(FIRST_NAME))")
+    private String firstNameLower;
+
+    @Column(name = "LAST_NAME_LOWER", insertable = false, updatable = false,
+            columnDefinition = "VARCHAR(50) GENERATED ALWAYS AS (LOWER(LAST_NAME))")
+    private String lastNameLower;
+
     @NotBlank(message = "Email cannot be empty")
     @Email(message = "Invalid email format")
     @Column(unique = true, nullable = false)
@@ -75,11 +112,16 @@ public class User {
 
     // Owning side of Many-to-Many relationship with Bug entity.
     // This defines the 'assignedBugs' attribute and the join table.
+    // The primary key (bug_id, user_id) already serves lookups by bug; the extra index serves lookups by user.
+    // The cached collection only holds bug IDs; the bugs themselves come from the bug region.
     @ManyToMany
+    @BatchSize(size = 50) // Initialize the collections of several users with one IN query
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.ASSIGNED_BUGS_CACHE_REGION)
     @JoinTable(
             name = "user_assigned_bugs", // Explicit name for the join table (consistent with error log)
             joinColumns = @JoinColumn(name = "user_id"), // Column in join table referring to User
-            inverseJoinColumns = @JoinColumn(name = "bug_id") // Column in join table referring to Bug
+            inverseJoinColumns = @JoinColumn(name = "bug_id"), // Column in join table referring to Bug
+            indexes = @Index(name = "idx_user_assigned_bugs_user_id", columnList = "user_id, bug_id")
     )
     private Set<Bug> assignedBugs = new HashSet<>();
 
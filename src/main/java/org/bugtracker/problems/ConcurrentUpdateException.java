@@ -0,0 +1,37 @@
+package org.bugtracker.problems;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when an update was based on an outdated version of an entity, i.e. someone else
+ * changed it in the meantime. The client should reload the entity and apply its change again.
+ * Annotated with @ResponseStatus to return an HTTP 409 status.
+ */
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class ConcurrentUpdateException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new ConcurrentUpdateException with the specified detail message.
+     *
+     * @param message The detail message.
+     */
+    public ConcurrentUpdateException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new ConcurrentUpdateException with the specified detail message and cause.
+     *
+     * @param message The detail message.
+     * @param cause   The underlying optimistic locking failure.
+     */
+    public ConcurrentUpdateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
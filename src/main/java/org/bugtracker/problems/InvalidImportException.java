@@ -0,0 +1,28 @@
+package org.bugtracker.problems;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when a bulk import cannot be read at all, e.g. because of an unsupported format
+ * or a CSV header without the required columns. Problems with single rows are reported in the
+ * import result instead.
+ * Annotated with @ResponseStatus to return an HTTP 400 status.
+ */
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class InvalidImportException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new InvalidImportException with the specified detail message.
+     *
+     * @param message The detail message.
+     */
+    public InvalidImportException(String message) {
+        super(message);
+    }
+}
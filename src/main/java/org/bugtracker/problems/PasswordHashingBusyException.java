@@ -0,0 +1,42 @@
+package org.bugtracker.problems;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when a password cannot be hashed or verified because the password-hashing pool
+ * is saturated (its queue is full or the wait timed out).
+ * Annotated with @ResponseStatus to return an HTTP 503 status, so clients know to retry later.
+ * <p>
+ * It is an {@link AuthenticationServiceException}, so a login whose password cannot be verified fails like
+ * any other login, through the failure handling of the security filter chain (see SecurityConfig), instead of
+ * escaping it as a 500.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingBusyException extends AuthenticationServiceException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new PasswordHashingBusyException with the specified detail message.
+     *
+     * @param message The detail message.
+     */
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new PasswordHashingBusyException with the specified detail message and cause.
+     *
+     * @param message The detail message.
+     * @param cause   The underlying cause of this exception.
+     */
+    public PasswordHashingBusyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,16 +1,83 @@
 package org.bugtracker.repos;
 
+import jakarta.persistence.QueryHint;
 import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.BugSummaryDto;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List; // For example custom queries
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for {@link Bug} entities.
+ * Extends {@link JpaSpecificationExecutor} so searches built by {@link BugSpecifications}
+ * run as a single filtered query, and {@link BugRepoCustom} for set-based updates.
  */
 @Repository
-public interface BugRepo extends JpaRepository<Bug, Long> {
+public interface BugRepo extends JpaRepository<Bug, Long>, JpaSpecificationExecutor<Bug>, BugRepoCustom {
+
+    /**
+     * Finds a bug together with its assigned users in a single query (LEFT JOIN), for detail and edit views.
+     * @param id The ID of the bug.
+     * @return An Optional containing the bug with initialized assignees, or empty if not found.
+     */
+    @EntityGraph(Bug.WITH_ASSIGNED_USERS)
+    Optional<Bug> findWithAssignedUsersById(Long id);
+
+    // --- Read model for the bug list page ---
+    // Constructor expressions select only the displayed columns (no TEXT description) and produce
+    // plain DTOs that never enter the persistence context.
+
+    String SUMMARY_SELECT = "select new org.bugtracker.entities.BugSummaryDto("
+            + "b.id, b.title, b.priority, b.status, b.createdAt, b.updatedAt) from Bug b";
+
+    /**
+     * Finds a page of bug summaries (OFFSET pagination with count).
+     * @param pageable The pagination and sorting information.
+     * @return A page of summaries.
+     */
+    @Query(value = SUMMARY_SELECT, countQuery = "select count(b) from Bug b")
+    Page<BugSummaryDto> findAllSummaries(Pageable pageable);
+
+    // --- Keyset (seek) pagination ---
+    // These return a List rather than a Page, so Spring Data only applies the LIMIT from the Pageable
+    // and never issues a count(*) query. All of them seek on the primary key index.
+
+    /**
+     * Finds the newest bug summaries (first keyset page).
+     * @param limit Only the page size of this Pageable is used.
+     * @return Summaries ordered by id descending.
+     */
+    @Query(SUMMARY_SELECT + " order by b.id desc")
+    List<BugSummaryDto> findNewestSummaries(Pageable limit);
+
+    /**
+     * Finds bug summaries older than the given boundary (next keyset page).
+     * @param id    The id of the last row of the current page.
+     * @param limit Only the page size of this Pageable is used.
+     * @return Summaries with a lower id, ordered by id descending.
+     */
+    @Query(SUMMARY_SELECT + " where b.id < :id order by b.id desc")
+    List<BugSummaryDto> findSummariesBefore(@Param("id") Long id, Pageable limit);
+
+    /**
+     * Finds bug summaries newer than the given boundary (previous keyset page).
+     * @param id    The id of the first row of the current page.
+     * @param limit Only the page size of this Pageable is used.
+     * @return Summaries with a higher id, ordered by id <em>ascending</em> (closest to the boundary first).
+     */
+    @Query(SUMMARY_SELECT + " where b.id > :id order by b.id asc")
+    List<BugSummaryDto> findSummariesAfter(@Param("id") Long id, Pageable limit);
 
     // --- Example Custom Query Methods (uncomment and adapt if needed) ---
 
@@ -35,4 +102,24 @@ public interface BugRepo extends JpaRepository<Bug, Long> {
      * @return A list of bugs matching the priority.
      */
     // List<Bug> findByPriority(Bug.Priority priority);
-}
\ No newline at end of file
+
+    // --- Export ---
+
+    /** Rows fetched per database round trip by {@link #streamAllForExport()}. */
+    int EXPORT_FETCH_SIZE = 500;
+
+    /**
+     * Streams all bugs in ID order through a forward-only cursor, for exports. The rows are fetched
+     * {@value #EXPORT_FETCH_SIZE} at a time and loaded read-only (no snapshots for dirty checking), so the
+     * caller only has to clear the persistence context now and then to keep memory flat.
+     * Must be consumed inside a transaction and closed afterwards.
+     * @return The bugs, ordered by id ascending.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select b from Bug b order by b.id")
+    Stream<Bug> streamAllForExport();
+}
@@ -0,0 +1,71 @@
+package org.bugtracker.repos;
+
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.BugSummaryDto;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.util.BugCursor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Custom fragment of {@link BugRepo} for queries Spring Data cannot derive.
+ */
+public interface BugRepoCustom {
+
+    /**
+     * Finds the summaries of the bugs matching the specification with keyset (seek) pagination, like
+     * {@link BugRepo#findSummariesBefore}: only the summary columns are selected (no TEXT description, no
+     * entities) and no count query is issued.
+     *
+     * @param spec     Which bugs to find; an empty specification matches every bug.
+     * @param position Where to seek from: null for the newest bugs, a NEXT cursor for bugs with a lower id
+     *                 (id descending), a PREVIOUS cursor for bugs with a higher id (id <em>ascending</em>,
+     *                 closest to the boundary first).
+     * @param limit    The maximum number of rows.
+     * @return The matching summaries, in the order described above.
+     */
+    List<BugSummaryDto> findSummaries(Specification<Bug> spec, BugCursor position, int limit);
+
+    /**
+     * Sets the status and/or priority of all bugs matching the specification in a single UPDATE statement,
+     * and stamps their {@code updatedAt}. No entity is loaded; Hibernate evicts the cached bugs and
+     * invalidates cached queries on the bug table itself.
+     * <p>
+     * The specification is applied to the root of the UPDATE, so it must not use its query argument
+     * (none of {@link BugSpecifications} do).
+     *
+     * @param spec     Which bugs to update; must not be empty, or every bug would be updated.
+     * @param status   The new status, or null to keep the current one.
+     * @param priority The new priority, or null to keep the current one.
+     * @return The number of updated bugs.
+     */
+    int updateStatusAndPriority(Specification<Bug> spec, Status status, Priority priority);
+
+    /**
+     * Sets the status and/or priority of the bugs with the given IDs in a single UPDATE statement, and stamps
+     * their {@code updatedAt}. Unlike {@link #updateStatusAndPriority}, the statement is plain JPQL, whose plan
+     * Hibernate caches, which matters when a long ID list is updated in chunks.
+     *
+     * @param ids      The bug IDs; callers keep the list within the IN-list limits of the database.
+     * @param status   The new status, or null to keep the current one.
+     * @param priority The new priority, or null to keep the current one.
+     * @return The number of updated bugs.
+     */
+    int updateStatusAndPriorityByIdIn(Collection<Long> ids, Status status, Priority priority);
+
+    /**
+     * Changes the non-null title, description, priority and status of {@code changes} on one bug with a single
+     * UPDATE statement, without loading it. The version is incremented and {@code updatedAt} stamped.
+     * Only the cached entry of this bug is evicted, unlike with JPQL bulk statements, which clear the whole
+     * bug region.
+     *
+     * @param id              The ID of the bug.
+     * @param expectedVersion The version the change is based on; the update only happens if it is current.
+     * @param changes         The new values; null fields keep their current value.
+     * @return 1 if the bug was updated, 0 if it does not exist or its version is not {@code expectedVersion}.
+     */
+    int updateIfVersion(Long id, long expectedVersion, Bug changes);
+}
@@ -0,0 +1,166 @@
+package org.bugtracker.repos;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.BugSummaryDto;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.util.BugCursor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementation of {@link BugRepoCustom}, picked up by Spring Data through its name.
+ */
+class BugRepoCustomImpl implements BugRepoCustom {
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    BugRepoCustomImpl(EntityManager entityManager, JdbcTemplate jdbcTemplate) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<BugSummaryDto> findSummaries(Specification<Bug> spec, BugCursor position, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BugSummaryDto> query = cb.createQuery(BugSummaryDto.class);
+        Root<Bug> root = query.from(Bug.class);
+        Path<Long> id = root.get("id");
+        query.select(cb.construct(BugSummaryDto.class, id, root.get("title"), root.get("priority"),
+                root.get("status"), root.get("createdAt"), root.get("updatedAt")));
+
+        List<Predicate> where = new ArrayList<>();
+        Predicate matches = spec.toPredicate(root, query, cb);
+        if (matches != null) {
+            where.add(matches);
+        }
+        boolean previous = position != null && position.getDirection() == BugCursor.Direction.PREVIOUS;
+        if (position != null) {
+            where.add(previous ? cb.greaterThan(id, position.getId()) : cb.lessThan(id, position.getId()));
+        }
+        query.where(where.toArray(new Predicate[0]));
+        query.orderBy(previous ? cb.asc(id) : cb.desc(id));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public int updateStatusAndPriority(Specification<Bug> spec, Status status, Priority priority) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Bug> update = cb.createCriteriaUpdate(Bug.class);
+        Root<Bug> root = update.from(Bug.class);
+
+        Predicate where = spec.toPredicate(root, null, cb);
+        if (where == null) {
+            throw new IllegalArgumentException("Refusing to update every bug: the specification is empty");
+        }
+        if (status != null) {
+            update.set(root.<Status>get("status"), status);
+        }
+        if (priority != null) {
+            update.set(root.<Priority>get("priority"), priority);
+        }
+        // Bulk statements skip entity callbacks and versioning, so do what @PreUpdate and @Version would do
+        update.set(root.<LocalDateTime>get("updatedAt"), LocalDateTime.now());
+        update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L));
+        update.where(where);
+
+        // Pending changes are flushed first; afterwards managed bugs would be stale, so detach them
+        entityManager.flush();
+        int updated = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+
+    @Override
+    public int updateStatusAndPriorityByIdIn(Collection<Long> ids, Status status, Priority priority) {
+        // Only the assigned columns vary, so there are at most three distinct statements to cache
+        StringBuilder jpql = new StringBuilder("update Bug b set b.updatedAt = :updatedAt, b.version = b.version + 1");
+        if (status != null) {
+            jpql.append(", b.status = :status");
+        }
+        if (priority != null) {
+            jpql.append(", b.priority = :priority");
+        }
+        jpql.append(" where b.id in :ids");
+
+        Query update = entityManager.createQuery(jpql.toString())
+                .setParameter("updatedAt", LocalDateTime.now())
+                .setParameter("ids", ids);
+        if (status != null) {
+            update.setParameter("status", status);
+        }
+        if (priority != null) {
+            update.setParameter("priority", priority);
+        }
+
+        entityManager.flush();
+        int updated = update.executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+
+    @Override
+    public int updateIfVersion(Long id, long expectedVersion, Bug changes) {
+        List<String> assignments = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (changes.getTitle() != null) {
+            assignments.add("title = ?");
+            args.add(changes.getTitle());
+        }
+        if (changes.getDescription() != null) {
+            assignments.add("description = ?");
+            args.add(changes.getDescription());
+        }
+        if (changes.getPriority() != null) {
+            assignments.add("priority = ?");
+            args.add(changes.getPriority().getCode());
+        }
+        if (changes.getStatus() != null) {
+            assignments.add("status = ?");
+            args.add(changes.getStatus().getCode());
+        }
+        assignments.add("updated_at = ?");
+        args.add(LocalDateTime.now());
+        assignments.add("version = version + 1");
+        args.add(id);
+        args.add(expectedVersion);
+
+        // Plain SQL rather than JPQL: Hibernate evicts the whole bug region after a JPQL UPDATE, here only
+        // this bug is evicted. Again after commit, so a concurrent load cannot re-cache the old row.
+        entityManager.flush();
+        int updated = jdbcTemplate.update("UPDATE bug SET " + String.join(", ", assignments)
+                + " WHERE id = ? AND version = ?", args.toArray());
+        entityManager.clear();
+        evictBug(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictBug(id);
+                }
+            });
+        }
+        return updated;
+    }
+
+    private void evictBug(Long id) {
+        entityManager.getEntityManagerFactory().getCache().evict(Bug.class, id);
+    }
+}
@@ -0,0 +1,109 @@
+package org.bugtracker.repos;
+
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.problems.InvalidCriteriaException;
+import org.bugtracker.util.CriteriaDto;
+import org.bugtracker.util.QueryUtils;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Builds JPA {@link Specification}s for {@link Bug} searches from {@link CriteriaDto} terms.
+ * All terms are combined with AND into a single WHERE clause so the search runs as one SQL query.
+ * <p>
+ * Enum fields (status, priority) are always resolved to concrete constants in Java first, so the
+ * database only ever sees an equality or IN predicate that the indexes on those columns can serve.
+ * Title exact matches use plain equality (index-backed); "contains" matches fall back to LIKE.
+ * <p>
+ * No index serves {@code LOWER(TITLE) LIKE '%x%'}: a "contains" search scans the bugs. The search pages
+ * seek by id, newest first, so each page reads the table backwards only until it has found a page of
+ * matches (or reached the end, for rare terms), never the whole table plus a count.
+ */
+public final class BugSpecifications {
+
+    private BugSpecifications() {
+        // Static factory holder
+    }
+
+    /**
+     * Combines all non-empty criteria into a single specification.
+     *
+     * @param criteria The search terms. Empty terms are ignored.
+     * @return A specification matching bugs that satisfy every term (matches all bugs if no terms are given).
+     * @throws InvalidCriteriaException if an exact status/priority value does not name a known constant.
+     */
+    public static Specification<Bug> fromCriteria(Collection<CriteriaDto> criteria) {
+        Specification<Bug> spec = Specification.where(null);
+        if (criteria == null) {
+            return spec;
+        }
+        for (CriteriaDto criterion : criteria) {
+            if (criterion != null && !criterion.isEmpty()) {
+                spec = spec.and(fromCriterion(criterion));
+            }
+        }
+        return spec;
+    }
+
+    /**
+     * Translates a single criterion into a specification.
+     *
+     * @param criterion A non-empty search term.
+     * @return The corresponding specification.
+     */
+    public static Specification<Bug> fromCriterion(CriteriaDto criterion) {
+        String value = criterion.getValue().trim();
+        boolean exact = criterion.isExactMatch();
+        return switch (criterion.getField()) {
+            case TITLE -> textMatch("title", value, exact);
+            case DESCRIPTION -> textMatch("description", value, exact);
+            case STATUS -> enumMatch("status", value, exact, Status.values(), Status::getDisplayName);
+            case PRIORITY -> enumMatch("priority", value, exact, Priority.values(), Priority::getDisplayName);
+        };
+    }
+
+    private static Specification<Bug> textMatch(String attribute, String value, boolean exact) {
+        if (exact) {
+            return (root, query, cb) -> cb.equal(root.get(attribute), value);
+        }
+        // Case-insensitive and unanchored, so a full scan (see the class comment)
+        String pattern = "%" + QueryUtils.escapeLike(value.toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get(attribute)), pattern, QueryUtils.LIKE_ESCAPE);
+    }
+
+    private static <E extends Enum<E>> Specification<Bug> enumMatch(String attribute, String value, boolean exact,
+                                                                    E[] constants, Function<E, String> displayName) {
+        List<E> matches = new ArrayList<>();
+        String needle = value.toLowerCase(Locale.ROOT);
+        for (E constant : constants) {
+            String name = constant.name().toLowerCase(Locale.ROOT);
+            String label = displayName.apply(constant).toLowerCase(Locale.ROOT);
+            boolean matched = exact
+                    ? name.equals(needle) || label.equals(needle)
+                    : name.contains(needle) || label.contains(needle);
+            if (matched) {
+                matches.add(constant);
+            }
+        }
+
+        if (matches.isEmpty()) {
+            if (exact) {
+                throw new InvalidCriteriaException(attribute, "search.error.invalid_" + attribute);
+            }
+            // Nothing can match; short-circuit to an always-false predicate instead of hitting the column.
+            return (root, query, cb) -> cb.disjunction();
+        }
+        if (matches.size() == 1) {
+            E match = matches.get(0);
+            return (root, query, cb) -> cb.equal(root.get(attribute), match);
+        }
+        return (root, query, cb) -> root.get(attribute).in(matches);
+    }
+}
@@ -1,11 +1,17 @@
 package org.bugtracker.repos;
 
+import jakarta.persistence.QueryHint;
+import org.bugtracker.entities.AssigneeDto;
 import org.bugtracker.entities.User;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,8 +22,10 @@ public interface UserRepo extends JpaRepository<User, Long> {
      * Finds a user by their username.
      * Assumes the User entity has a field named 'username'.
      * @param username The username to search for.
+     * The result is kept in the query cache; Hibernate invalidates it whenever APP_USER is written.
      * @return An Optional containing the user if found, or an empty Optional otherwise.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("select u from User u where u.username = :username")
     Optional<User> findByUsername(@Param("username") String username);
 
@@ -40,10 +48,11 @@ public interface UserRepo extends JpaRepository<User, Long> {
     /**
      * Finds a user by their email address.
      * Assumes email addresses are unique.
-     * This is a derived query method.
+     * This is a derived query method. Like {@link #findByUsername(String)}, it is served from the query cache.
      * @param email The email address to search for.
      * @return An Optional containing the user if found, or an empty Optional otherwise.
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
 
     /**
@@ -55,4 +64,49 @@ public interface UserRepo extends JpaRepository<User, Long> {
      */
     @Query("SELECT u FROM User u JOIN u.assignedBugs b WHERE b.id = :bugId")
     List<User> findUsersByAssignedBugId(@Param("bugId") Long bugId);
-}
\ No newline at end of file
+
+    /**
+     * Finds assignee candidates whose username, first name or last name starts with the given prefix.
+     * Matching is case-insensitive; the caller passes an already lower-cased, LIKE-escaped pattern
+     * ending in '%'. Each name is matched against its lower-cased column, so every prefix is a range scan of
+     * that column's index; the three matches are combined with UNION, since a single OR over three columns
+     * would scan the table instead.
+     * @param pattern The lower-cased prefix pattern, e.g. "jo%".
+     * @param limit   Only the page size of this Pageable is used; no count query is issued.
+     * @return Matching users as lightweight views, ordered by username.
+     */
+    @Query("SELECT new org.bugtracker.entities.AssigneeDto(u.id, u.username, u.firstName, u.lastName) FROM User u "
+            + "WHERE u.id IN ("
+            + "SELECT n.id FROM User n WHERE n.usernameLower LIKE :pattern ESCAPE '\\' "
+            + "UNION SELECT n.id FROM User n WHERE n.firstNameLower LIKE :pattern ESCAPE '\\' "
+            + "UNION SELECT n.id FROM User n WHERE n.lastNameLower LIKE :pattern ESCAPE '\\') "
+            + "ORDER BY u.username")
+    List<AssigneeDto> findAssigneesByPrefix(@Param("pattern") String pattern, Pageable limit);
+
+    /**
+     * Finds the assignee views of the given users.
+     * @param ids The user IDs.
+     * @return The matching users as lightweight views, ordered by username.
+     */
+    @Query("SELECT new org.bugtracker.entities.AssigneeDto(u.id, u.username, u.firstName, u.lastName) FROM User u "
+            + "WHERE u.id IN :ids ORDER BY u.username")
+    List<AssigneeDto> findAssigneesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds the assignee views of the users with the given usernames, e.g. to resolve the assignees of
+     * imported bugs for a whole batch in one query.
+     * @param usernames The usernames; unknown ones are skipped.
+     * @return The matching users as lightweight views, in no particular order.
+     */
+    @Query("SELECT new org.bugtracker.entities.AssigneeDto(u.id, u.username, u.firstName, u.lastName) FROM User u "
+            + "WHERE u.username IN :usernames")
+    List<AssigneeDto> findAssigneesByUsernameIn(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * Finds the usernames assigned to the given bugs, e.g. to export a batch of bugs with one query.
+     * @param bugIds The bug IDs.
+     * @return Pairs of {@code [bugId (Long), username (String)]}, ordered by username.
+     */
+    @Query("SELECT b.id, u.username FROM User u JOIN u.assignedBugs b WHERE b.id IN :bugIds ORDER BY u.username")
+    List<Object[]> findAssigneeUsernamesByBugIdIn(@Param("bugIds") Collection<Long> bugIds);
+}
@@ -0,0 +1,72 @@
+package org.bugtracker.services;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published by the services that write bugs, once per change. {@link BugEventHub} passes it on to the live feed
+ * after the transaction commits, so a rolled-back change is never announced.
+ */
+public final class BugChangeEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final List<Long> bugIds;
+
+    private BugChangeEvent(Type type, List<Long> bugIds) {
+        this.type = type;
+        this.bugIds = bugIds;
+    }
+
+    public static BugChangeEvent created(Long id) {
+        return new BugChangeEvent(Type.CREATED, List.of(id));
+    }
+
+    public static BugChangeEvent created(Collection<Long> ids) {
+        return new BugChangeEvent(Type.CREATED, List.copyOf(ids));
+    }
+
+    public static BugChangeEvent updated(Long id) {
+        return new BugChangeEvent(Type.UPDATED, List.of(id));
+    }
+
+    public static BugChangeEvent updated(Collection<Long> ids) {
+        return new BugChangeEvent(Type.UPDATED, List.copyOf(ids));
+    }
+
+    /**
+     * For set-based updates whose rows are not known without a query; the feed asks clients to reload.
+     */
+    public static BugChangeEvent updatedUnknown() {
+        return new BugChangeEvent(Type.UPDATED, List.of());
+    }
+
+    public static BugChangeEvent deleted(Long id) {
+        return new BugChangeEvent(Type.DELETED, List.of(id));
+    }
+
+    public static BugChangeEvent deleted(Collection<Long> ids) {
+        return new BugChangeEvent(Type.DELETED, List.copyOf(ids));
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return The IDs of the changed bugs; empty if they are not known.
+     */
+    public List<Long> getBugIds() {
+        return bugIds;
+    }
+
+    @Override
+    public String toString() {
+        return "BugChangeEvent{" + type + " " + (bugIds.isEmpty() ? "unknown bugs" : bugIds) + "}";
+    }
+}
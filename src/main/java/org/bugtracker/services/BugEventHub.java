@@ -0,0 +1,370 @@
+package org.bugtracker.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.bugtracker.config.LiveFeedProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fans the bug changes out to the browsers subscribed to the live feed (server-sent events, see
+ * BugController#bugEvents), so open list, detail and home pages learn about changes without being reloaded
+ * over and over.
+ * <p>
+ * Changes are collected for {@code coalesce-window} after the first one and then sent as a single batch,
+ * encoded once for all clients; a bug changed many times in the window appears once. A burst of more than
+ * {@code max-changes-per-batch} bugs (an import, a bulk update) collapses into a batch that only asks the
+ * clients to reload. Every client has a buffer of {@code client-buffer-size} batches, written with non-blocking
+ * I/O (see {@link EventStream}) by whichever thread adds to it: no write ever waits for a slow network, so a
+ * stalled client cannot hold back the others. A client whose buffer overflows is too slow to keep up and is
+ * disconnected instead of holding the memory.
+ * <p>
+ * Every batch carries an ID, which the browser sends back as {@code Last-Event-ID} when it reconnects after
+ * being disconnected or timed out. A client that missed batches in between (or connects to a different
+ * instance) is told to reload right away, instead of silently losing them.
+ * <p>
+ * An idle client holds no thread: just its connection and an empty buffer, plus a heartbeat comment every
+ * {@code heartbeat-interval}, which also finds the connections that went away. Without any clients, changes
+ * are not even collected; only the batch number moves on, so a page that reconnects later still learns that
+ * it missed something.
+ */
+@Service
+@EnableConfigurationProperties(LiveFeedProperties.class)
+public class BugEventHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(BugEventHub.class);
+
+    /** Name of the server-sent events that carry a batch of changes. */
+    public static final String EVENT_NAME = "bugs";
+
+    /** Request header in which a reconnecting browser names the last batch it received. */
+    public static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final byte[] HEARTBEAT = ":heartbeat\n\n".getBytes(StandardCharsets.UTF_8);
+
+    /** One change in a batch as the clients see it. */
+    record Change(long id, BugChangeEvent.Type type) {
+    }
+
+    /** The data of one event; with {@code reload}, the changes were too many to list and are left out. */
+    record Batch(List<Change> changes, boolean reload) {
+    }
+
+    /** One subscribed browser. */
+    private static final class Client {
+
+        private final EventStream stream;
+        /** The encoded frames not written yet. */
+        private final BlockingQueue<byte[]> buffer;
+        /** Requests to drain the client not handled yet; only the thread that raises it from zero drains. */
+        private final AtomicInteger drainRequests = new AtomicInteger();
+        /** Whether frames were written since the last flush; only touched by the draining thread. */
+        private boolean unflushed;
+        private volatile boolean closed;
+
+        Client(EventStream stream, int bufferSize) {
+            this.stream = stream;
+            this.buffer = new ArrayBlockingQueue<>(Math.max(1, bufferSize));
+        }
+    }
+
+    private final LiveFeedProperties properties;
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler;
+
+    private final Object pendingLock = new Object();
+    // The changes of the current window, guarded by pendingLock
+    private Map<Long, BugChangeEvent.Type> pending = new LinkedHashMap<>();
+    private boolean pendingReload;
+    private boolean flushScheduled;
+
+    /** Tells the batch IDs of this instance apart from those of an earlier run or another instance. */
+    private final String instanceId = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final Object sendLock = new Object();
+    // The number of the last batch sent (or skipped for lack of clients), guarded by sendLock together with adding
+    // clients, so that a new client is told exactly which batches it will not get
+    private long lastBatch;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder droppedClients = new LongAdder();
+    private final LongAdder rejectedClients = new LongAdder();
+
+    public BugEventHub(LiveFeedProperties properties) {
+        this.properties = properties;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "live-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long heartbeat = properties.getHeartbeatInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::heartbeat, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Subscribes a new client to the feed: starts asynchronous processing of the request, whose response then
+     * streams the batches until the client goes away or {@code connection-timeout} has passed.
+     *
+     * @param request     The request of the client.
+     * @param response    Its response.
+     * @param lastEventId The {@code Last-Event-ID} header of a reconnecting browser, or null.
+     * @return Whether the client was subscribed; false if {@code max-clients} are connected already.
+     * @throws IOException if the response cannot be written.
+     */
+    public boolean subscribe(HttpServletRequest request, HttpServletResponse response, String lastEventId)
+            throws IOException {
+        if (clients.size() >= properties.getMaxClients()) {
+            rejectedClients.increment();
+            return false;
+        }
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(properties.getConnectionTimeout().toMillis());
+        register(new ServletEventStream(asyncContext), lastEventId);
+        return true;
+    }
+
+    void register(EventStream stream, String lastEventId) {
+        Client client = new Client(stream, properties.getClientBufferSize());
+        synchronized (sendLock) {
+            clients.add(client);
+            stream.start(() -> drain(client), () -> {
+                remove(client);
+                drain(client);
+            });
+            String current = batchId(lastBatch);
+            // The opening frame starts the stream in the browser right away, instead of with the first batch. It
+            // gives a new page the ID to reconnect with; a reconnecting one that missed batches gets a reload.
+            boolean missed = lastEventId != null && !lastEventId.equals(current);
+            offer(client, missed ? batchFrame(current, serialize(new Batch(List.of(), true))) : idFrame(current));
+        }
+    }
+
+    /**
+     * Collects a change for the next batch. Runs after the transaction of the change has committed; changes
+     * made outside a transaction are collected right away.
+     *
+     * @param event The change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBugChange(BugChangeEvent event) {
+        synchronized (sendLock) {
+            if (clients.isEmpty()) {
+                // Nobody to send it to, but the pages that went away must still be told to reload when they return
+                lastBatch++;
+                return;
+            }
+        }
+        boolean schedule;
+        synchronized (pendingLock) {
+            if (event.getBugIds().isEmpty()) {
+                pendingReload = true;
+            } else if (!pendingReload) {
+                event.getBugIds().forEach(id -> pending.merge(id, event.getType(), BugEventHub::coalesce));
+            }
+            if (pendingReload || pending.size() > properties.getMaxChangesPerBatch()) {
+                // The clients reload anyway, so there is no point in keeping track of the bugs
+                pendingReload = true;
+                pending.clear();
+            }
+            schedule = !flushScheduled;
+            flushScheduled = true;
+        }
+        if (schedule) {
+            try {
+                scheduler.schedule(this::flush, properties.getCoalesceWindow().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                logger.debug("Live feed is shut down, dropping {}", event);
+            }
+        }
+    }
+
+    /**
+     * Merges a later change of a bug in the same window into an earlier one.
+     */
+    static BugChangeEvent.Type coalesce(BugChangeEvent.Type earlier, BugChangeEvent.Type later) {
+        // A bug created in this window is still new to the clients, however often it was changed since
+        return earlier == BugChangeEvent.Type.CREATED && later == BugChangeEvent.Type.UPDATED ? earlier : later;
+    }
+
+    /**
+     * Sends the changes of the current window to every client as one batch.
+     */
+    void flush() {
+        Map<Long, BugChangeEvent.Type> changes;
+        boolean reload;
+        synchronized (pendingLock) {
+            changes = pending;
+            reload = pendingReload;
+            pending = new LinkedHashMap<>();
+            pendingReload = false;
+            flushScheduled = false;
+        }
+        if (changes.isEmpty() && !reload) {
+            return;
+        }
+        List<Change> listed = new ArrayList<>(changes.size());
+        changes.forEach((id, type) -> listed.add(new Change(id, type)));
+        String data = serialize(new Batch(listed, reload));
+        synchronized (sendLock) {
+            lastBatch++;
+            byte[] frame = batchFrame(batchId(lastBatch), data);
+            for (Client client : clients) {
+                offer(client, frame);
+            }
+        }
+        batches.increment();
+        logger.debug("Sent a batch of {} changes{} to {} live feed clients", listed.size(),
+                reload ? " (reload)" : "", clients.size());
+    }
+
+    private String batchId(long batch) {
+        return instanceId + "-" + batch;
+    }
+
+    /** A frame that only sets the browser's last event ID; no event is dispatched for it. */
+    private static byte[] idFrame(String id) {
+        return ("id:" + id + "\n\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] batchFrame(String id, String data) {
+        return ("id:" + id + "\nevent:" + EVENT_NAME + "\ndata:" + data + "\n\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String serialize(Batch batch) {
+        try {
+            return objectMapper.writeValueAsString(batch);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize a live feed batch", e);
+        }
+    }
+
+    private void heartbeat() {
+        for (Client client : clients) {
+            offer(client, HEARTBEAT);
+        }
+    }
+
+    private void offer(Client client, byte[] frame) {
+        if (client.closed) {
+            return;
+        }
+        if (!client.buffer.offer(frame)) {
+            // The client has not taken the last batches in; keeping them would let its backlog grow without bound.
+            // Its browser reconnects once the connection is closed and, as it missed batches, reloads.
+            droppedClients.increment();
+            logger.debug("Dropping a live feed client that is {} batches behind", client.buffer.size());
+            remove(client);
+        }
+        drain(client);
+    }
+
+    private void remove(Client client) {
+        clients.remove(client);
+        client.closed = true;
+    }
+
+    /**
+     * Writes the buffered frames of a client for as long as its connection takes them without blocking, on the
+     * calling thread: the one that offered a frame, or a container thread once the connection can take more.
+     * Callers arriving while another thread drains the client only make it look again, so the frames go out
+     * one at a time and in order, and nobody waits. A closed client's stream is ended here, for the same reason.
+     */
+    private void drain(Client client) {
+        if (client.drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        int requests = 1;
+        do {
+            try {
+                while (!client.closed && client.stream.isReady()) {
+                    byte[] frame = client.buffer.poll();
+                    if (frame != null) {
+                        client.stream.write(frame);
+                        client.unflushed = true;
+                    } else if (client.unflushed) {
+                        client.unflushed = false;
+                        client.stream.flush();
+                    } else {
+                        break;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The browser went away, or the request has already completed or timed out
+                remove(client);
+            }
+            if (client.closed) {
+                client.buffer.clear();
+                client.stream.close();
+            }
+            requests = client.drainRequests.addAndGet(-requests);
+        } while (requests != 0);
+    }
+
+    /**
+     * Ends every stream, so the browsers reconnect to the next instance, and stops the scheduler.
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        for (Client client : clients) {
+            remove(client);
+            drain(client);
+        }
+    }
+
+    /**
+     * @return The number of connected clients.
+     */
+    public int getClientCount() {
+        return clients.size();
+    }
+
+    /**
+     * @return The number of batches sent so far.
+     */
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * @return The number of clients disconnected because their buffer overflowed.
+     */
+    public long getDroppedClientCount() {
+        return droppedClients.sum();
+    }
+
+    /**
+     * @return The number of clients turned away because {@code max-clients} were connected.
+     */
+    public long getRejectedClientCount() {
+        return rejectedClients.sum();
+    }
+}
@@ -0,0 +1,66 @@
+package org.bugtracker.services;
+
+import org.bugtracker.util.BugImportFormat;
+import org.bugtracker.util.BugImportResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Command-line entry point of the bulk import. Does nothing unless the application is started with
+ * {@code --import-bugs}, e.g. to migrate a file without starting the web server:
+ * <pre>
+ *     java -jar bug-tracker.jar --spring.main.web-application-type=none --import-bugs=issues.csv
+ * </pre>
+ * The format follows from the file extension unless {@code --import-format=csv|ndjson} is given;
+ * files are read as UTF-8. The option may be repeated to import several files.
+ */
+@Component
+public class BugImportRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BugImportRunner.class);
+
+    static final String FILE_OPTION = "import-bugs";
+    static final String FORMAT_OPTION = "import-format";
+
+    private final BugImportService bugImportService;
+
+    public BugImportRunner(BugImportService bugImportService) {
+        this.bugImportService = bugImportService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!args.containsOption(FILE_OPTION)) {
+            return;
+        }
+        List<String> formats = args.getOptionValues(FORMAT_OPTION);
+        for (String file : args.getOptionValues(FILE_OPTION)) {
+            Path path = Path.of(file);
+            BugImportFormat format = formats == null || formats.isEmpty()
+                    ? BugImportFormat.fromFileName(path.getFileName().toString())
+                    : BugImportFormat.valueOf(formats.get(0).trim().toUpperCase(Locale.ROOT));
+
+            logger.info("Importing bugs from {} as {}", path, format);
+            BugImportResult result;
+            try (InputStream in = Files.newInputStream(path)) {
+                result = bugImportService.importBugs(in, StandardCharsets.UTF_8, format);
+            }
+            for (BugImportResult.RowError error : result.getErrors()) {
+                logger.warn("{}, line {}: {}", path, error.line(), error.message());
+            }
+            if (result.getRejected() > result.getErrors().size()) {
+                logger.warn("{}: {} more rejected rows not listed", path, result.getRejected() - result.getErrors().size());
+            }
+        }
+    }
+}
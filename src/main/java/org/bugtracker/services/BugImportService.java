@@ -0,0 +1,243 @@
+package org.bugtracker.services;
+
+import jakarta.persistence.EntityManager;
+import org.bugtracker.config.BugImportProperties;
+import org.bugtracker.entities.AssigneeDto;
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.entities.User;
+import org.bugtracker.problems.InvalidImportException;
+import org.bugtracker.repos.UserRepo;
+import org.bugtracker.util.BugImportFormat;
+import org.bugtracker.util.BugImportReader;
+import org.bugtracker.util.BugImportRecord;
+import org.bugtracker.util.BugImportResult;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports bugs in bulk from CSV or NDJSON (see {@link BugImportFormat}).
+ * <p>
+ * The input is read row by row and written in chunks of {@code bugtracker.import.chunk-size} rows, each in
+ * its own transaction: the assignees of a chunk are resolved by username in one query, the bugs are inserted
+ * in JDBC batches, and the persistence context is flushed and cleared afterwards. Memory use therefore stays
+ * flat however large the input is. Invalid rows are skipped and reported in the {@link BugImportResult};
+ * if writing a chunk fails, the chunks before it stay imported.
+ */
+@Service
+@EnableConfigurationProperties(BugImportProperties.class)
+public class BugImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BugImportService.class);
+
+    /** Collection role of the owning side of the assignment, whose join table is written directly. */
+    private static final String ASSIGNED_BUGS_ROLE = User.class.getName() + ".assignedBugs";
+
+    private static final String INSERT_ASSIGNMENT = "INSERT INTO user_assigned_bugs (user_id, bug_id) VALUES (?, ?)";
+
+    private static final int MAX_TITLE_LENGTH = 255;
+
+    private final EntityManager entityManager;
+    private final UserRepo userRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BugImportProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BugImportService(EntityManager entityManager, UserRepo userRepo, JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager, BugImportProperties properties,
+                            ApplicationEventPublisher eventPublisher) {
+        this.entityManager = entityManager;
+        this.userRepo = userRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /** A validated row waiting for its chunk to be written. */
+    private record PendingBug(long line, Bug bug, Set<String> assignees) {
+    }
+
+    /**
+     * Imports all rows of the given input.
+     *
+     * @param in      The input; it is read to the end and closed.
+     * @param charset The character set of the input.
+     * @param format  The layout of the input.
+     * @return How many rows were imported and which were rejected.
+     * @throws IOException            if the input cannot be read.
+     * @throws InvalidImportException if the input cannot be parsed at all (e.g. a CSV header lacks required columns).
+     */
+    public BugImportResult importBugs(InputStream in, Charset charset, BugImportFormat format)
+            throws IOException, InvalidImportException {
+        long start = System.nanoTime();
+        BugImportResult result = new BugImportResult(properties.getMaxReportedErrors());
+        int chunkSize = Math.max(1, properties.getChunkSize());
+
+        try (BugImportReader reader = BugImportReader.open(in, charset, format)) {
+            List<PendingBug> chunk = new ArrayList<>(chunkSize);
+            BugImportRecord row;
+            while ((row = reader.next()) != null) {
+                PendingBug pending = validate(row, result);
+                if (pending == null) {
+                    continue;
+                }
+                chunk.add(pending);
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, result);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, result);
+            }
+        }
+
+        result.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        logger.info("Imported {} bugs from {} ({} rows rejected) in {} ms",
+                result.getImported(), format, result.getRejected(), result.getElapsedMillis());
+        return result;
+    }
+
+    private static PendingBug validate(BugImportRecord row, BugImportResult result) {
+        if (row.problem() != null) {
+            result.addError(row.line(), row.problem());
+            return null;
+        }
+        String error = null;
+        Priority priority = parseEnum(Priority.class, row.priority());
+        Status status = row.status() == null ? Status.OPEN : parseEnum(Status.class, row.status());
+        if (row.title() == null) {
+            error = "Title is required";
+        } else if (row.title().length() > MAX_TITLE_LENGTH) {
+            error = "Title is longer than " + MAX_TITLE_LENGTH + " characters";
+        } else if (row.description() == null) {
+            error = "Description is required";
+        } else if (priority == null) {
+            error = row.priority() == null ? "Priority is required" : "Unknown priority: " + row.priority();
+        } else if (status == null) {
+            error = "Unknown status: " + row.status();
+        }
+        if (error != null) {
+            result.addError(row.line(), error);
+            return null;
+        }
+        Bug bug = new Bug(row.title(), row.description(), priority, status);
+        return new PendingBug(row.line(), bug, new LinkedHashSet<>(row.assignees()));
+    }
+
+    /**
+     * Parses an enum constant by name, ignoring case and accepting the display form ("In Progress").
+     *
+     * @return The constant, or null if there is none of that name.
+     */
+    static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        if (value == null) {
+            return null;
+        }
+        String name = value.trim().replace(' ', '_').replace('-', '_').toUpperCase(Locale.ROOT);
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equals(name)) {
+                return constant;
+            }
+        }
+        return null;
+    }
+
+    private void writeChunk(List<PendingBug> chunk, BugImportResult result) {
+        Set<Long> assignedUserIds = new HashSet<>();
+        // Only reported once the chunk has committed: a rolled-back chunk rejected no rows and imported none
+        List<BugImportResult.RowError> rejected = new ArrayList<>();
+        Integer imported = transactionTemplate.execute(status -> {
+            // Imported bugs would only push the frequently read entries out of the second-level cache
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+            Map<String, Long> userIds = resolveAssignees(chunk);
+
+            List<PendingBug> accepted = new ArrayList<>(chunk.size());
+            for (PendingBug pending : chunk) {
+                String unknown = pending.assignees().stream()
+                        .filter(username -> !userIds.containsKey(username))
+                        .findFirst().orElse(null);
+                if (unknown != null) {
+                    rejected.add(new BugImportResult.RowError(pending.line(), "Unknown assignee: " + unknown));
+                    continue;
+                }
+                entityManager.persist(pending.bug());
+                accepted.add(pending);
+            }
+            entityManager.flush(); // Sends the inserts in JDBC batches and makes the bug IDs usable below
+
+            // The join table is owned by User, and going through User.assignedBugs would load every
+            // assignee's whole collection; instead the rows are inserted in one batch.
+            List<Object[]> assignments = new ArrayList<>();
+            for (PendingBug pending : accepted) {
+                for (String username : pending.assignees()) {
+                    Long userId = userIds.get(username);
+                    assignments.add(new Object[]{userId, pending.bug().getId()});
+                    assignedUserIds.add(userId);
+                }
+            }
+            if (!assignments.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_ASSIGNMENT, assignments);
+            }
+            if (!accepted.isEmpty()) {
+                // Announced once the chunk has committed; the live feed collapses a large import into one reload
+                eventPublisher.publishEvent(BugChangeEvent.created(accepted.stream().map(p -> p.bug().getId()).toList()));
+            }
+            entityManager.clear();
+            return accepted.size();
+        });
+        rejected.forEach(error -> result.addError(error.line(), error.message()));
+        result.addImported(imported == null ? 0 : imported);
+        evictAssignedBugs(assignedUserIds);
+        logger.debug("Imported chunk of {} bugs ({} imported so far)", imported, result.getImported());
+    }
+
+    private Map<String, Long> resolveAssignees(List<PendingBug> chunk) {
+        Set<String> usernames = new HashSet<>();
+        chunk.forEach(pending -> usernames.addAll(pending.assignees()));
+        Map<String, Long> userIds = new HashMap<>();
+        if (!usernames.isEmpty()) {
+            for (AssigneeDto assignee : userRepo.findAssigneesByUsernameIn(usernames)) {
+                userIds.put(assignee.getUsername(), assignee.getId());
+            }
+        }
+        return userIds;
+    }
+
+    /**
+     * The join-table rows were written behind Hibernate's back, so the cached assignedBugs collections
+     * of the affected users no longer match the database.
+     */
+    private void evictAssignedBugs(Set<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        var cache = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        userIds.forEach(userId -> cache.evictCollectionData(ASSIGNED_BUGS_ROLE, userId));
+    }
+}
@@ -1,10 +1,20 @@
 package org.bugtracker.services;
 
 import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.BugSummaryDto;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.problems.ConcurrentUpdateException;
+import org.bugtracker.problems.InvalidCriteriaException;
 import org.bugtracker.problems.NotFoundException;
+import org.bugtracker.util.CriteriaDto;
+import org.bugtracker.util.KeysetPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Service interface for managing Bug entities.
  */
@@ -25,6 +35,26 @@ public interface BugService {
      */
     Bug createBug(Bug bug);
 
+    /**
+     * Creates a new bug and assigns users to it in one transaction, so a failing assignment leaves no bug behind.
+     * Unknown user IDs are ignored, as in {@link #assignUsers}.
+     *
+     * @param bug         The bug entity to create.
+     * @param assigneeIds The IDs of the users to assign (null or empty for none).
+     * @return The created bug entity, with a generated ID.
+     */
+    Bug createBug(Bug bug, Collection<Long> assigneeIds);
+
+    /**
+     * Creates many bugs in one transaction. The inserts are sent to the database in JDBC batches
+     * (see {@code hibernate.jdbc.batch_size}), so this is much faster than calling
+     * {@link #createBug(Bug)} once per bug.
+     *
+     * @param bugs The bug entities to create.
+     * @return The created bug entities, with generated IDs, in the given order.
+     */
+    List<Bug> createBugs(Collection<Bug> bugs);
+
     /**
      * Retrieves a bug by its ID.
      *
@@ -42,15 +72,140 @@ public interface BugService {
      */
     Page<Bug> getAllBugs(Pageable pageable);
 
+    /**
+     * Retrieves a paginated list of bug summaries for the list page.
+     * Only the displayed columns are read and no entities are managed, so this is much cheaper
+     * than {@link #getAllBugs(Pageable)} when the full entity is not needed.
+     *
+     * @param pageable The pagination information.
+     * @return A Page of bug summaries.
+     */
+    Page<BugSummaryDto> getBugSummaries(Pageable pageable);
+
+    /**
+     * Retrieves a slice of bug summaries using keyset (seek) pagination, newest first.
+     * The cost of a page does not depend on how deep it is, and no count query is issued.
+     *
+     * @param cursor An opaque cursor from a previous slice, or null for the first slice.
+     * @param size   The maximum number of bugs to return.
+     * @return The slice, with cursors to its neighbours.
+     * @throws InvalidCriteriaException if the cursor is malformed.
+     */
+    KeysetPage<BugSummaryDto> getBugsByCursor(String cursor, int size) throws InvalidCriteriaException;
+
+    /**
+     * Searches bug summaries matching all of the given criteria, a slice at a time with keyset (seek) pagination,
+     * newest first, like {@link #getBugsByCursor}. Only the summary columns are read and no count query is issued.
+     *
+     * @param criteria The search terms to combine (AND); with none, every bug matches.
+     * @param cursor   An opaque cursor from a previous slice of the same search, or null for the first slice.
+     * @param size     The maximum number of bugs to return.
+     * @return The slice, with cursors to its neighbours.
+     * @throws InvalidCriteriaException if the cursor is malformed or an exact status/priority value is not recognised.
+     */
+    KeysetPage<BugSummaryDto> searchBugsByCursor(List<CriteriaDto> criteria, String cursor, int size)
+            throws InvalidCriteriaException;
+
+    /**
+     * Searches bugs matching all of the given criteria in a single database query.
+     * Empty criteria are ignored; with no usable criteria this behaves like {@link #getAllBugs(Pageable)}.
+     *
+     * @param criteria The search terms to combine (AND).
+     * @param pageable The pagination information.
+     * @return A Page of matching bug entities.
+     * @throws InvalidCriteriaException if an exact status/priority value is not recognised.
+     */
+    Page<Bug> searchBugs(List<CriteriaDto> criteria, Pageable pageable) throws InvalidCriteriaException;
+
     /**
      * Updates an existing bug's information.
+     * If {@code bugDetails} carries a version, the update is only applied to that version of the bug.
      *
      * @param id         The ID of the bug to update.
      * @param bugDetails The bug entity with updated information.
      * @return The updated bug entity.
-     * @throws NotFoundException if the bug to update is not found.
+     * @throws NotFoundException         if the bug to update is not found.
+     * @throws ConcurrentUpdateException if the bug was changed since the given version was read.
+     */
+    Bug updateBug(Long id, Bug bugDetails) throws NotFoundException, ConcurrentUpdateException;
+
+    /**
+     * Updates an existing bug's information and replaces its assignees in one transaction, as the edit form
+     * does: either both changes are applied or neither is.
+     *
+     * @param id          The ID of the bug to update.
+     * @param bugDetails  The bug entity with updated information, optionally with the version it is based on.
+     * @param assigneeIds The IDs of the users that should be assigned (null or empty to unassign everyone).
+     * @return The updated bug entity.
+     * @throws NotFoundException         if the bug to update is not found.
+     * @throws ConcurrentUpdateException if the bug was changed since the given version was read.
+     */
+    Bug updateBug(Long id, Bug bugDetails, Collection<Long> assigneeIds) throws NotFoundException, ConcurrentUpdateException;
+
+    /**
+     * Changes the non-null title, description, priority and status of {@code changes}, without loading the bug:
+     * a single UPDATE statement that only matches the expected version.
+     *
+     * @param id              The ID of the bug to change.
+     * @param expectedVersion The version of the bug the change is based on.
+     * @param changes         The new values; null fields keep their current value.
+     * @return The new version of the bug.
+     * @throws NotFoundException         if the bug is not found.
+     * @throws ConcurrentUpdateException if the bug is no longer at {@code expectedVersion}.
+     */
+    long patchBug(Long id, long expectedVersion, Bug changes) throws NotFoundException, ConcurrentUpdateException;
+
+    /**
+     * Changes the non-null fields of {@code changes} and, if {@code assigneeIds} is given, replaces the assignees
+     * as well, in one transaction: either the whole change is applied or none of it. Without assignees this is
+     * {@link #patchBug(Long, long, Bug)}; with them, the bug is loaded and its version checked again by the
+     * UPDATE statement, so a change committed in between still fails.
+     *
+     * @param id              The ID of the bug to change.
+     * @param expectedVersion The version of the bug the change is based on, or null to change the current one.
+     * @param changes         The new values; null fields keep their current value.
+     * @param assigneeIds     The IDs of the users that should be assigned (empty to unassign everyone), or null
+     *                        to keep the current assignees.
+     * @return The new version of the bug.
+     * @throws NotFoundException         if the bug is not found.
+     * @throws ConcurrentUpdateException if the bug is no longer at {@code expectedVersion}.
+     */
+    long patchBug(Long id, Long expectedVersion, Bug changes, Collection<Long> assigneeIds)
+            throws NotFoundException, ConcurrentUpdateException;
+
+    /**
+     * Replaces the set of users assigned to a bug.
+     * Only the difference to the current assignment is written; unknown user IDs are ignored.
+     *
+     * @param id      The ID of the bug.
+     * @param userIds The IDs of the users that should be assigned (null or empty to unassign everyone).
+     * @throws NotFoundException if the bug is not found.
+     */
+    void assignUsers(Long id, Collection<Long> userIds) throws NotFoundException;
+
+    /**
+     * Sets the status and/or priority of the given bugs with set-based UPDATE statements (no bug is loaded)
+     * and stamps their update time. Unknown IDs are ignored.
+     *
+     * @param ids      The IDs of the bugs to update.
+     * @param status   The new status, or null to keep the current one.
+     * @param priority The new priority, or null to keep the current one.
+     * @return The number of updated bugs.
+     * @throws InvalidCriteriaException if neither a status nor a priority is given.
+     */
+    int bulkUpdateByIds(Collection<Long> ids, Status status, Priority priority) throws InvalidCriteriaException;
+
+    /**
+     * Sets the status and/or priority of all bugs matching the criteria (as in {@link #searchBugs}) with a single
+     * UPDATE statement, and stamps their update time.
+     *
+     * @param criteria The search terms to combine (AND); at least one must be non-empty.
+     * @param status   The new status, or null to keep the current one.
+     * @param priority The new priority, or null to keep the current one.
+     * @return The number of updated bugs.
+     * @throws InvalidCriteriaException if no criteria or no new values are given, or a criterion is invalid.
      */
-    Bug updateBug(Long id, Bug bugDetails) throws NotFoundException;
+    int bulkUpdateByCriteria(List<CriteriaDto> criteria, Status status, Priority priority) throws InvalidCriteriaException;
 
     /**
      * Deletes a bug by its ID.
@@ -1,46 +1,112 @@
 package org.bugtracker.services;
 
+import io.micrometer.core.annotation.Timed;
+import org.bugtracker.config.MetricsConfig;
 import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.BugSummaryDto;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.entities.User;
+import org.bugtracker.problems.ConcurrentUpdateException;
+import org.bugtracker.problems.InvalidCriteriaException;
 import org.bugtracker.problems.NotFoundException;
 import org.bugtracker.repos.BugRepo; // Corrected from BugRepository to BugRepo
+import org.bugtracker.repos.BugSpecifications;
+import org.bugtracker.repos.UserRepo;
+import org.bugtracker.util.BugCursor;
+import org.bugtracker.util.CriteriaDto;
+import org.bugtracker.util.KeysetPage;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
- * Implementation of the BugService interface.
+ * Implementation of the BugService interface. Every method is timed as {@code bugtracker.service} (see MetricsConfig).
+ * Every change is published as a {@link BugChangeEvent}, for the live feed of {@link BugEventHub}.
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class BugServiceImpl implements BugService { // Removed 'abstract' keyword
 
+    /** Upper bound for keyset page sizes, so a client cannot request the whole table at once. */
+    static final int MAX_KEYSET_PAGE_SIZE = 100;
+
+    /** IDs per bulk UPDATE, to stay within the IN-list limits of common databases. */
+    static final int BULK_UPDATE_CHUNK_SIZE = 1000;
+
     private final BugRepo bugRepo; // Corrected from BugRepository to BugRepo
+    private final UserRepo userRepo;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public BugServiceImpl(BugRepo bugRepo) { // Corrected from BugRepository to BugRepo
+    public BugServiceImpl(BugRepo bugRepo, UserRepo userRepo, ApplicationEventPublisher eventPublisher) { // Corrected from BugRepository to BugRepo
         this.bugRepo = bugRepo;
+        this.userRepo = userRepo;
+        this.eventPublisher = eventPublisher;
     }
 
     // Renamed to match the interface method 'save' (lowercase 's')
     @Override
     @Transactional
     public Bug save(Bug bug){
-        return bugRepo.save(bug);
+        boolean created = bug.getId() == null;
+        Bug saved = bugRepo.save(bug);
+        eventPublisher.publishEvent(created ? BugChangeEvent.created(saved.getId()) : BugChangeEvent.updated(saved.getId()));
+        return saved;
     }
 
     @Override
     @Transactional
     public Bug createBug(Bug bug) {
         // Timestamps are handled by @PrePersist in the Bug entity
-        return bugRepo.save(bug);
+        Bug created = bugRepo.save(bug);
+        eventPublisher.publishEvent(BugChangeEvent.created(created.getId()));
+        return created;
+    }
+
+    @Override
+    @Transactional
+    public Bug createBug(Bug bug, Collection<Long> assigneeIds) {
+        Bug created = bugRepo.save(bug);
+        reassign(created, assigneeIds);
+        eventPublisher.publishEvent(BugChangeEvent.created(created.getId()));
+        return created;
+    }
+
+    @Override
+    @Transactional
+    public List<Bug> createBugs(Collection<Bug> bugs) {
+        List<Bug> created = bugRepo.saveAll(bugs);
+        if (!created.isEmpty()) {
+            eventPublisher.publishEvent(BugChangeEvent.created(created.stream().map(Bug::getId).toList()));
+        }
+        return created;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Bug getBugById(Long id) throws NotFoundException {
-        return bugRepo.findById(id)
+        // Views of a single bug always show their assignees. Bug, assignee IDs and users all come from the
+        // second-level cache when warm; on a miss the collection is loaded with a single join.
+        Bug bug = bugRepo.findById(id)
                 .orElseThrow(() -> new NotFoundException("Bug not found with id: " + id));
+        Hibernate.initialize(bug.getAssignedUsers());
+        return bug;
     }
 
     @Override
@@ -49,30 +115,267 @@ public class BugServiceImpl implements BugService { // Removed 'abstract' keywor
         return bugRepo.findAll(pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BugSummaryDto> getBugSummaries(Pageable pageable) {
+        return bugRepo.findAllSummaries(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<BugSummaryDto> getBugsByCursor(String cursor, int size) {
+        return keysetPage(cursor, size, (position, limit) -> {
+            if (position == null) {
+                return bugRepo.findNewestSummaries(limit);
+            }
+            return position.getDirection() == BugCursor.Direction.NEXT
+                    ? bugRepo.findSummariesBefore(position.getId(), limit)
+                    : bugRepo.findSummariesAfter(position.getId(), limit);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<BugSummaryDto> searchBugsByCursor(List<CriteriaDto> criteria, String cursor, int size) {
+        Specification<Bug> spec = BugSpecifications.fromCriteria(criteria);
+        return keysetPage(cursor, size, (position, limit) -> bugRepo.findSummaries(spec, position, limit.getPageSize()));
+    }
+
+    /**
+     * Reads the summaries at a keyset position: the newest ones for a null position, else those after (NEXT,
+     * id descending) or before (PREVIOUS, id <em>ascending</em>) its boundary in display order.
+     */
+    @FunctionalInterface
+    private interface SummarySeek {
+        List<BugSummaryDto> find(BugCursor position, Pageable limit);
+    }
+
+    private static KeysetPage<BugSummaryDto> keysetPage(String cursor, int size, SummarySeek seek) {
+        int pageSize = Math.max(1, Math.min(size, MAX_KEYSET_PAGE_SIZE));
+        // Fetch one extra row to find out whether there is anything beyond this slice.
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        if (cursor == null || cursor.isBlank()) {
+            List<BugSummaryDto> rows = seek.find(null, limit);
+            boolean hasMore = rows.size() > pageSize;
+            List<BugSummaryDto> content = hasMore ? rows.subList(0, pageSize) : rows;
+            return new KeysetPage<>(content, pageSize, hasMore ? nextCursor(content) : null, null);
+        }
+
+        BugCursor position = BugCursor.decode(cursor);
+        List<BugSummaryDto> rows = seek.find(position, limit);
+        boolean hasMore = rows.size() > pageSize;
+        if (position.getDirection() == BugCursor.Direction.NEXT) {
+            List<BugSummaryDto> content = hasMore ? rows.subList(0, pageSize) : rows;
+            // We got here by moving forward, so there is always something before this slice.
+            String previous = content.isEmpty() ? null : BugCursor.previous(content.get(0).getId()).encode();
+            return new KeysetPage<>(content, pageSize, hasMore ? nextCursor(content) : null, previous);
+        }
+
+        List<BugSummaryDto> content = new ArrayList<>(hasMore ? rows.subList(0, pageSize) : rows);
+        Collections.reverse(content); // Back to display order (id descending)
+        String previous = hasMore ? BugCursor.previous(content.get(0).getId()).encode() : null;
+        return new KeysetPage<>(content, pageSize, content.isEmpty() ? null : nextCursor(content), previous);
+    }
+
+    private static String nextCursor(List<BugSummaryDto> content) {
+        return BugCursor.next(content.get(content.size() - 1).getId()).encode();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Bug> searchBugs(List<CriteriaDto> criteria, Pageable pageable) {
+        return bugRepo.findAll(BugSpecifications.fromCriteria(criteria), pageable);
+    }
+
     @Override
     @Transactional
     public Bug updateBug(Long id, Bug bugDetails) throws NotFoundException {
         // Fetch the existing bug using the ID from the path to ensure correctness
         Bug existingBug = bugRepo.findById(id)
                 .orElseThrow(() -> new NotFoundException("Cannot update. Bug not found with id: " + id));
+        applyDetails(existingBug, bugDetails);
+
+        // The updatedAt timestamp is handled by @PreUpdate in the Bug entity
+        Bug updated = bugRepo.save(existingBug);
+        eventPublisher.publishEvent(BugChangeEvent.updated(id));
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public Bug updateBug(Long id, Bug bugDetails, Collection<Long> assigneeIds) throws NotFoundException {
+        Bug existingBug = bugRepo.findWithAssignedUsersById(id)
+                .orElseThrow(() -> new NotFoundException("Cannot update. Bug not found with id: " + id));
+        applyDetails(existingBug, bugDetails);
+        if (reassign(existingBug, assigneeIds)) {
+            // Bumps the version even if only the assignees changed
+            existingBug.setUpdatedAt(LocalDateTime.now());
+        }
+        Bug updated = bugRepo.save(existingBug);
+        eventPublisher.publishEvent(BugChangeEvent.updated(id));
+        return updated;
+    }
+
+    /**
+     * Copies the editable fields of {@code bugDetails} to the managed {@code existingBug}, after checking the
+     * version {@code bugDetails} is based on, if any.
+     */
+    private static void applyDetails(Bug existingBug, Bug bugDetails) {
+        // A form or client that read an older version would overwrite someone else's change
+        if (bugDetails.getVersion() != null && !bugDetails.getVersion().equals(existingBug.getVersion())) {
+            throw new ConcurrentUpdateException("Cannot update. Bug " + existingBug.getId() + " was changed by someone else");
+        }
 
         // Apply updates from the 'bugDetails' DTO to the managed 'existingBug' entity
         existingBug.setTitle(bugDetails.getTitle());
         existingBug.setDescription(bugDetails.getDescription());
         existingBug.setPriority(bugDetails.getPriority());
         existingBug.setStatus(bugDetails.getStatus());
+    }
 
-        // The updatedAt timestamp is handled by @PreUpdate in the Bug entity
-        return bugRepo.save(existingBug);
+    @Override
+    @Transactional
+    public void assignUsers(Long id, Collection<Long> userIds) throws NotFoundException {
+        Bug bug = bugRepo.findWithAssignedUsersById(id)
+                .orElseThrow(() -> new NotFoundException("Cannot assign users. Bug not found with id: " + id));
+        if (reassign(bug, userIds)) {
+            // The bug row itself is untouched otherwise; bump its version so stale edits and ETags notice
+            bug.setUpdatedAt(LocalDateTime.now());
+            eventPublisher.publishEvent(BugChangeEvent.updated(id));
+        }
+    }
+
+    /**
+     * Replaces the assignees of a bug loaded with them, writing only the difference; unknown user IDs are ignored.
+     *
+     * @return Whether the assignment changed.
+     */
+    private boolean reassign(Bug bug, Collection<Long> userIds) {
+        Set<Long> wanted = userIds == null ? new HashSet<>() : new HashSet<>(userIds);
+
+        // The User side owns the join table, so go through the helpers that update both sides
+        boolean changed = false;
+        for (User assigned : new ArrayList<>(bug.getAssignedUsers())) {
+            if (!wanted.remove(assigned.getId())) {
+                bug.unassignUser(assigned);
+                changed = true;
+            }
+        }
+        if (!wanted.isEmpty()) {
+            for (User user : userRepo.findAllById(wanted)) {
+                bug.assignUser(user);
+                changed = true;
+            }
+        }
+        return changed;
     }
 
     @Override
     @Transactional
-    public void deleteBug(Long id) throws NotFoundException {
+    public long patchBug(Long id, long expectedVersion, Bug changes) {
+        if (bugRepo.updateIfVersion(id, expectedVersion, changes) == 1) {
+            eventPublisher.publishEvent(BugChangeEvent.updated(id));
+            return expectedVersion + 1;
+        }
         if (!bugRepo.existsById(id)) {
-            throw new NotFoundException("Cannot delete. Bug not found with id: " + id);
+            throw new NotFoundException("Cannot update. Bug not found with id: " + id);
+        }
+        throw new ConcurrentUpdateException("Cannot update. Bug " + id + " is no longer at version " + expectedVersion);
+    }
+
+    @Override
+    @Transactional
+    public long patchBug(Long id, Long expectedVersion, Bug changes, Collection<Long> assigneeIds) {
+        if (assigneeIds == null) {
+            long version = expectedVersion != null ? expectedVersion : bugRepo.findById(id)
+                    .orElseThrow(() -> new NotFoundException("Cannot update. Bug not found with id: " + id))
+                    .getVersion();
+            return patchBug(id, version, changes);
+        }
+
+        Bug bug = bugRepo.findWithAssignedUsersById(id)
+                .orElseThrow(() -> new NotFoundException("Cannot update. Bug not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(bug.getVersion())) {
+            throw new ConcurrentUpdateException("Cannot update. Bug " + id + " is no longer at version " + expectedVersion);
+        }
+        if (changes.getTitle() != null) {
+            bug.setTitle(changes.getTitle());
+        }
+        if (changes.getDescription() != null) {
+            bug.setDescription(changes.getDescription());
+        }
+        if (changes.getPriority() != null) {
+            bug.setPriority(changes.getPriority());
+        }
+        if (changes.getStatus() != null) {
+            bug.setStatus(changes.getStatus());
+        }
+        if (reassign(bug, assigneeIds)) {
+            bug.setUpdatedAt(LocalDateTime.now()); // Bumps the version even if only the assignees changed
+        }
+        try {
+            // The UPDATE matches the version read above; a change committed since then makes it fail
+            bugRepo.flush();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new ConcurrentUpdateException("Cannot update. Bug " + id + " was changed by someone else");
+        }
+        eventPublisher.publishEvent(BugChangeEvent.updated(id));
+        return bug.getVersion();
+    }
+
+    @Override
+    @Transactional
+    public int bulkUpdateByIds(Collection<Long> ids, Status status, Priority priority) {
+        requireBulkValues(status, priority);
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        List<Long> distinctIds = new ArrayList<>(new HashSet<>(ids));
+        int updated = 0;
+        for (int from = 0; from < distinctIds.size(); from += BULK_UPDATE_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + BULK_UPDATE_CHUNK_SIZE, distinctIds.size()));
+            updated += bugRepo.updateStatusAndPriorityByIdIn(chunk, status, priority);
+        }
+        if (updated > 0) {
+            eventPublisher.publishEvent(BugChangeEvent.updated(distinctIds));
+        }
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public int bulkUpdateByCriteria(List<CriteriaDto> criteria, Status status, Priority priority) {
+        requireBulkValues(status, priority);
+        if (criteria == null || criteria.stream().allMatch(criterion -> criterion == null || criterion.isEmpty())) {
+            // An empty filter would silently update every bug
+            throw new InvalidCriteriaException("criteria", "bulk.error.no_criteria");
+        }
+        int updated = bugRepo.updateStatusAndPriority(BugSpecifications.fromCriteria(criteria), status, priority);
+        if (updated > 0) {
+            eventPublisher.publishEvent(BugChangeEvent.updatedUnknown());
+        }
+        return updated;
+    }
+
+    private static void requireBulkValues(Status status, Priority priority) {
+        if (status == null && priority == null) {
+            throw new InvalidCriteriaException("status", "bulk.error.nothing_to_update");
+        }
+    }
+
+    @Override
+    @Transactional
+    public void deleteBug(Long id) throws NotFoundException {
+        Bug bug = bugRepo.findWithAssignedUsersById(id)
+                .orElseThrow(() -> new NotFoundException("Cannot delete. Bug not found with id: " + id));
+        // Detach the assignees first: this deletes the join-table rows (owned by User) and evicts the
+        // cached assignedBugs collections of those users, which would otherwise still list this bug.
+        for (User assigned : new ArrayList<>(bug.getAssignedUsers())) {
+            bug.unassignUser(assigned);
         }
-        bugRepo.deleteById(id);
+        bugRepo.delete(bug);
+        eventPublisher.publishEvent(BugChangeEvent.deleted(id));
     }
 
     @Override
@@ -0,0 +1,147 @@
+package org.bugtracker.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.bugtracker.config.CacheConfig;
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.User;
+import org.bugtracker.util.BulkDeleteResult;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.CacheManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Purges bugs or users in bulk, for clean-ups of thousands of rows where {@link BugService#deleteBug} and
+ * {@link UserService#deleteUser} would load every entity and its assignments first.
+ * <p>
+ * The IDs are deleted in chunks of {@value #CHUNK_SIZE}, each in its own transaction: the chunk's rows in
+ * {@code user_assigned_bugs} and then the bugs or users themselves are removed by two set-based DELETE
+ * statements, sent together as one JDBC batch. No entity is loaded. Since the statements bypass Hibernate,
+ * the affected second-level cache entries are evicted after every chunk, and deleted bugs are announced to
+ * the live feed (see {@link BugEventHub}). If a chunk fails, the chunks before it stay deleted.
+ */
+@Service
+public class BulkDeleteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkDeleteService.class);
+
+    /** IDs per chunk, to stay within the IN-list limits of common databases and keep transactions short. */
+    static final int CHUNK_SIZE = 1000;
+
+    private static final String ASSIGNED_BUGS_ROLE = User.class.getName() + ".assignedBugs";
+    private static final String ASSIGNED_USERS_ROLE = Bug.class.getName() + ".assignedUsers";
+
+    /**
+     * Receives the progress of a bulk delete after every chunk.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        /**
+         * @param processed The number of IDs processed so far.
+         * @param total     The number of distinct IDs to process.
+         * @param deleted   The number of rows deleted so far.
+         */
+        void chunkDeleted(int processed, int total, long deleted);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache secondLevelCache;
+    private final CacheManager jcacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BulkDeleteService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             EntityManagerFactory entityManagerFactory, CacheManager jcacheManager,
+                             ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.jcacheManager = jcacheManager;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Deletes the given bugs and their assignments. Unknown IDs are ignored.
+     *
+     * @param ids      The IDs of the bugs to delete.
+     * @param progress Notified after every chunk; may be null.
+     * @return How many bugs and assignments were deleted.
+     */
+    public BulkDeleteResult deleteBugs(Collection<Long> ids, ProgressListener progress) {
+        return delete("bugs", ids, progress, "bug_id", "bug", chunk -> {
+            chunk.forEach(id -> {
+                secondLevelCache.evictEntityData(Bug.class, id);
+                secondLevelCache.evictCollectionData(ASSIGNED_USERS_ROLE, id);
+            });
+            // Which users had these bugs is not known without a query; their collections are rebuilt on demand
+            secondLevelCache.evictCollectionData(ASSIGNED_BUGS_ROLE);
+            eventPublisher.publishEvent(BugChangeEvent.deleted(chunk));
+        });
+    }
+
+    /**
+     * Deletes the given users and their assignments; the bugs assigned to them are kept. Unknown IDs are
+     * ignored. Deleted users can no longer log in, even if their credentials were cached.
+     *
+     * @param ids      The IDs of the users to delete.
+     * @param progress Notified after every chunk; may be null.
+     * @return How many users and assignments were deleted.
+     */
+    public BulkDeleteResult deleteUsers(Collection<Long> ids, ProgressListener progress) {
+        return delete("users", ids, progress, "user_id", "app_user", chunk -> {
+            chunk.forEach(id -> {
+                secondLevelCache.evictEntityData(User.class, id);
+                secondLevelCache.evictCollectionData(ASSIGNED_BUGS_ROLE, id);
+            });
+            secondLevelCache.evictCollectionData(ASSIGNED_USERS_ROLE);
+            // The usernames are not known either; dropping all cached logins is cheaper than looking them up
+            jcacheManager.getCache(CacheConfig.USER_DETAILS_CACHE).clear();
+        });
+    }
+
+    private BulkDeleteResult delete(String what, Collection<Long> ids, ProgressListener progress,
+                                    String assignmentColumn, String table, Consumer<List<Long>> evictChunk) {
+        long start = System.nanoTime();
+        List<Long> distinctIds = ids == null ? List.of()
+                : new ArrayList<>(ids.stream().filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new)));
+        BulkDeleteResult result = new BulkDeleteResult(distinctIds.size());
+
+        for (int from = 0; from < distinctIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + CHUNK_SIZE, distinctIds.size()));
+            // The IDs are Longs, so inlining them is safe; it lets both statements go out in a single batch
+            String idList = chunk.stream().map(String::valueOf).collect(Collectors.joining(","));
+            int[] counts = Objects.requireNonNull(transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(
+                    "DELETE FROM user_assigned_bugs WHERE " + assignmentColumn + " IN (" + idList + ")",
+                    "DELETE FROM " + table + " WHERE id IN (" + idList + ")")));
+            evictChunk.accept(chunk);
+            secondLevelCache.evictQueryRegions(); // Cached query results may still name deleted rows
+
+            result.addDeleted(Math.max(0, counts[1]), Math.max(0, counts[0])); // Negative if the driver has no count
+            int processed = from + chunk.size();
+            logger.debug("Deleted {} of {} {} ({} rows so far)", processed, distinctIds.size(), what, result.getDeleted());
+            if (progress != null) {
+                progress.chunkDeleted(processed, distinctIds.size(), result.getDeleted());
+            }
+        }
+        result.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        logger.info("Deleted {} of {} requested {} and {} assignments in {} ms", result.getDeleted(),
+                result.getRequested(), what, result.getAssignmentsDeleted(), result.getElapsedMillis());
+        return result;
+    }
+}
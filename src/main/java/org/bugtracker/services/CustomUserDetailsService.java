@@ -4,11 +4,11 @@ import org.bugtracker.entities.User;
 import org.bugtracker.repos.UserRepo;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -17,14 +17,17 @@ import java.util.Collections;
  * This service acts as the bridge between Spring Security and the application's user data.
  * It's responsible for loading a user's details by their username. Spring Security will
  * automatically detect and use this bean for authentication.
+ * Loaded details are kept in a {@link UserCache}; UserServiceImpl evicts users it changes or deletes.
  */
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepo userRepository;
+    private final UserCache userCache;
 
-    public CustomUserDetailsService(UserRepo userRepository) {
+    public CustomUserDetailsService(UserRepo userRepository, UserCache userCache) {
         this.userRepository = userRepository;
+        this.userCache = userCache;
     }
 
     /**
@@ -35,19 +38,27 @@ public class CustomUserDetailsService implements UserDetailsService {
      * @throws UsernameNotFoundException if the user could not be found.
      */
     @Override
-    @Transactional(readOnly = true)
+    // Not @Transactional: a cache hit must not open a transaction (and borrow a connection) at all.
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetails cached = userCache.getUserFromCache(username);
+        if (cached != null) {
+            return cached;
+        }
+
         // Find the user from the database using the repository
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() ->
                         new UsernameNotFoundException("User not found with username: " + username));
 
         // Convert our User entity into a Spring Security UserDetails object
-        return new org.springframework.security.core.userdetails.User(
+        UserDetails userDetails = new org.springframework.security.core.userdetails.User(
                 user.getUsername(),
                 user.getPassword(),
                 getAuthorities(user)
         );
+        // Unknown usernames are not cached, so a new user can log in right after registering.
+        userCache.putUserInCache(userDetails);
+        return userDetails;
     }
 
     /**
@@ -0,0 +1,308 @@
+package org.bugtracker.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.bugtracker.config.DatasetProperties;
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.entities.User;
+import org.bugtracker.util.DatasetGenerationResult;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills the database with a synthetic dataset of users, bugs and assignments for performance tests, at sizes
+ * the demo data of the dev profile cannot show (see {@link DatasetProperties}).
+ * <p>
+ * The rows are written with batched JDBC inserts in chunks of {@code bugtracker.dataset.batch-size}, each in
+ * its own transaction, without entities or a persistence context. Statuses and priorities follow a typical
+ * tracker (most bugs closed, few critical), descriptions vary from a paragraph to several pages, and the
+ * assignees are drawn from a Zipf distribution, so a few users hold most of the bugs. Every choice comes from
+ * one seeded random generator: the same settings on the same empty database produce the same rows and IDs.
+ * <p>
+ * The IDs are taken from the entities' sequences, which are moved past the generated rows, so Hibernate keeps
+ * allocating IDs that do not collide with them. Since that is not atomic with respect to concurrent inserts,
+ * generate the dataset before the application takes traffic (see {@link DatasetGeneratorRunner}).
+ */
+@Service
+@EnableConfigurationProperties(DatasetProperties.class)
+public class DatasetGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    /** The generated history ends here rather than now, so runs on different days produce the same rows. */
+    static final LocalDateTime HISTORY_END = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static final String INSERT_USER = "INSERT INTO app_user "
+            + "(id, username, password, first_name, last_name, email, is_admin, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_BUG = "INSERT INTO bug "
+            + "(id, title, description, created_at, updated_at, version, priority, status) "
+            + "VALUES (?, ?, ?, ?, ?, 0, ?, ?)";
+    private static final String INSERT_ASSIGNMENT = "INSERT INTO user_assigned_bugs (user_id, bug_id) VALUES (?, ?)";
+
+    private static final Status[] STATUSES = {Status.OPEN, Status.IN_PROGRESS, Status.RESOLVED, Status.CLOSED, Status.REOPENED};
+    private static final int[] STATUS_WEIGHTS = {25, 12, 18, 40, 5};
+    private static final Priority[] PRIORITIES = {Priority.LOW, Priority.MEDIUM, Priority.HIGH, Priority.CRITICAL};
+    private static final int[] PRIORITY_WEIGHTS = {30, 45, 20, 5};
+    /** Weight of a bug having 0, 1, 2, ... assignees. */
+    private static final int[] ASSIGNEE_COUNT_WEIGHTS = {20, 55, 15, 6, 3, 1};
+    /** One user in this many is an admin. */
+    private static final int ADMIN_RATIO = 500;
+
+    private static final String[] FIRST_NAMES = {"Ada", "Ben", "Carla", "Dmitri", "Elena", "Farid", "Grace", "Hiro",
+            "Ines", "Jonas", "Kofi", "Lena", "Mateo", "Nora", "Omar", "Priya", "Quinn", "Rosa", "Sven", "Tariq",
+            "Uma", "Victor", "Wen", "Ximena", "Yusuf", "Zoe"};
+    private static final String[] LAST_NAMES = {"Anders", "Baker", "Costa", "Dubois", "Eriksen", "Fischer", "Garcia",
+            "Hughes", "Ivanova", "Jensen", "Kowalski", "Lopez", "Moreau", "Nakamura", "Okafor", "Petrov", "Quint",
+            "Rossi", "Schmidt", "Tanaka", "Usman", "Virtanen", "Weber", "Xu", "Yilmaz", "Zimmermann"};
+    private static final String[] COMPONENTS = {"Login", "Dashboard", "Search", "Export", "Import", "Notifications",
+            "User profile", "Bug list", "Bug detail", "Settings", "Reports", "API", "Attachments", "Comments",
+            "Permissions"};
+    private static final String[] SYMPTOMS = {"crashes", "hangs", "shows stale data", "returns a server error",
+            "loses the input", "is very slow", "renders incorrectly", "ignores the filter", "shows the wrong user",
+            "sends duplicate emails", "times out", "logs an exception", "breaks the layout", "rejects valid input"};
+    private static final String[] CONTEXTS = {"on mobile", "after logging in again", "with many results",
+            "in Firefox", "for admin users", "after a deploy", "with non-ASCII names", "on the second page",
+            "when the session expires", "under load", "with an empty database", "in dark mode"};
+    private static final String[] SENTENCES = {
+            "Steps to reproduce: open the page, apply the filter and reload.",
+            "The problem started after the last release and happens on every second attempt.",
+            "Expected the page to show the updated values; it still shows the old ones.",
+            "The browser console shows no errors, but the request takes more than ten seconds.",
+            "Several customers reported this independently through the support desk.",
+            "It does not happen on the staging environment with the same data.",
+            "A workaround is to clear the cache and log in again, which users find confusing.",
+            "The server log contains a stack trace that points at the persistence layer.",
+            "Attaching the screenshot and the HAR file of the failing request.",
+            "This blocks the monthly report for the finance team.",
+            "Could be related to the timezone handling, since it only happens after midnight UTC.",
+            "Retrying immediately usually succeeds, so it looks like a race condition.",
+            "The same steps work for users with fewer than a hundred assigned bugs.",
+            "Priority may need to go up if this affects the upcoming release."};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final Cache secondLevelCache;
+    private final DatasetProperties properties;
+
+    public DatasetGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            PasswordEncoder passwordEncoder, EntityManagerFactory entityManagerFactory,
+                            DatasetProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        this.properties = properties;
+    }
+
+    /**
+     * Generates the dataset configured by {@code bugtracker.dataset.*}.
+     */
+    public DatasetGenerationResult generate() {
+        return generate(properties);
+    }
+
+    /**
+     * Generates a dataset of the given size and shape, in addition to the rows already in the database.
+     *
+     * @return The number of rows written and the first IDs of the users and bugs.
+     */
+    public DatasetGenerationResult generate(DatasetProperties spec) {
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(spec.getSeed());
+        SplittableRandom userRandom = random.split();
+        SplittableRandom bugRandom = random.split();
+
+        long firstUserId = reserveIds("app_user_seq", spec.getUsers(), User.ID_ALLOCATION_SIZE);
+        long firstBugId = reserveIds("bug_seq", spec.getBugs(), Bug.ID_ALLOCATION_SIZE);
+        DatasetGenerationResult result = new DatasetGenerationResult(firstUserId, spec.getUsers(), firstBugId, spec.getBugs());
+
+        insertUsers(spec, userRandom, firstUserId);
+        insertBugs(spec, bugRandom, firstUserId, firstBugId, result);
+        // The rows bypassed Hibernate; cached queries (counts, pages) no longer match the tables
+        secondLevelCache.evictAllRegions();
+
+        result.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        logger.info("Generated {} users, {} bugs and {} assignments (seed {}) in {} ms", result.getUsers(),
+                result.getBugs(), result.getAssignments(), spec.getSeed(), result.getElapsedMillis());
+        return result;
+    }
+
+    /**
+     * Takes {@code count} consecutive IDs from a pooled sequence and moves the sequence past them. Hibernate only
+     * hands out IDs up to the last value it fetched, so the next value is free; after the restart, its next
+     * block of {@code allocationSize} IDs starts right after the reserved ones.
+     */
+    private long reserveIds(String sequence, int count, int allocationSize) {
+        long first = Objects.requireNonNull(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + sequence, Long.class));
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (first + count + allocationSize));
+        return first;
+    }
+
+    private void insertUsers(DatasetProperties spec, SplittableRandom random, long firstUserId) {
+        // One hash for everyone: at the calibrated BCrypt strength, hashing per user would take hours
+        String passwordHash = passwordEncoder.encode(spec.getPassword());
+        LocalDateTime historyStart = HISTORY_END.minus(spec.getHistory());
+        long historySeconds = spec.getHistory().toSeconds();
+
+        List<Object[]> rows = new ArrayList<>(spec.getBatchSize());
+        for (int i = 0; i < spec.getUsers(); i++) {
+            String username = String.format("%s%06d", spec.getUsernamePrefix(), i + 1);
+            LocalDateTime createdAt = historyStart.plusSeconds(random.nextLong(historySeconds));
+            LocalDateTime updatedAt = createdAt.plusSeconds(random.nextLong(Duration.between(createdAt, HISTORY_END).toSeconds() + 1));
+            rows.add(new Object[]{firstUserId + i, username, passwordHash,
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)], LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                    username + "@example.com", random.nextInt(ADMIN_RATIO) == 0, createdAt, updatedAt});
+            if (rows.size() == spec.getBatchSize() || i == spec.getUsers() - 1) {
+                List<Object[]> chunk = rows;
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_USER, chunk));
+                logger.debug("Generated {} of {} users", i + 1, spec.getUsers());
+                rows = new ArrayList<>(spec.getBatchSize());
+            }
+        }
+    }
+
+    private void insertBugs(DatasetProperties spec, SplittableRandom random, long firstUserId, long firstBugId,
+                            DatasetGenerationResult result) {
+        LocalDateTime historyStart = HISTORY_END.minus(spec.getHistory());
+        long historySeconds = spec.getHistory().toSeconds();
+        ZipfSampler assignees = spec.getUsers() == 0 ? null
+                : new ZipfSampler(spec.getUsers(), spec.getAssignmentSkew(), random.split());
+
+        List<Object[]> rows = new ArrayList<>(spec.getBatchSize());
+        List<Object[]> assignments = new ArrayList<>(spec.getBatchSize() * 2);
+        for (int i = 0; i < spec.getBugs(); i++) {
+            long id = firstBugId + i;
+            // Creation dates grow with the ID, as in a table filled over time
+            LocalDateTime createdAt = historyStart.plusSeconds(
+                    (long) (historySeconds * ((i + random.nextDouble()) / spec.getBugs())));
+            LocalDateTime updatedAt = createdAt.plusSeconds(
+                    random.nextLong(Duration.between(createdAt, HISTORY_END).toSeconds() + 1));
+            Priority priority = PRIORITIES[pick(PRIORITY_WEIGHTS, random)];
+            Status status = STATUSES[pick(STATUS_WEIGHTS, random)];
+            String title = COMPONENTS[random.nextInt(COMPONENTS.length)] + " " + SYMPTOMS[random.nextInt(SYMPTOMS.length)]
+                    + " " + CONTEXTS[random.nextInt(CONTEXTS.length)];
+            rows.add(new Object[]{id, title, description(spec, random), createdAt, updatedAt,
+                    priority.getCode(), status.getCode()});
+
+            if (assignees != null) {
+                int count = Math.min(pick(ASSIGNEE_COUNT_WEIGHTS, random), spec.getUsers());
+                long[] picked = new long[count];
+                for (int a = 0; a < count; a++) {
+                    long userId;
+                    do {
+                        userId = firstUserId + assignees.next();
+                    } while (contains(picked, a, userId));
+                    picked[a] = userId;
+                    assignments.add(new Object[]{userId, id});
+                }
+            }
+
+            if (rows.size() == spec.getBatchSize() || i == spec.getBugs() - 1) {
+                writeBugs(rows, assignments);
+                result.addAssignments(assignments.size());
+                logger.debug("Generated {} of {} bugs", i + 1, spec.getBugs());
+                rows = new ArrayList<>(spec.getBatchSize());
+                assignments = new ArrayList<>(spec.getBatchSize() * 2);
+            }
+        }
+    }
+
+    private void writeBugs(List<Object[]> bugs, List<Object[]> assignments) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_BUG, bugs);
+            jdbcTemplate.batchUpdate(INSERT_ASSIGNMENT, assignments);
+        });
+    }
+
+    /** Sentences in random order, up to a length spread log-uniformly between the configured bounds. */
+    private static String description(DatasetProperties spec, SplittableRandom random) {
+        int min = Math.max(1, spec.getMinDescriptionLength());
+        int max = Math.max(min, spec.getMaxDescriptionLength());
+        int length = (int) Math.round(min * Math.pow((double) max / min, random.nextDouble()));
+        StringBuilder description = new StringBuilder(length + 200);
+        while (description.length() < length) {
+            if (!description.isEmpty()) {
+                description.append(random.nextInt(4) == 0 ? "\n\n" : " ");
+            }
+            description.append(SENTENCES[random.nextInt(SENTENCES.length)]);
+        }
+        description.setLength(length);
+        return description.toString();
+    }
+
+    private static int pick(int[] weights, SplittableRandom random) {
+        int ticket = random.nextInt(Arrays.stream(weights).sum());
+        for (int i = 0; i < weights.length; i++) {
+            ticket -= weights[i];
+            if (ticket < 0) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Weights must be positive");
+    }
+
+    private static boolean contains(long[] values, int length, long value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Draws user offsets with a probability falling off with the rank as 1 / rank^skew. The ranks are shuffled
+     * over the users, so the busiest assignees are spread over the table instead of being its first rows.
+     */
+    private static final class ZipfSampler {
+
+        private final double[] cumulative;
+        private final int[] userByRank;
+        private final SplittableRandom random;
+
+        ZipfSampler(int users, double skew, SplittableRandom random) {
+            this.random = random;
+            cumulative = new double[users];
+            double sum = 0;
+            for (int rank = 0; rank < users; rank++) {
+                sum += 1 / Math.pow(rank + 1, skew);
+                cumulative[rank] = sum;
+            }
+            userByRank = new int[users];
+            for (int i = 0; i < users; i++) {
+                userByRank[i] = i;
+            }
+            for (int i = users - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = userByRank[i];
+                userByRank[i] = userByRank[j];
+                userByRank[j] = swap;
+            }
+        }
+
+        int next() {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]);
+            return userByRank[rank >= 0 ? rank : Math.min(-rank - 1, cumulative.length - 1)];
+        }
+    }
+}
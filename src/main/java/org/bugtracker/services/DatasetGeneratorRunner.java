@@ -0,0 +1,34 @@
+package org.bugtracker.services;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Command-line entry point of the synthetic dataset. Does nothing unless the application is started with
+ * {@code --generate-dataset}; the size and seed come from {@code bugtracker.dataset.*}, which can be given
+ * as arguments too:
+ * <pre>
+ *     mvn spring-boot:run -Dspring-boot.run.arguments="--generate-dataset --bugtracker.dataset.bugs=200000"
+ * </pre>
+ * The web server already accepts requests while the dataset is written; start load tests after the
+ * "Generated ..." log line.
+ */
+@Component
+public class DatasetGeneratorRunner implements ApplicationRunner {
+
+    static final String OPTION = "generate-dataset";
+
+    private final DatasetGenerator datasetGenerator;
+
+    public DatasetGeneratorRunner(DatasetGenerator datasetGenerator) {
+        this.datasetGenerator = datasetGenerator;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption(OPTION)) {
+            datasetGenerator.generate();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.bugtracker.services;
+
+import java.io.IOException;
+
+/**
+ * The connection of one live feed client, written without ever blocking the caller (see {@link ServletEventStream}).
+ * Like a servlet output stream in non-blocking mode: data may only be written while {@link #isReady()} says so,
+ * and once it has said no, the stream calls back when it can take more.
+ */
+interface EventStream {
+
+    /**
+     * Starts listening to the connection. Called once, before any other method.
+     *
+     * @param onWritable Called when the stream is ready again after {@link #isReady()} returned false.
+     * @param onClosed   Called when the connection has failed, timed out or been closed.
+     */
+    void start(Runnable onWritable, Runnable onClosed);
+
+    /**
+     * @return Whether data can be written right now; if not, {@code onWritable} is called once it can.
+     */
+    boolean isReady();
+
+    /**
+     * Writes an encoded frame. Only allowed while {@link #isReady()} returns true.
+     */
+    void write(byte[] frame) throws IOException;
+
+    /**
+     * Sends what has been written so far. Only allowed while {@link #isReady()} returns true.
+     */
+    void flush() throws IOException;
+
+    /**
+     * Ends the stream; the browser reconnects on its own. Further calls do nothing.
+     */
+    void close();
+}
@@ -0,0 +1,55 @@
+package org.bugtracker.services;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import javax.cache.Cache;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * {@link UserCache} backed by a JCache cache, so its size, TTL and hit/miss statistics are configured
+ * and published like the Hibernate cache regions (see CacheConfig).
+ * <p>
+ * Only an immutable snapshot of each user is stored and every lookup returns a fresh {@link UserDetails}:
+ * Spring Security erases the credentials of the authenticated principal after login, which would
+ * otherwise wipe the password hash of the cached instance.
+ */
+public class JCacheUserCache implements UserCache {
+
+    private final Cache<String, CachedUser> cache;
+
+    public JCacheUserCache(Cache<String, CachedUser> cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        CachedUser cached = cache.get(username);
+        if (cached == null) {
+            return null;
+        }
+        return new User(cached.username(), cached.password(), cached.enabled(), true, true, true,
+                cached.authorities());
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        cache.put(user.getUsername(), new CachedUser(user.getUsername(), user.getPassword(), user.isEnabled(),
+                List.copyOf(user.getAuthorities())));
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        cache.remove(username);
+    }
+
+    /**
+     * Cached state of a user: everything needed to rebuild its {@link UserDetails}.
+     */
+    public record CachedUser(String username, String password, boolean enabled,
+                             Collection<? extends GrantedAuthority> authorities) {
+    }
+}
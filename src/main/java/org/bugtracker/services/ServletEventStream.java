@@ -0,0 +1,97 @@
+package org.bugtracker.services;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An {@link EventStream} on the response of an asynchronous request, written with servlet non-blocking I/O:
+ * a write only copies into the container's buffer, and a client on a stalled network never holds a thread.
+ */
+final class ServletEventStream implements EventStream {
+
+    private final AsyncContext asyncContext;
+    private final ServletOutputStream out;
+    private final AtomicBoolean completed = new AtomicBoolean();
+
+    /**
+     * @param asyncContext The started asynchronous request; its response is the stream.
+     */
+    ServletEventStream(AsyncContext asyncContext) throws IOException {
+        this.asyncContext = asyncContext;
+        this.out = asyncContext.getResponse().getOutputStream();
+    }
+
+    @Override
+    public void start(Runnable onWritable, Runnable onClosed) {
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                completed.set(true);
+                onClosed.run();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                // The browser reconnects; ending the stream normally keeps it from being logged as an error
+                close();
+                onClosed.run();
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                close();
+                onClosed.run();
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+                // Not restarted
+            }
+        });
+        out.setWriteListener(new WriteListener() {
+            @Override
+            public void onWritePossible() {
+                onWritable.run();
+            }
+
+            @Override
+            public void onError(Throwable failure) {
+                // The browser went away
+                close();
+                onClosed.run();
+            }
+        });
+    }
+
+    @Override
+    public boolean isReady() {
+        return out.isReady();
+    }
+
+    @Override
+    public void write(byte[] frame) throws IOException {
+        out.write(frame);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() {
+        if (completed.compareAndSet(false, true)) {
+            try {
+                asyncContext.complete();
+            } catch (IllegalStateException e) {
+                // Completed by the container in the meantime
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.bugtracker.services;
 
 import jakarta.validation.Valid;
+import org.bugtracker.entities.AssigneeDto;
 import org.bugtracker.entities.User;
 import org.bugtracker.entities.UserProfileUpdateDto;
 import org.bugtracker.problems.NotFoundException;
@@ -8,6 +9,8 @@ import org.bugtracker.problems.UserAlreadyExistsException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -16,6 +19,9 @@ import java.util.Optional;
  */
 public interface UserService {
 
+    /** Upper bound for {@link #searchAssignees(String, int)} results. */
+    int MAX_ASSIGNEE_SUGGESTIONS = 20;
+
     /**
      * Finds a user by their username. This is a key method for Spring Security's
      * UserDetailsService.
@@ -66,6 +72,22 @@ public interface UserService {
      */
     Page<User> getAllUsers(Pageable pageable);
 
+    /**
+     * Finds assignee candidates for the bug forms' typeahead.
+     * Matches a case-insensitive prefix of the username, first name or last name.
+     * @param prefix The text typed so far. Blank input yields no suggestions.
+     * @param limit  The maximum number of suggestions (capped at {@link #MAX_ASSIGNEE_SUGGESTIONS}).
+     * @return The matching users as lightweight views, ordered by username.
+     */
+    List<AssigneeDto> searchAssignees(String prefix, int limit);
+
+    /**
+     * Retrieves the assignee views of the given users, e.g. to re-render a form's current selection.
+     * @param ids The user IDs; may be null or empty.
+     * @return The matching users as lightweight views, ordered by username.
+     */
+    List<AssigneeDto> getAssignees(Collection<Long> ids);
+
     /**
      * Updates an existing user's details.
      * @param userUpdates The User entity containing updates. The ID must be present.
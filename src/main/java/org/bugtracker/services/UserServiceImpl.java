@@ -1,34 +1,50 @@
 package org.bugtracker.services;
 
+import io.micrometer.core.annotation.Timed;
+import org.bugtracker.config.MetricsConfig;
+import org.bugtracker.entities.AssigneeDto;
+import org.bugtracker.entities.Bug;
 import org.bugtracker.entities.User;
 import org.bugtracker.entities.UserProfileUpdateDto;
 import org.bugtracker.problems.NotFoundException;
 import org.bugtracker.problems.UserAlreadyExistsException;
 import org.bugtracker.repos.UserRepo;
+import org.bugtracker.util.QueryUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class UserServiceImpl implements UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
 
     private final UserRepo userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserCache userCache;
 
-    public UserServiceImpl(UserRepo userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImpl(UserRepo userRepository, PasswordEncoder passwordEncoder, UserCache userCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userCache = userCache;
     }
 
     @Override
@@ -52,6 +68,26 @@ public class UserServiceImpl implements UserService {
         return userRepository.findById(id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<AssigneeDto> searchAssignees(String prefix, int limit) {
+        if (!StringUtils.hasText(prefix)) {
+            return List.of();
+        }
+        int cappedLimit = Math.max(1, Math.min(limit, MAX_ASSIGNEE_SUGGESTIONS));
+        String pattern = QueryUtils.escapeLike(prefix.trim().toLowerCase(Locale.ROOT)) + "%";
+        return userRepository.findAssigneesByPrefix(pattern, PageRequest.of(0, cappedLimit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AssigneeDto> getAssignees(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return userRepository.findAssigneesByIdIn(ids);
+    }
+
     @Override
     @Transactional
     public User createUser(User user) {
@@ -87,6 +123,9 @@ public class UserServiceImpl implements UserService {
         User existingUser = userRepository.findById(user.getId())
                 .orElseThrow(() -> new NotFoundException("User not found with ID: " + user.getId()));
 
+        // Password, role or the username itself may change: cached logins must be rebuilt
+        evictUserDetails(existingUser.getUsername(), user.getUsername());
+
         // Check for username change (if allowed)
         if (!existingUser.getUsername().equals(user.getUsername())) {
             if (userRepository.findByUsername(user.getUsername()).isPresent()) {
@@ -121,10 +160,15 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new NotFoundException("User not found with ID: " + id);
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("User not found with ID: " + id));
+        // Deleting the user removes its join-table rows, but the cached assignedUsers collections of
+        // its bugs (inverse side) are only evicted if they are changed in the persistence context too.
+        for (Bug bug : new ArrayList<>(user.getAssignedBugs())) {
+            bug.unassignUser(user);
         }
-        userRepository.deleteById(id);
+        userRepository.delete(user);
+        evictUserDetails(user.getUsername());
         logger.info("Deleted user with ID: {}", id);
     }
 
@@ -143,6 +187,7 @@ public class UserServiceImpl implements UserService {
     public User updateUserProfile(String username, UserProfileUpdateDto userProfileUpdateDto) {
         User existingUser = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        evictUserDetails(username);
 
         // Check for email change
         if (!existingUser.getEmail().equals(userProfileUpdateDto.getEmail())) {
@@ -166,4 +211,30 @@ public class UserServiceImpl implements UserService {
         logger.info("Profile updated for user: {}", username);
         return userRepository.save(existingUser);
     }
+
+    /**
+     * Removes users from the login cache, right away and again once the surrounding transaction has
+     * completed, so a login racing with the change cannot re-cache the old state.
+     *
+     * @param usernames The usernames to evict.
+     */
+    private void evictUserDetails(String... usernames) {
+        for (String username : usernames) {
+            if (username != null) {
+                userCache.removeUserFromCache(username);
+            }
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    for (String username : usernames) {
+                        if (username != null) {
+                            userCache.removeUserFromCache(username);
+                        }
+                    }
+                }
+            });
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package org.bugtracker.util;
+
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+
+import java.util.List;
+
+/**
+ * Body of a create or patch request of the bug REST API. On a patch, omitted (null) fields keep their
+ * current value; {@code assigneeIds}, when present, replaces the whole assignment. A patch may name the
+ * {@code version} it is based on instead of sending {@code If-Match}.
+ * <pre>
+ *     {"title": "Crash on save", "description": "...", "priority": "HIGH", "assigneeIds": [3, 7]}
+ *     {"status": "RESOLVED", "version": 4}
+ * </pre>
+ */
+public class BugApiRequest {
+
+    private String title;
+    private String description;
+    private Priority priority;
+    private Status status;
+    private List<Long> assigneeIds;
+    private Long version;
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public List<Long> getAssigneeIds() {
+        return assigneeIds;
+    }
+
+    public void setAssigneeIds(List<Long> assigneeIds) {
+        this.assigneeIds = assigneeIds;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,96 @@
+package org.bugtracker.util;
+
+import org.bugtracker.problems.InvalidCriteriaException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the bug list used by keyset pagination.
+ * The list is ordered by id descending (newest first), so a cursor is simply the id of a boundary row
+ * plus the direction to seek from it. It is handed to clients as an opaque URL-safe token.
+ */
+public final class BugCursor {
+
+    /**
+     * The direction to seek from the boundary row.
+     */
+    public enum Direction {
+        /** Rows after the boundary in display order (older bugs, lower ids). */
+        NEXT,
+        /** Rows before the boundary in display order (newer bugs, higher ids). */
+        PREVIOUS
+    }
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final Direction direction;
+    private final long id;
+
+    public BugCursor(Direction direction, long id) {
+        this.direction = direction;
+        this.id = id;
+    }
+
+    public static BugCursor next(long id) {
+        return new BugCursor(Direction.NEXT, id);
+    }
+
+    public static BugCursor previous(long id) {
+        return new BugCursor(Direction.PREVIOUS, id);
+    }
+
+    /**
+     * Encodes this cursor as an opaque token.
+     *
+     * @return The URL-safe token.
+     */
+    public String encode() {
+        String raw = (direction == Direction.NEXT ? "n:" : "p:") + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token The opaque token.
+     * @return The decoded cursor.
+     * @throws InvalidCriteriaException if the token is malformed.
+     */
+    public static BugCursor decode(String token) {
+        try {
+            String raw = new String(DECODER.decode(token), StandardCharsets.US_ASCII);
+            if (raw.length() > 2 && raw.charAt(1) == ':') {
+                long id = Long.parseLong(raw.substring(2));
+                switch (raw.charAt(0)) {
+                    case 'n':
+                        return next(id);
+                    case 'p':
+                        return previous(id);
+                    default:
+                        break;
+                }
+            }
+        } catch (IllegalArgumentException e) { // Also covers NumberFormatException
+            throw new InvalidCriteriaException("cursor", "pagination.error.invalid_cursor", e);
+        }
+        throw new InvalidCriteriaException("cursor", "pagination.error.invalid_cursor");
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "BugCursor{" +
+                "direction=" + direction +
+                ", id=" + id +
+                '}';
+    }
+}
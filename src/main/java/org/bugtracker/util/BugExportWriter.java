@@ -0,0 +1,150 @@
+package org.bugtracker.util;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonFactoryBuilder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import org.bugtracker.entities.Bug;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes bugs one at a time in the layout of a {@link BugImportFormat}, so an export can be imported again.
+ * Next to the importable fields, each row carries the id and the timestamps (ignored by the import).
+ * Output is buffered and UTF-8 encoded; the target stream is flushed but never closed.
+ */
+public abstract class BugExportWriter {
+
+    static final List<String> COLUMNS = List.of(
+            "id", "title", "description", "priority", "status", "created_at", "updated_at", "assignees");
+
+    /**
+     * Creates a writer for the given format.
+     *
+     * @param out    The target stream.
+     * @param format The layout to write.
+     * @return A writer; for CSV the header row is written first.
+     * @throws IOException if the target cannot be written.
+     */
+    public static BugExportWriter open(OutputStream out, BugImportFormat format) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvWriter(out);
+            case NDJSON -> new NdjsonWriter(out);
+        };
+    }
+
+    /**
+     * Writes one bug.
+     *
+     * @param bug       The bug.
+     * @param assignees The usernames of its assignees.
+     * @throws IOException if the target cannot be written.
+     */
+    public abstract void write(Bug bug, List<String> assignees) throws IOException;
+
+    /**
+     * Pushes everything written so far to the target stream.
+     *
+     * @throws IOException if the target cannot be written.
+     */
+    public abstract void flush() throws IOException;
+
+    private static String text(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static final class CsvWriter extends BugExportWriter {
+
+        private final Writer writer;
+
+        CsvWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(Bug bug, List<String> assignees) throws IOException {
+            writeValue(text(bug.getId()));
+            writer.write(',');
+            writeValue(bug.getTitle());
+            writer.write(',');
+            writeValue(bug.getDescription());
+            writer.write(',');
+            writeValue(text(bug.getPriority()));
+            writer.write(',');
+            writeValue(text(bug.getStatus()));
+            writer.write(',');
+            writeValue(text(bug.getCreatedAt()));
+            writer.write(',');
+            writeValue(text(bug.getUpdatedAt()));
+            writer.write(',');
+            writeValue(String.join(";", assignees));
+            writer.write("\r\n");
+        }
+
+        private void writeValue(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            // RFC 4180: quote values containing separators, quotes or line breaks, doubling inner quotes
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private static final class NdjsonWriter extends BugExportWriter {
+
+        private static final JsonFactory jsonFactory = new JsonFactoryBuilder()
+                .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .rootValueSeparator((String) null) // Each object ends its own line instead, see write()
+                .build();
+
+        private final JsonGenerator generator;
+
+        NdjsonWriter(OutputStream out) throws IOException {
+            this.generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8);
+        }
+
+        @Override
+        public void write(Bug bug, List<String> assignees) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField(COLUMNS.get(0), bug.getId());
+            generator.writeStringField(COLUMNS.get(1), bug.getTitle());
+            generator.writeStringField(COLUMNS.get(2), bug.getDescription());
+            generator.writeStringField(COLUMNS.get(3), text(bug.getPriority()));
+            generator.writeStringField(COLUMNS.get(4), text(bug.getStatus()));
+            generator.writeStringField(COLUMNS.get(5), text(bug.getCreatedAt()));
+            generator.writeStringField(COLUMNS.get(6), text(bug.getUpdatedAt()));
+            generator.writeArrayFieldStart(COLUMNS.get(7));
+            for (String assignee : assignees) {
+                generator.writeString(assignee);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+}
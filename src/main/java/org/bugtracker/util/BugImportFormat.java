@@ -0,0 +1,69 @@
+package org.bugtracker.util;
+
+import org.bugtracker.problems.InvalidImportException;
+
+import java.util.Locale;
+
+/**
+ * File formats accepted by the bulk bug import.
+ * <ul>
+ *     <li>{@link #CSV}: a header row naming the columns {@code title, description, priority, status, assignees},
+ *     then one bug per record (RFC 4180 quoting, so values may contain commas and line breaks).
+ *     Assignees are usernames separated by semicolons.</li>
+ *     <li>{@link #NDJSON}: one JSON object per line with the same field names; {@code assignees} is an array
+ *     of usernames.</li>
+ * </ul>
+ */
+public enum BugImportFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    BugImportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Determines the format from a request content type.
+     *
+     * @param contentType The content type, possibly with parameters such as a charset.
+     * @return The matching format.
+     * @throws InvalidImportException if the content type is missing or not supported.
+     */
+    public static BugImportFormat fromContentType(String contentType) throws InvalidImportException {
+        if (contentType != null) {
+            String type = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+            for (BugImportFormat format : values()) {
+                if (format.mediaType.equals(type)) {
+                    return format;
+                }
+            }
+        }
+        throw new InvalidImportException("Unsupported import content type: " + contentType
+                + " (expected text/csv or application/x-ndjson)");
+    }
+
+    /**
+     * Determines the format from a file name extension ({@code .csv}, {@code .ndjson} or {@code .jsonl}).
+     *
+     * @param fileName The file name.
+     * @return The matching format.
+     * @throws InvalidImportException if the extension is not recognised.
+     */
+    public static BugImportFormat fromFileName(String fileName) throws InvalidImportException {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new InvalidImportException("Cannot tell the import format of " + fileName
+                + " (expected a .csv, .ndjson or .jsonl file)");
+    }
+}
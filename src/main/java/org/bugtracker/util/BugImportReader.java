@@ -0,0 +1,254 @@
+package org.bugtracker.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bugtracker.problems.InvalidImportException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads the rows of a bulk bug import one at a time, so the input never has to fit in memory.
+ * <pre>
+ *     try (BugImportReader reader = BugImportReader.open(in, UTF_8, BugImportFormat.CSV)) {
+ *         BugImportRecord row;
+ *         while ((row = reader.next()) != null) { ... }
+ *     }
+ * </pre>
+ * See {@link BugImportFormat} for the accepted layouts.
+ */
+public abstract class BugImportReader implements Closeable {
+
+    static final String TITLE = "title";
+    static final String DESCRIPTION = "description";
+    static final String PRIORITY = "priority";
+    static final String STATUS = "status";
+    static final String ASSIGNEES = "assignees";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    protected final BufferedReader reader;
+
+    private BugImportReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    /**
+     * Opens a reader over the given input.
+     *
+     * @param in      The input; closed together with the reader.
+     * @param charset The character set of the input.
+     * @param format  The layout of the input.
+     * @return A reader positioned before the first row.
+     * @throws IOException            if the input cannot be read.
+     * @throws InvalidImportException if a CSV header lacks required columns.
+     */
+    public static BugImportReader open(InputStream in, Charset charset, BugImportFormat format) throws IOException {
+        Reader reader = new InputStreamReader(in, charset);
+        return switch (format) {
+            case CSV -> new CsvReader(reader);
+            case NDJSON -> new NdjsonReader(reader);
+        };
+    }
+
+    /**
+     * @return The next row, or null once the input is exhausted.
+     * @throws IOException if the input cannot be read.
+     */
+    public abstract BugImportRecord next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static List<String> splitUsernames(String value) {
+        List<String> usernames = new ArrayList<>();
+        if (value != null) {
+            for (String username : value.split(";")) {
+                if (!username.isBlank()) {
+                    usernames.add(username.trim());
+                }
+            }
+        }
+        return usernames;
+    }
+
+    /**
+     * RFC 4180 CSV with a header row. Quoted values may contain separators, doubled quotes and line breaks.
+     */
+    private static final class CsvReader extends BugImportReader {
+
+        private final Map<String, Integer> columns = new HashMap<>();
+        private long line = 1;
+        private boolean unterminated;
+
+        CsvReader(Reader reader) throws IOException {
+            super(reader);
+            List<String> header = readRecord();
+            if (header == null || unterminated) {
+                throw new InvalidImportException("The CSV import has no readable header row");
+            }
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String required : List.of(TITLE, DESCRIPTION, PRIORITY)) {
+                if (!columns.containsKey(required)) {
+                    throw new InvalidImportException("The CSV header has no '" + required + "' column");
+                }
+            }
+        }
+
+        @Override
+        public BugImportRecord next() throws IOException {
+            List<String> values;
+            long start;
+            do {
+                start = line;
+                values = readRecord();
+                if (values == null) {
+                    return null;
+                }
+            } while (values.size() == 1 && values.get(0).isBlank()); // Skip empty lines
+            if (unterminated) {
+                return BugImportRecord.unreadable(start, "Unterminated quoted value");
+            }
+            return new BugImportRecord(start, value(values, TITLE), value(values, DESCRIPTION),
+                    value(values, PRIORITY), value(values, STATUS), splitUsernames(value(values, ASSIGNEES)), null);
+        }
+
+        private String value(List<String> values, String column) {
+            Integer index = columns.get(column);
+            return index == null || index >= values.size() ? null : blankToNull(values.get(index));
+        }
+
+        /**
+         * Reads one record, which may span several lines if a quoted value contains line breaks.
+         * A quote left open at the end of the input sets {@link #unterminated}.
+         */
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> values = new ArrayList<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        unterminated = true;
+                        values.add(value.toString());
+                        return values;
+                    }
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            value.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        value.append((char) c);
+                    }
+                } else if (c == '"' && value.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else if (c == '\n' || c == '\r' || c == -1) {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    if (c != -1) {
+                        line++;
+                    }
+                    values.add(value.toString());
+                    return values;
+                } else {
+                    value.append((char) c);
+                }
+                c = reader.read();
+            }
+        }
+    }
+
+    /**
+     * Newline-delimited JSON: one object per line, blank lines are skipped.
+     */
+    private static final class NdjsonReader extends BugImportReader {
+
+        private long line;
+
+        NdjsonReader(Reader reader) {
+            super(reader);
+        }
+
+        @Override
+        public BugImportRecord next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                line++;
+                if (text == null) {
+                    return null;
+                }
+            } while (text.isBlank());
+
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(text);
+            } catch (JsonProcessingException e) {
+                return BugImportRecord.unreadable(line, "Malformed JSON: " + e.getOriginalMessage());
+            }
+            if (!node.isObject()) {
+                return BugImportRecord.unreadable(line, "Expected a JSON object");
+            }
+            return new BugImportRecord(line, text(node, TITLE), text(node, DESCRIPTION), text(node, PRIORITY),
+                    text(node, STATUS), assignees(node.get(ASSIGNEES)), null);
+        }
+
+        private static String text(JsonNode node, String field) {
+            JsonNode value = node.get(field);
+            return value == null || value.isNull() ? null : blankToNull(value.asText());
+        }
+
+        private static List<String> assignees(JsonNode value) {
+            if (value == null || value.isNull()) {
+                return List.of();
+            }
+            if (!value.isArray()) {
+                return splitUsernames(value.asText());
+            }
+            List<String> usernames = new ArrayList<>();
+            value.forEach(username -> {
+                if (!username.asText().isBlank()) {
+                    usernames.add(username.asText().trim());
+                }
+            });
+            return usernames;
+        }
+    }
+}
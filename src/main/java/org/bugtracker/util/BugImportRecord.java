@@ -0,0 +1,29 @@
+package org.bugtracker.util;
+
+import java.util.List;
+
+/**
+ * One row of a bulk import as it was read, before any validation.
+ *
+ * @param line        The line of the input the row starts on (1-based), for error reports.
+ * @param title       The raw title, or null if absent.
+ * @param description The raw description, or null if absent.
+ * @param priority    The raw priority, or null if absent.
+ * @param status      The raw status, or null if absent.
+ * @param assignees   The usernames of the assignees; never null.
+ * @param problem     Why the row could not be read (e.g. malformed JSON), or null if it could.
+ */
+public record BugImportRecord(long line, String title, String description, String priority, String status,
+                              List<String> assignees, String problem) {
+
+    /**
+     * Creates the record of a row that could not be read.
+     *
+     * @param line    The line the row starts on.
+     * @param problem What is wrong with it.
+     * @return A record carrying only the line and the problem.
+     */
+    public static BugImportRecord unreadable(long line, String problem) {
+        return new BugImportRecord(line, null, null, null, null, List.of(), problem);
+    }
+}
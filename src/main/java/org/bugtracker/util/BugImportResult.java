@@ -0,0 +1,79 @@
+package org.bugtracker.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk bug import: how many rows were imported or rejected, and why rows were rejected.
+ * Only the first few problems are kept, so a broken file cannot blow up the report.
+ */
+public class BugImportResult {
+
+    /**
+     * A rejected row.
+     *
+     * @param line    The line of the input the row starts on.
+     * @param message What is wrong with the row.
+     */
+    public record RowError(long line, String message) {
+    }
+
+    private final int maxReportedErrors;
+    private final List<RowError> errors = new ArrayList<>();
+    private long imported;
+    private long rejected;
+    private long elapsedMillis;
+
+    /**
+     * @param maxReportedErrors The number of rejected rows whose reason is kept.
+     */
+    public BugImportResult(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Records rows that were written.
+     *
+     * @param count The number of rows.
+     */
+    public void addImported(long count) {
+        imported += count;
+    }
+
+    /**
+     * Records a row that was rejected.
+     *
+     * @param line    The line the row starts on.
+     * @param message Why the row was rejected.
+     */
+    public void addError(long line, String message) {
+        rejected++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new RowError(line, message));
+        }
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * @return The first rejected rows, in input order.
+     */
+    public List<RowError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
@@ -0,0 +1,93 @@
+package org.bugtracker.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Backing object for the search form on the bug list page.
+ * Each filled-in field is turned into a {@link CriteriaDto} term; blank fields are skipped.
+ */
+public class BugSearchForm {
+
+    private String title;
+
+    private boolean titleExact = false; // Default to 'contains' search on the title, which no index can serve
+
+    private String status;
+
+    private String priority;
+
+    public BugSearchForm() {
+    }
+
+    /**
+     * Converts the filled-in fields of this form into search criteria.
+     * Status and priority come from select boxes, so they are always matched exactly.
+     *
+     * @return The list of criteria, possibly empty.
+     */
+    public List<CriteriaDto> toCriteria() {
+        List<CriteriaDto> criteria = new ArrayList<>();
+        addIfPresent(criteria, SearchableBugField.TITLE, title, titleExact);
+        addIfPresent(criteria, SearchableBugField.STATUS, status, true);
+        addIfPresent(criteria, SearchableBugField.PRIORITY, priority, true);
+        return criteria;
+    }
+
+    /**
+     * @return true if no field of the form is filled in.
+     */
+    public boolean isEmpty() {
+        return toCriteria().isEmpty();
+    }
+
+    private static void addIfPresent(List<CriteriaDto> criteria, SearchableBugField field, String value, boolean exact) {
+        CriteriaDto criterion = new CriteriaDto(field, value, exact);
+        if (!criterion.isEmpty()) {
+            criteria.add(criterion);
+        }
+    }
+
+    // Getters and Setters
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public boolean isTitleExact() {
+        return titleExact;
+    }
+
+    public void setTitleExact(boolean titleExact) {
+        this.titleExact = titleExact;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+
+    @Override
+    public String toString() {
+        return "BugSearchForm{" +
+                "title='" + title + '\'' +
+                ", titleExact=" + titleExact +
+                ", status='" + status + '\'' +
+                ", priority='" + priority + '\'' +
+                '}';
+    }
+}
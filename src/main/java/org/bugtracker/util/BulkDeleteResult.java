@@ -0,0 +1,51 @@
+package org.bugtracker.util;
+
+/**
+ * Outcome of a bulk delete: how many distinct IDs were asked for, how many rows were actually deleted
+ * (unknown IDs are skipped), and how many assignments went with them.
+ */
+public class BulkDeleteResult {
+
+    private final int requested;
+    private long deleted;
+    private long assignmentsDeleted;
+    private long elapsedMillis;
+
+    /**
+     * @param requested The number of distinct IDs to delete.
+     */
+    public BulkDeleteResult(int requested) {
+        this.requested = requested;
+    }
+
+    /**
+     * Records a chunk that was deleted.
+     *
+     * @param rows        The number of deleted bugs or users.
+     * @param assignments The number of deleted join-table rows.
+     */
+    public void addDeleted(long rows, long assignments) {
+        deleted += rows;
+        assignmentsDeleted += assignments;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public long getDeleted() {
+        return deleted;
+    }
+
+    public long getAssignmentsDeleted() {
+        return assignmentsDeleted;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
@@ -0,0 +1,53 @@
+package org.bugtracker.util;
+
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+
+import java.util.List;
+
+/**
+ * Body of a bulk status/priority change: the bugs are selected either by IDs or by search criteria.
+ * <pre>
+ *     {"ids": [1, 2, 3], "status": "CLOSED"}
+ *     {"criteria": [{"field": "STATUS", "value": "RESOLVED", "exactMatch": true}], "status": "CLOSED"}
+ * </pre>
+ */
+public class BulkUpdateRequest {
+
+    private List<Long> ids;
+    private List<CriteriaDto> criteria;
+    private Status status;
+    private Priority priority;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public List<CriteriaDto> getCriteria() {
+        return criteria;
+    }
+
+    public void setCriteria(List<CriteriaDto> criteria) {
+        this.criteria = criteria;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Priority priority) {
+        this.priority = priority;
+    }
+}
@@ -0,0 +1,54 @@
+package org.bugtracker.util;
+
+/**
+ * Outcome of a synthetic dataset generation: how many rows were inserted and which IDs they got. The IDs of
+ * each table are consecutive, from the first ID on.
+ */
+public class DatasetGenerationResult {
+
+    private final long firstUserId;
+    private final int users;
+    private final long firstBugId;
+    private final int bugs;
+    private long assignments;
+    private long elapsedMillis;
+
+    public DatasetGenerationResult(long firstUserId, int users, long firstBugId, int bugs) {
+        this.firstUserId = firstUserId;
+        this.users = users;
+        this.firstBugId = firstBugId;
+        this.bugs = bugs;
+    }
+
+    public void addAssignments(long count) {
+        assignments += count;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getFirstUserId() {
+        return firstUserId;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public long getFirstBugId() {
+        return firstBugId;
+    }
+
+    public int getBugs() {
+        return bugs;
+    }
+
+    public long getAssignments() {
+        return assignments;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
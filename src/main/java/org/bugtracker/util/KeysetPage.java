@@ -0,0 +1,73 @@
+package org.bugtracker.util;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A slice of results produced by keyset (seek) pagination.
+ * Unlike {@link org.springframework.data.domain.Page}, it carries no total count and no page number;
+ * instead it exposes opaque cursors that point at the rows just before and after this slice.
+ *
+ * @param <T> The type of the elements in the slice.
+ */
+public class KeysetPage<T> {
+
+    private final List<T> content;
+    private final int size;
+    private final String nextCursor;
+    private final String previousCursor;
+
+    /**
+     * @param content        The elements of this slice, in display order.
+     * @param size           The requested slice size.
+     * @param nextCursor     Cursor for the following slice, or null if this is the last one.
+     * @param previousCursor Cursor for the preceding slice, or null if this is the first one.
+     */
+    public KeysetPage(List<T> content, int size, String nextCursor, String previousCursor) {
+        this.content = Collections.unmodifiableList(content);
+        this.size = size;
+        this.nextCursor = nextCursor;
+        this.previousCursor = previousCursor;
+    }
+
+    /**
+     * Converts the elements of this slice, keeping the cursors.
+     *
+     * @param converter The conversion function.
+     * @param <R>       The target element type.
+     * @return A new slice with converted elements.
+     */
+    public <R> KeysetPage<R> map(Function<? super T, ? extends R> converter) {
+        List<R> converted = content.stream().<R>map(converter).toList();
+        return new KeysetPage<>(converted, size, nextCursor, previousCursor);
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public String getPreviousCursor() {
+        return previousCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+
+    public boolean isEmpty() {
+        return content.isEmpty();
+    }
+}
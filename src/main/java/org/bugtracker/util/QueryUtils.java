@@ -0,0 +1,32 @@
+package org.bugtracker.util;
+
+/**
+ * Small helpers for building query parameters from user input.
+ */
+public final class QueryUtils {
+
+    /** Escape character used in all LIKE patterns built by this class. */
+    public static final char LIKE_ESCAPE = '\\';
+
+    private QueryUtils() {
+        // Static helper holder
+    }
+
+    /**
+     * Escapes the LIKE wildcards ('%' and '_') and the escape character itself,
+     * so user input is matched literally. Use together with {@code ESCAPE '\'}.
+     *
+     * @param value The raw user input.
+     * @return The escaped value.
+     */
+    public static String escapeLike(String value) {
+        StringBuilder builder = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                builder.append(LIKE_ESCAPE);
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+}
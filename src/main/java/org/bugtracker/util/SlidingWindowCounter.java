@@ -0,0 +1,69 @@
+package org.bugtracker.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free event counter over a sliding time window.
+ * <p>
+ * Uses the usual two-bucket approximation: the count of the current fixed window plus the count of the
+ * previous one, weighted by how much of it still overlaps the sliding window. The whole state is one
+ * immutable snapshot swapped with compare-and-set, so concurrent callers never block each other.
+ * Timestamps are {@link System#nanoTime()}-style values supplied by the caller.
+ */
+public final class SlidingWindowCounter {
+
+    private final long windowNanos;
+    private final AtomicReference<State> state;
+
+    /**
+     * @param window The length of the sliding window.
+     * @param now    The current time in nanoseconds; starts the first window.
+     */
+    public SlidingWindowCounter(Duration window, long now) {
+        this.windowNanos = window.toNanos();
+        this.state = new AtomicReference<>(new State(now, 0, 0));
+    }
+
+    /**
+     * Records one event.
+     *
+     * @param now The current time in nanoseconds.
+     * @return The estimated number of events in the window ending now, this one included.
+     */
+    public double increment(long now) {
+        State updated = state.updateAndGet(current -> {
+            State rolled = current.rollTo(now, windowNanos);
+            return new State(rolled.windowStart, rolled.previous, rolled.current + 1);
+        });
+        return updated.estimate(now, windowNanos);
+    }
+
+    /**
+     * @param now The current time in nanoseconds.
+     * @return The estimated number of events in the window ending now.
+     */
+    public double estimate(long now) {
+        return state.get().rollTo(now, windowNanos).estimate(now, windowNanos);
+    }
+
+    private record State(long windowStart, int previous, int current) {
+
+        State rollTo(long now, long windowNanos) {
+            long elapsed = now - windowStart;
+            if (elapsed < windowNanos) {
+                return this;
+            }
+            if (elapsed < 2 * windowNanos) {
+                return new State(windowStart + windowNanos, current, 0);
+            }
+            // Idle for more than a full window: both buckets are empty
+            return new State(now - (elapsed % windowNanos), 0, 0);
+        }
+
+        double estimate(long now, long windowNanos) {
+            double previousWeight = (double) (windowNanos - (now - windowStart)) / windowNanos;
+            return previous * Math.max(0, previousWeight) + current;
+        }
+    }
+}
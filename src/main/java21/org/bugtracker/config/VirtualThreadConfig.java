@@ -0,0 +1,53 @@
+package org.bugtracker.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Runs servlet requests and {@code @Async} work on virtual threads, when {@code bugtracker.virtual-threads.enabled}
+ * is set. A request that blocks on JDBC then parks its virtual thread instead of holding one of Tomcat's
+ * platform threads, so the number of requests in flight is no longer limited by server.tomcat.threads.max
+ * but by server.tomcat.max-connections, and concurrent database work by the Hikari pool: requests beyond
+ * spring.datasource.hikari.maximum-pool-size wait for a connection, up to its connection-timeout.
+ * <p>
+ * A virtual thread that blocks inside a {@code synchronized} block or method stays pinned to its carrier
+ * thread, and with all carriers pinned no other virtual thread runs; use a {@link java.util.concurrent.locks.Lock}
+ * around blocking calls in code that runs on request threads. Pinning shows up as jdk.VirtualThreadPinned
+ * events in a flight recording.
+ * <p>
+ * This class is compiled only by builds with JDK 21 or later (Maven profile java21). Spring Boot 3.2 has
+ * the same switch built in (spring.threads.virtual.enabled), which replaces this class after an upgrade.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "bugtracker.virtual-threads", name = "enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /**
+     * Replaces Tomcat's worker pool by a new virtual thread per request.
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-virtual-", 0).factory()));
+    }
+
+    /**
+     * Replaces Spring Boot's pool for {@code @Async} methods and asynchronous MVC requests (such as the
+     * streamed bug export) by a new virtual thread per task.
+     */
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-virtual-", 0).factory()));
+    }
+}
@@ -0,0 +1,45 @@
+-- Baseline: the schema as Hibernate generated it with ddl-auto before migrations were introduced.
+-- Identifiers are upper snake case, as produced by HibernateConfig's naming strategy.
+
+CREATE SEQUENCE APP_USER_SEQ START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE BUG_SEQ START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE APP_USER (
+    ID         BIGINT       NOT NULL,
+    USERNAME   VARCHAR(50)  NOT NULL UNIQUE,
+    PASSWORD   VARCHAR(255) NOT NULL,
+    FIRST_NAME VARCHAR(50),
+    LAST_NAME  VARCHAR(50),
+    EMAIL      VARCHAR(255) NOT NULL UNIQUE,
+    IS_ADMIN   BOOLEAN,
+    CREATED_AT TIMESTAMP(6) NOT NULL,
+    UPDATED_AT TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (ID)
+);
+
+CREATE TABLE BUG (
+    ID          BIGINT       NOT NULL,
+    TITLE       VARCHAR(255) NOT NULL,
+    DESCRIPTION TEXT         NOT NULL,
+    CREATED_AT  TIMESTAMP(6) NOT NULL,
+    UPDATED_AT  TIMESTAMP(6) NOT NULL,
+    VERSION     BIGINT       NOT NULL,
+    PRIORITY    VARCHAR(50)  NOT NULL CHECK (PRIORITY IN ('CRITICAL', 'HIGH', 'MEDIUM', 'LOW')),
+    STATUS      VARCHAR(50)  NOT NULL CHECK (STATUS IN ('OPEN', 'IN_PROGRESS', 'RESOLVED', 'CLOSED', 'REOPENED')),
+    PRIMARY KEY (ID)
+);
+
+CREATE TABLE USER_ASSIGNED_BUGS (
+    BUG_ID  BIGINT NOT NULL,
+    USER_ID BIGINT NOT NULL,
+    PRIMARY KEY (BUG_ID, USER_ID),
+    CONSTRAINT FK_USER_ASSIGNED_BUGS_BUG FOREIGN KEY (BUG_ID) REFERENCES BUG,
+    CONSTRAINT FK_USER_ASSIGNED_BUGS_USER FOREIGN KEY (USER_ID) REFERENCES APP_USER
+);
+
+CREATE INDEX IDX_APP_USER_FIRST_NAME ON APP_USER (FIRST_NAME);
+CREATE INDEX IDX_APP_USER_LAST_NAME ON APP_USER (LAST_NAME);
+CREATE INDEX IDX_BUG_STATUS ON BUG (STATUS);
+CREATE INDEX IDX_BUG_PRIORITY ON BUG (PRIORITY);
+CREATE INDEX IDX_BUG_TITLE ON BUG (TITLE);
+CREATE INDEX IDX_USER_ASSIGNED_BUGS_BUG_ID ON USER_ASSIGNED_BUGS (BUG_ID);
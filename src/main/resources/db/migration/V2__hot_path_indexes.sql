@@ -0,0 +1,19 @@
+-- Composite indexes for the list, search and assignment queries (see the @Index declarations on Bug and User).
+
+-- Status filters, alone or sorted by the last change ("open bugs, recently updated"), and status counts.
+DROP INDEX IDX_BUG_STATUS;
+CREATE INDEX IDX_BUG_STATUS_UPDATED_AT ON BUG (STATUS, UPDATED_AT DESC);
+
+-- Priority filters, alone or combined with a status.
+DROP INDEX IDX_BUG_PRIORITY;
+CREATE INDEX IDX_BUG_PRIORITY_STATUS ON BUG (PRIORITY, STATUS);
+
+-- List pages sorted by creation or update time, newest first, without sorting the whole table.
+-- Descending, since H2 only reads an index in its own order.
+CREATE INDEX IDX_BUG_CREATED_AT ON BUG (CREATED_AT DESC);
+CREATE INDEX IDX_BUG_UPDATED_AT ON BUG (UPDATED_AT DESC);
+
+-- The primary key (BUG_ID, USER_ID) already serves lookups by bug; the bugs of a user
+-- (User.assignedBugs, "my bugs") need their own index.
+DROP INDEX IDX_USER_ASSIGNED_BUGS_BUG_ID;
+CREATE INDEX IDX_USER_ASSIGNED_BUGS_USER_ID ON USER_ASSIGNED_BUGS (USER_ID, BUG_ID);
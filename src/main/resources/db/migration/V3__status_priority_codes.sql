@@ -0,0 +1,36 @@
+-- Status and priority become SMALLINT codes instead of their names (see StatusConverter and PriorityConverter).
+-- Priority codes grow with the severity, so ORDER BY PRIORITY sorts from LOW to CRITICAL.
+
+ALTER TABLE BUG ADD COLUMN PRIORITY_CODE SMALLINT;
+ALTER TABLE BUG ADD COLUMN STATUS_CODE SMALLINT;
+
+UPDATE BUG SET
+    PRIORITY_CODE = CASE PRIORITY
+        WHEN 'LOW' THEN 10
+        WHEN 'MEDIUM' THEN 20
+        WHEN 'HIGH' THEN 30
+        WHEN 'CRITICAL' THEN 40
+    END,
+    STATUS_CODE = CASE STATUS
+        WHEN 'OPEN' THEN 1
+        WHEN 'IN_PROGRESS' THEN 2
+        WHEN 'RESOLVED' THEN 3
+        WHEN 'CLOSED' THEN 4
+        WHEN 'REOPENED' THEN 5
+    END;
+
+DROP INDEX IDX_BUG_STATUS_UPDATED_AT;
+DROP INDEX IDX_BUG_PRIORITY_STATUS;
+ALTER TABLE BUG DROP COLUMN PRIORITY;
+ALTER TABLE BUG DROP COLUMN STATUS;
+
+ALTER TABLE BUG ALTER COLUMN PRIORITY_CODE RENAME TO PRIORITY;
+ALTER TABLE BUG ALTER COLUMN STATUS_CODE RENAME TO STATUS;
+ALTER TABLE BUG ALTER COLUMN PRIORITY SET NOT NULL;
+ALTER TABLE BUG ALTER COLUMN STATUS SET NOT NULL;
+-- A new enum constant needs its code added here by a later migration
+ALTER TABLE BUG ADD CONSTRAINT CK_BUG_PRIORITY CHECK (PRIORITY IN (10, 20, 30, 40));
+ALTER TABLE BUG ADD CONSTRAINT CK_BUG_STATUS CHECK (STATUS IN (1, 2, 3, 4, 5));
+
+CREATE INDEX IDX_BUG_STATUS_UPDATED_AT ON BUG (STATUS, UPDATED_AT DESC);
+CREATE INDEX IDX_BUG_PRIORITY_STATUS ON BUG (PRIORITY, STATUS);
@@ -0,0 +1,14 @@
+-- Case-insensitive prefix search of the assignee typeahead (UserRepo.findAssigneesByPrefix).
+-- An index on USERNAME cannot serve LOWER(USERNAME) LIKE 'jo%', and H2 has no expression indexes, so the
+-- lower-cased names are kept in generated columns with indexes of their own.
+
+ALTER TABLE APP_USER ADD COLUMN USERNAME_LOWER VARCHAR(50) GENERATED ALWAYS AS (LOWER(USERNAME));
+ALTER TABLE APP_USER ADD COLUMN FIRST_NAME_LOWER VARCHAR(50) GENERATED ALWAYS AS (LOWER(FIRST_NAME));
+ALTER TABLE APP_USER ADD COLUMN LAST_NAME_LOWER VARCHAR(50) GENERATED ALWAYS AS (LOWER(LAST_NAME));
+
+-- The plain name indexes only served the typeahead.
+DROP INDEX IDX_APP_USER_FIRST_NAME;
+DROP INDEX IDX_APP_USER_LAST_NAME;
+CREATE INDEX IDX_APP_USER_USERNAME_LOWER ON APP_USER (USERNAME_LOWER);
+CREATE INDEX IDX_APP_USER_FIRST_NAME_LOWER ON APP_USER (FIRST_NAME_LOWER);
+CREATE INDEX IDX_APP_USER_LAST_NAME_LOWER ON APP_USER (LAST_NAME_LOWER);
@@ -0,0 +1,88 @@
+/*
+ * Assignee typeahead for the bug create/edit forms.
+ * Queries /bugs/assignees as the user types and adds picked users to the #assigneeIds multi-select.
+ */
+(function () {
+    'use strict';
+
+    var input = document.getElementById('assigneeSearch');
+    var suggestions = document.getElementById('assigneeSuggestions');
+    var select = document.getElementById('assigneeIds');
+    if (!input || !suggestions || !select) {
+        return;
+    }
+
+    var url = input.getAttribute('data-url');
+    var timer = null;
+    var lastQuery = '';
+
+    function clearSuggestions() {
+        suggestions.innerHTML = '';
+    }
+
+    function addAssignee(user) {
+        var existing = select.querySelector('option[value="' + user.id + '"]');
+        if (existing) {
+            existing.selected = true;
+        } else {
+            var option = document.createElement('option');
+            option.value = user.id;
+            option.textContent = user.displayName;
+            option.selected = true;
+            select.appendChild(option);
+        }
+        input.value = '';
+        lastQuery = '';
+        clearSuggestions();
+        input.focus();
+    }
+
+    function render(users) {
+        clearSuggestions();
+        users.forEach(function (user) {
+            var item = document.createElement('button');
+            item.type = 'button';
+            item.className = 'list-group-item list-group-item-action';
+            item.textContent = user.displayName;
+            item.addEventListener('click', function () {
+                addAssignee(user);
+            });
+            suggestions.appendChild(item);
+        });
+    }
+
+    function lookup(query) {
+        fetch(url + '?q=' + encodeURIComponent(query), {headers: {'Accept': 'application/json'}})
+            .then(function (response) {
+                return response.ok ? response.json() : [];
+            })
+            .then(function (users) {
+                // Ignore answers to queries the user has already typed past
+                if (query === lastQuery) {
+                    render(users);
+                }
+            })
+            .catch(clearSuggestions);
+    }
+
+    input.addEventListener('input', function () {
+        var query = input.value.trim();
+        lastQuery = query;
+        clearTimeout(timer);
+        if (query.length === 0) {
+            clearSuggestions();
+            return;
+        }
+        // Debounce so fast typing sends one request instead of one per keystroke
+        timer = setTimeout(function () {
+            lookup(query);
+        }, 200);
+    });
+
+    // Keep Enter in the search box from submitting the bug form
+    input.addEventListener('keydown', function (event) {
+        if (event.key === 'Enter') {
+            event.preventDefault();
+        }
+    });
+})();
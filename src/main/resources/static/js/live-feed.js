@@ -0,0 +1,59 @@
+/*
+ * Live feed of bug changes for the bug list, bug detail and home pages.
+ * Listens to the server-sent events of /bugs/events and, once a change concerns the page, shows how many bugs
+ * have changed with a link to reload, so nobody has to keep reloading the page to find out.
+ * After a dropped connection the browser reconnects on its own and sends the ID of the last batch it received;
+ * if it missed any in between, the server answers with a batch that asks for a reload.
+ */
+(function () {
+    'use strict';
+
+    var notice = document.getElementById('liveFeed');
+    if (!notice || !window.EventSource) {
+        return;
+    }
+
+    // The bugs shown on the page; new bugs concern list pages too, and any change concerns the home page
+    var shown = (notice.getAttribute('data-bug-ids') || '').split(',').filter(function (id) {
+        return id !== '';
+    });
+    var watchNew = notice.hasAttribute('data-watch-new');
+    var watchAll = notice.hasAttribute('data-watch-all');
+    var message = notice.querySelector('.live-feed-message');
+    var link = notice.querySelector('.live-feed-reload');
+    var changed = {};
+    var reload = false;
+
+    function concerns(change) {
+        return watchAll || shown.indexOf(String(change.id)) >= 0 || (watchNew && change.type === 'CREATED');
+    }
+
+    function render() {
+        var count = Object.keys(changed).length;
+        if (!reload && count === 0) {
+            return;
+        }
+        message.textContent = reload ? 'Bugs have changed since this page was loaded.'
+            : (count === 1 ? '1 bug has' : count + ' bugs have') + ' changed since this page was loaded.';
+        notice.classList.remove('d-none');
+    }
+
+    var source = new EventSource(notice.getAttribute('data-url'));
+    source.addEventListener('bugs', function (event) {
+        var batch = JSON.parse(event.data);
+        // Too many changes to list them: the server cannot tell whether they concern this page
+        reload = reload || batch.reload;
+        batch.changes.filter(concerns).forEach(function (change) {
+            changed[change.id] = change.type;
+        });
+        render();
+    });
+
+    if (link && link.getAttribute('href') === '#') {
+        link.addEventListener('click', function (event) {
+            event.preventDefault();
+            source.close();
+            window.location.reload();
+        });
+    }
+})();
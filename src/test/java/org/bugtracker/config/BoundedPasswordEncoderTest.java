@@ -0,0 +1,111 @@
+package org.bugtracker.config;
+
+import org.bugtracker.problems.PasswordHashingBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for the bounded password-hashing pool and the BCrypt strength calibration.
+ */
+@DisplayName("BoundedPasswordEncoder Tests")
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    /** Delegate that blocks every hash until the test releases it. */
+    private PasswordEncoder blockingEncoder(CountDownLatch started) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals(encode(rawPassword));
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Hashes are computed by the delegate on a pool thread")
+    void encodeAndMatch() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, Duration.ofSeconds(5));
+
+        String hash = encoder.encode("secret-password");
+
+        assertThat(encoder.matches("secret-password", hash)).isTrue();
+        assertThat(encoder.matches("wrong-password", hash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Hashes beyond the running and queued ones are rejected immediately")
+    void rejectsWhenSaturated() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blockingEncoder(started), 1, 1, Duration.ofSeconds(5));
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        while (encoder.getQueuedCount() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("third"));
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:second");
+    }
+
+    @Test
+    @DisplayName("Callers give up once the timeout has passed")
+    void timesOut() {
+        encoder = new BoundedPasswordEncoder(blockingEncoder(new CountDownLatch(1)), 1, 1, Duration.ofMillis(50));
+
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("slow"));
+    }
+
+    @Test
+    @DisplayName("Calibration picks the highest strength that stays within the target latency")
+    void calibrateStrength() {
+        // 50 ms at strength 10 -> 100 ms at 11, 200 ms at 12, 400 ms at 13
+        assertThat(BoundedPasswordEncoder.calibrateStrength(Duration.ofMillis(50), 10, Duration.ofMillis(250), 10, 14))
+                .isEqualTo(12);
+        // Very fast machine: capped at the maximum
+        assertThat(BoundedPasswordEncoder.calibrateStrength(Duration.ofMillis(1), 10, Duration.ofMillis(250), 10, 14))
+                .isEqualTo(14);
+        // Very slow machine: never below the minimum
+        assertThat(BoundedPasswordEncoder.calibrateStrength(Duration.ofSeconds(2), 10, Duration.ofMillis(250), 10, 14))
+                .isEqualTo(10);
+        // A lower minimum lets the strength drop below the measured one
+        assertThat(BoundedPasswordEncoder.calibrateStrength(Duration.ofMillis(400), 10, Duration.ofMillis(250), 8, 14))
+                .isEqualTo(9);
+    }
+}
@@ -0,0 +1,132 @@
+package org.bugtracker.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the sliding-window limits of LoginThrottle, driven by a fake clock.
+ */
+@DisplayName("LoginThrottle Tests")
+class LoginThrottleTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        LoginThrottlingProperties properties = new LoginThrottlingProperties();
+        properties.setIpMaxFailures(3);
+        properties.setIpWindow(Duration.ofMinutes(1));
+        properties.setUsernameMaxFailures(2);
+        properties.setUsernameWindow(Duration.ofMinutes(5));
+        throttle = new LoginThrottle(properties, now::get);
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+
+    private void fail(String username) {
+        throttle.onFailure(new AuthenticationFailureBadCredentialsEvent(
+                new UsernamePasswordAuthenticationToken(username, "wrong"), new BadCredentialsException("Bad credentials")));
+    }
+
+    /** A failure with the request details the login filters attach. */
+    private void fail(String ip, String username) {
+        UsernamePasswordAuthenticationToken attempt = new UsernamePasswordAuthenticationToken(username, "wrong");
+        attempt.setDetails(new WebAuthenticationDetails(ip, null));
+        throttle.onFailure(new AuthenticationFailureBadCredentialsEvent(attempt, new BadCredentialsException("Bad credentials")));
+    }
+
+    private void succeed(String ip, String username) {
+        UsernamePasswordAuthenticationToken login = UsernamePasswordAuthenticationToken.authenticated(username, null, List.of());
+        login.setDetails(new WebAuthenticationDetails(ip, null));
+        throttle.onSuccess(new AuthenticationSuccessEvent(login));
+    }
+
+    @Test
+    @DisplayName("An IP is rejected once it has collected its failures, until the window has slid past them")
+    void ipLimit() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(throttle.tryAcquire("10.0.0.1", "user" + i)).isEqualTo(LoginThrottle.Decision.ALLOWED);
+            fail("10.0.0.1", "user" + i);
+        }
+        assertThat(throttle.tryAcquire("10.0.0.1", "other")).isEqualTo(LoginThrottle.Decision.REJECTED_IP);
+        assertThat(throttle.tryAcquire("10.0.0.2", "other")).isEqualTo(LoginThrottle.Decision.ALLOWED);
+
+        // Rejected attempts never reach the password check, so they add no failures; two windows later it is free again
+        advance(Duration.ofSeconds(30));
+        assertThat(throttle.tryAcquire("10.0.0.1", "other")).isEqualTo(LoginThrottle.Decision.REJECTED_IP);
+        advance(Duration.ofMinutes(2));
+        assertThat(throttle.tryAcquire("10.0.0.1", "other")).isEqualTo(LoginThrottle.Decision.ALLOWED);
+    }
+
+    @Test
+    @DisplayName("Successful logins from one IP never count against it")
+    void successesDoNotCountAgainstIp() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(throttle.tryAcquire("10.0.0.1", "user" + i)).isEqualTo(LoginThrottle.Decision.ALLOWED);
+            succeed("10.0.0.1", "user" + i);
+        }
+        fail("10.0.0.1", "typo");
+        fail("10.0.0.1", "typo2");
+
+        assertThat(throttle.tryAcquire("10.0.0.1", "user0")).isEqualTo(LoginThrottle.Decision.ALLOWED);
+        assertThat(throttle.getRejectedByIpCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("A username is rejected from every IP after too many failures, case-insensitively")
+    void usernameLimit() {
+        fail("jdoe");
+        assertThat(throttle.tryAcquire("10.0.0.1", "jdoe")).isEqualTo(LoginThrottle.Decision.ALLOWED);
+        fail("JDoe");
+
+        assertThat(throttle.tryAcquire("10.0.0.2", "jdoe")).isEqualTo(LoginThrottle.Decision.REJECTED_USERNAME);
+        assertThat(throttle.tryAcquire("10.0.0.3", "JDOE ")).isEqualTo(LoginThrottle.Decision.REJECTED_USERNAME);
+        assertThat(throttle.tryAcquire("10.0.0.4", "asmith")).isEqualTo(LoginThrottle.Decision.ALLOWED);
+
+        advance(Duration.ofMinutes(10));
+        assertThat(throttle.tryAcquire("10.0.0.5", "jdoe")).isEqualTo(LoginThrottle.Decision.ALLOWED);
+    }
+
+    @Test
+    @DisplayName("A successful login clears the failures of the username")
+    void successResetsFailures() {
+        fail("jdoe");
+        throttle.onSuccess(new AuthenticationSuccessEvent(
+                UsernamePasswordAuthenticationToken.authenticated("jdoe", null, List.of())));
+        fail("jdoe");
+
+        assertThat(throttle.tryAcquire("10.0.0.1", "jdoe")).isEqualTo(LoginThrottle.Decision.ALLOWED);
+    }
+
+    @Test
+    @DisplayName("Counters report attempts, failures and rejections")
+    void statistics() {
+        fail("10.0.0.1", "jdoe");
+        fail("10.0.0.1", "jdoe");
+        throttle.tryAcquire("10.0.0.1", "jdoe");
+        throttle.tryAcquire("10.0.0.1", "asmith");
+
+        assertThat(throttle.getAttemptCount()).isEqualTo(2);
+        assertThat(throttle.getFailureCount()).isEqualTo(2);
+        assertThat(throttle.getRejectedByUsernameCount()).isEqualTo(1);
+        assertThat(throttle.getRejectedByIpCount()).isZero();
+        assertThat(throttle.getRejectionRate()).isEqualTo(0.5);
+        assertThat(throttle.getTrackedIpCount()).isEqualTo(1);
+        assertThat(throttle.getTrackedUsernameCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,199 @@
+package org.bugtracker.config;
+
+import org.bugtracker.entities.User;
+import org.bugtracker.repos.UserRepo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Drives the real login endpoint and the HTTP Basic endpoints (security filter chains, user lookup and BCrypt)
+ * to check that the throttle turns a login flood away before the password is verified, and that the rest of
+ * the application stays responsive meanwhile.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Login throttling load Tests")
+class LoginThrottlingLoadTest {
+
+    private static final int FLOOD_THREADS = 8;
+    private static final int FLOOD_REQUESTS = 200;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private LoginThrottlingProperties properties;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    /** Each test uses its own user: the throttle state outlives a single test. */
+    private void createUser(String username) {
+        userRepo.save(new User(username, passwordEncoder.encode("correct-password"), "First", "Last",
+                username + "@example.com", false));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepo.deleteAll();
+    }
+
+    private static RequestPostProcessor from(String ip) {
+        return request -> {
+            request.setRemoteAddr(ip);
+            return request;
+        };
+    }
+
+    private String login(String ip, String username, String password) throws Exception {
+        return mockMvc.perform(post("/login").with(from(ip)).with(csrf())
+                        .param("username", username)
+                        .param("password", password))
+                .andExpect(status().is3xxRedirection())
+                .andReturn().getResponse().getRedirectedUrl();
+    }
+
+    @Test
+    @DisplayName("A login flood from one IP only reaches the password check up to the IP limit, and browsing stays fast")
+    void loginFlood_ShouldBeThrottledBeforeHashing() throws Exception {
+        createUser("flooded");
+        long failuresBefore = loginThrottle.getFailureCount();
+        ExecutorService flood = Executors.newFixedThreadPool(FLOOD_THREADS);
+        List<Future<String>> outcomes = new ArrayList<>();
+        try {
+            for (int i = 0; i < FLOOD_REQUESTS; i++) {
+                String username = i % 2 == 0 ? "flooded" : "ghost" + i; // Known and unknown users alike
+                outcomes.add(flood.submit(() -> login("203.0.113.7", username, "guess")));
+            }
+
+            // Meanwhile a logged-in user keeps browsing
+            long start = System.nanoTime();
+            mockMvc.perform(get("/bugs/browse").with(user("viewer"))).andExpect(status().isOk());
+            long browseMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            int throttled = 0;
+            for (Future<String> outcome : outcomes) {
+                if ("/auth?throttled".equals(outcome.get(60, TimeUnit.SECONDS))) {
+                    throttled++;
+                }
+            }
+
+            // A failure is only counted once its password check is done, so each flood thread may have one more
+            // attempt in flight when the IP reaches its limit
+            long verified = loginThrottle.getFailureCount() - failuresBefore;
+            int limit = properties.getIpMaxFailures() + FLOOD_THREADS;
+            assertThat(verified).isLessThanOrEqualTo(limit);
+            assertThat(throttled).isGreaterThanOrEqualTo(FLOOD_REQUESTS - limit);
+            assertThat(browseMillis).as("bug list latency during the flood (ms)").isLessThan(2_000);
+        } finally {
+            flood.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Guessing one password from many IPs locks the username, even for the correct password")
+    void distributedGuessing_ShouldLockUsername() throws Exception {
+        createUser("victim");
+        for (int i = 0; i < properties.getUsernameMaxFailures(); i++) {
+            assertThat(login("198.51.100." + i, "victim", "guess" + i)).isEqualTo("/auth?error");
+        }
+
+        assertThat(login("198.51.100.200", "victim", "correct-password")).isEqualTo("/auth?throttled");
+    }
+
+    @Test
+    @DisplayName("Many successful logins from one IP, as behind a shared NAT, are never throttled")
+    void successfulLoginsFromOneIp_ShouldNotBeThrottled() throws Exception {
+        createUser("colleague");
+        for (int i = 0; i < properties.getIpMaxFailures() + 5; i++) {
+            assertThat(login("192.0.2.20", "colleague", "correct-password")).isEqualTo("/");
+        }
+        // A failure or two from the same office still leaves it well below the limit
+        assertThat(login("192.0.2.20", "colleague", "typo")).isEqualTo("/auth?error");
+        assertThat(login("192.0.2.20", "colleague", "correct-password")).isEqualTo("/");
+    }
+
+    @Test
+    @DisplayName("Guessing an API password over HTTP Basic locks the username like the login form, with a 429")
+    void basicGuessing_ShouldBeThrottled() throws Exception {
+        createUser("scripted");
+        for (int i = 0; i < properties.getUsernameMaxFailures(); i++) {
+            mockMvc.perform(get("/api/bugs/1").with(from("198.51.100." + (50 + i))).with(httpBasic("scripted", "guess" + i)))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        long failures = loginThrottle.getFailureCount();
+        mockMvc.perform(get("/api/bugs/1").with(from("198.51.100.99")).with(httpBasic("scripted", "correct-password")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        mockMvc.perform(get("/actuator/metrics").with(from("198.51.100.99")).with(httpBasic("scripted", "correct-password")))
+                .andExpect(status().isTooManyRequests());
+        assertThat(loginThrottle.getFailureCount()).as("passwords checked while throttled").isEqualTo(failures);
+    }
+
+    @Test
+    @DisplayName("Bad HTTP Basic credentials from one IP count against it, whatever the username")
+    void basicFloodFromOneIp_ShouldBeThrottled() throws Exception {
+        for (int i = 0; i < properties.getIpMaxFailures(); i++) {
+            mockMvc.perform(get("/api/bugs/1").with(from("203.0.113.80")).with(httpBasic("nobody" + i, "guess")))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        mockMvc.perform(get("/api/bugs/1").with(from("203.0.113.80")).with(httpBasic("someone", "guess")))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/api/bugs/1").with(from("203.0.113.81")).with(httpBasic("someone", "guess")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("The login page explains a throttled attempt")
+    void loginPage_ShouldShowThrottledMessage() throws Exception {
+        mockMvc.perform(get("/auth").param("throttled", ""))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("loginError", "Too many login attempts. Please wait a few minutes and try again."));
+    }
+
+    @Test
+    @DisplayName("A regular login is not affected")
+    void regularLogin_ShouldSucceed() throws Exception {
+        createUser("regular");
+        mockMvc.perform(post("/login").with(from("192.0.2.10")).with(csrf())
+                        .param("username", "regular")
+                        .param("password", "correct-password"))
+                .andExpect(redirectedUrl("/"));
+    }
+}
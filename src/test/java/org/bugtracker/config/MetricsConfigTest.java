@@ -0,0 +1,134 @@
+package org.bugtracker.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.entities.User;
+import org.bugtracker.problems.NotFoundException;
+import org.bugtracker.repos.BugRepo;
+import org.bugtracker.repos.UserRepo;
+import org.bugtracker.services.BugService;
+import org.bugtracker.services.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks that the service timers and the Hibernate, pool, cache and login meters are recorded and
+ * published at the Prometheus endpoint, and that only admins may scrape it.
+ * Runs on the mock servlet environment, so Tomcat's thread meters are not part of it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+@DisplayName("Metrics Tests")
+class MetricsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Autowired
+    private BugService bugService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BugRepo bugRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Bug bug;
+
+    @BeforeEach
+    void setUp() {
+        userRepo.save(new User("admin", passwordEncoder.encode("admin-pass"), "Ada", "Admin", "admin@example.com", true));
+        userRepo.save(new User("jdoe", passwordEncoder.encode("jdoe-pass"), "John", "Doe", "jdoe@example.com", false));
+        bug = bugService.createBug(new Bug("Login fails", "Steps", Priority.HIGH, Status.OPEN));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bugRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    private double serviceCalls(String method) {
+        Timer timer = registry.find(MetricsConfig.SERVICE_TIMER).tag("method", method).tag("exception", "none").timer();
+        return timer == null ? 0 : timer.count(); // Registered on the first call
+    }
+
+    @Test
+    @DisplayName("Every service method call should be timed, including failed ones")
+    void serviceTimers() {
+        double before = serviceCalls("getBugById");
+
+        bugService.getBugById(bug.getId());
+        bugService.getBugById(bug.getId());
+        userService.findByUsername("jdoe");
+        assertThrows(NotFoundException.class, () -> bugService.getBugById(-1L));
+
+        assertThat(serviceCalls("getBugById")).isEqualTo(before + 2);
+        assertThat(serviceCalls("findByUsername")).isPositive();
+        assertThat(registry.get(MetricsConfig.SERVICE_TIMER).tag("method", "createBug").tag("exception", "none")
+                .timer().count()).isPositive();
+        assertThat(registry.get(MetricsConfig.SERVICE_TIMER).tag("method", "getBugById").tag("exception", "NotFoundException")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("The Prometheus endpoint should publish the application, Hibernate, pool and cache meters")
+    void prometheus() throws Exception {
+        bugService.getBugById(bug.getId());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus").with(httpBasic("admin", "admin-pass")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("bugtracker_service_seconds_count{")
+                .contains("bugtracker_service_seconds_bucket{")
+                .contains("spring_data_repository_invocations_seconds_count{")
+                .contains("hikaricp_connections_active{")
+                .contains("hibernate_query_executions_total{")
+                .contains("hibernate_statements_total{")
+                .contains("hibernate_second_level_cache_requests_total{")
+                .contains("cache_gets_total{")
+                .contains("bugtracker_login_attempts_total")
+                .contains("bugtracker_password_hashing_queued")
+                .contains("http_server_requests_seconds_count{");
+    }
+
+    @Test
+    @DisplayName("Health should be public, the other endpoints only for admins")
+    void endpointSecurity() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("jdoe", "jdoe-pass"))).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("admin", "admin-pass"))).andExpect(status().isOk());
+    }
+}
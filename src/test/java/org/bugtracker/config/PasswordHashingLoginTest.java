@@ -0,0 +1,71 @@
+package org.bugtracker.config;
+
+import org.bugtracker.entities.User;
+import org.bugtracker.repos.UserRepo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Logs in through the real form login while the password-hashing pool cannot keep up: the wait for the
+ * BCrypt check times out after 1 ms, far less than a strength-12 hash takes. The login must fail like any
+ * other, back to the login page, instead of escaping the filter chain as a 500.
+ */
+@SpringBootTest(properties = {
+        "bugtracker.password-hashing.threads=1",
+        "bugtracker.password-hashing.queue-capacity=1",
+        "bugtracker.password-hashing.timeout=1ms",
+        "bugtracker.password-hashing.strength=4",
+        "bugtracker.login-throttling.enabled=false"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Password hashing login Tests")
+class PasswordHashingLoginTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @AfterEach
+    void tearDown() {
+        userRepo.deleteAll();
+    }
+
+    @Test
+    @DisplayName("A login whose password check times out should be sent back to the login page as busy")
+    void login_WithSaturatedPool_ShouldRedirectAsBusy() throws Exception {
+        // Hashed here, not through the saturated encoder; verifying it takes far longer than the timeout
+        userRepo.save(new User("patient", new BCryptPasswordEncoder(12).encode("correct-password"), "First", "Last",
+                "patient@example.com", false));
+
+        mockMvc.perform(post("/login").with(csrf())
+                        .param("username", "patient")
+                        .param("password", "correct-password"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/auth?busy"));
+    }
+
+    @Test
+    @DisplayName("The login page explains a busy server")
+    void loginPage_ShouldShowBusyMessage() throws Exception {
+        mockMvc.perform(get("/auth").param("busy", ""))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("loginError",
+                        "The server is too busy to check your password right now. Please try again in a moment."));
+    }
+}
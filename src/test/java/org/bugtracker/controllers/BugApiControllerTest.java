@@ -0,0 +1,251 @@
+package org.bugtracker.controllers;
+
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.entities.User;
+import org.bugtracker.repos.BugRepo;
+import org.bugtracker.repos.UserRepo;
+import org.bugtracker.services.BugService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the bug REST API against the embedded H2 database, with a focus on the ETag handling
+ * (conditional GETs for polling clients, conditional PATCH and DELETE).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("BugApiController Tests")
+class BugApiControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BugService bugService;
+
+    @Autowired
+    private BugRepo bugRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Bug bug;
+    private User jdoe;
+
+    @BeforeEach
+    void setUp() {
+        jdoe = userRepo.save(new User("jdoe", "not-a-hash", "John", "Doe", "jdoe@example.com", false));
+        bug = bugService.createBug(new Bug("Login fails", "Steps", Priority.HIGH, Status.OPEN));
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                userRepo.findAll().forEach(user -> user.getAssignedBugs().clear()));
+        bugRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    private String etagOfBug() throws Exception {
+        return mockMvc.perform(get("/api/bugs/" + bug.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /api/bugs/{id} should return the bug with a strong ETag")
+    void getBug() throws Exception {
+        mockMvc.perform(get("/api/bugs/" + bug.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, matchesPattern("\"[0-9]+\"")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(jsonPath("$.title").value("Login fails"))
+                .andExpect(jsonPath("$.priority").value("HIGH"))
+                .andExpect(jsonPath("$.version").value(bug.getVersion()))
+                .andExpect(jsonPath("$.assignees").isEmpty());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("A conditional GET should return 304 until the bug or its assignees change")
+    void getBug_IfNoneMatch() throws Exception {
+        String etag = etagOfBug();
+
+        mockMvc.perform(get("/api/bugs/" + bug.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        bugService.assignUsers(bug.getId(), List.of(jdoe.getId()));
+        String afterAssignment = etagOfBug();
+        assertThat(afterAssignment).isNotEqualTo(etag);
+        mockMvc.perform(get("/api/bugs/" + bug.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.assignees[0].username").value("jdoe"));
+
+        Bug current = bugService.getBugById(bug.getId()); // The assignment bumped the version
+        current.setStatus(Status.IN_PROGRESS);
+        bugService.updateBug(bug.getId(), current);
+        assertThat(etagOfBug()).isNotIn(etag, afterAssignment);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("A conditional GET of the list should return 304 until a bug in the slice changes")
+    void listBugs_IfNoneMatch() throws Exception {
+        String etag = mockMvc.perform(get("/api/bugs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(bug.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/bugs").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        bugService.createBug(new Bug("Logout fails", "Steps", Priority.LOW, Status.OPEN));
+        mockMvc.perform(get("/api/bugs").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("POST /api/bugs should create a bug and point to it")
+    void createBug() throws Exception {
+        String location = mockMvc.perform(post("/api/bugs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Crash\",\"description\":\"On save\",\"priority\":\"CRITICAL\","
+                                + "\"assigneeIds\":[" + jdoe.getId() + "]}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.status").value("OPEN"))
+                .andExpect(jsonPath("$.assignees[0].username").value("jdoe"))
+                .andReturn().getResponse().getHeader(HttpHeaders.LOCATION);
+
+        mockMvc.perform(get(location)).andExpect(status().isOk()).andExpect(jsonPath("$.title").value("Crash"));
+        mockMvc.perform(post("/api/bugs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"No description\",\"priority\":\"LOW\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("PATCH /api/bugs/{id} should apply the change only to the version the client has seen")
+    void patchBug_IfMatch() throws Exception {
+        String etag = etagOfBug();
+
+        String newEtag = mockMvc.perform(patch("/api/bugs/" + bug.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"RESOLVED\"}"))
+                .andExpect(status().isNoContent())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newEtag).isNotEqualTo(etag).isEqualTo(etagOfBug());
+        Bug patched = bugService.getBugById(bug.getId());
+        assertThat(patched.getStatus()).isEqualTo(Status.RESOLVED);
+        assertThat(patched.getTitle()).isEqualTo("Login fails");
+
+        // A second client still holding the old ETag must not overwrite the change
+        mockMvc.perform(patch("/api/bugs/" + bug.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"CLOSED\"}"))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(bugService.getBugById(bug.getId()).getStatus()).isEqualTo(Status.RESOLVED);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("PATCH /api/bugs/{id} with a stale version in the body should answer 409")
+    void patchBug_StaleVersion() throws Exception {
+        long version = bug.getVersion();
+        bugService.patchBug(bug.getId(), version, new Bug(null, null, null, Status.IN_PROGRESS));
+
+        mockMvc.perform(patch("/api/bugs/" + bug.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"CLOSED\",\"version\":" + version + "}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(patch("/api/bugs/" + bug.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"assigneeIds\":[" + jdoe.getId() + "],\"version\":" + (version + 1) + "}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (version + 2) + "\""));
+
+        Bug current = bugService.getBugById(bug.getId());
+        assertThat(current.getStatus()).isEqualTo(Status.IN_PROGRESS);
+        assertThat(current.getAssignedUsers()).extracting(User::getUsername).containsExactly("jdoe");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("DELETE /api/bugs/{id} should honour If-Match and then remove the bug")
+    void deleteBug_IfMatch() throws Exception {
+        mockMvc.perform(delete("/api/bugs/" + bug.getId()).header(HttpHeaders.IF_MATCH, "\"stale\""))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(delete("/api/bugs/" + bug.getId()).header(HttpHeaders.IF_MATCH, etagOfBug()))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/bugs/" + bug.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Unauthenticated API requests should get 401 instead of the login redirect")
+    void unauthenticated() throws Exception {
+        mockMvc.perform(get("/api/bugs/" + bug.getId()))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"BugTracker\""));
+        mockMvc.perform(get("/api/bugs/" + bug.getId()).with(httpBasic("jdoe", "wrong")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("HTTP Basic credentials should be enough to change bugs, without a session or CSRF token")
+    void httpBasic_WithoutSessionOrCsrf() throws Exception {
+        userRepo.save(new User("api", passwordEncoder.encode("secret"), "Api", "Client", "api@example.com", false));
+
+        mockMvc.perform(patch("/api/bugs/" + bug.getId()).with(httpBasic("api", "secret"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"IN_PROGRESS\"}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().doesNotExist(HttpHeaders.SET_COOKIE));
+        assertThat(bugService.getBugById(bug.getId()).getStatus()).isEqualTo(Status.IN_PROGRESS);
+    }
+}
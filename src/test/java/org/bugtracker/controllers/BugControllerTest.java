@@ -1,12 +1,18 @@
 package org.bugtracker.controllers;
 
+import org.bugtracker.entities.AssigneeDto;
 import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.BugSummaryDto;
 import org.bugtracker.entities.Priority;
 import org.bugtracker.entities.Status;
 import org.bugtracker.entities.User;
+import org.bugtracker.problems.InvalidCriteriaException;
+import org.bugtracker.problems.ConcurrentUpdateException;
 import org.bugtracker.problems.NotFoundException;
 import org.bugtracker.services.BugService;
 import org.bugtracker.services.UserService;
+import org.bugtracker.util.BugCursor;
+import org.bugtracker.util.KeysetPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -27,6 +33,8 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -66,8 +74,9 @@ class BugControllerTest {
         testBug.setCreatedAt(LocalDateTime.now().minusDays(1));
         testBug.setUpdatedAt(LocalDateTime.now());
 
-        // Mock the user service call that happens in create/edit forms to populate dropdowns
-        when(userService.getAllUsers(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(testUser)));
+        testUser.setFirstName("Test");
+        testUser.setLastName("User");
+        testBug.getAssignedUsers().add(testUser);
     }
 
     @Nested
@@ -77,8 +86,8 @@ class BugControllerTest {
         @WithMockUser // Any authenticated user can view
         @DisplayName("Should return the bug list view for an authenticated user")
         void getAllBugs_ShouldReturnBugListPage() throws Exception {
-            Page<Bug> bugPage = new PageImpl<>(List.of(testBug));
-            when(bugService.getAllBugs(any(Pageable.class))).thenReturn(bugPage);
+            Page<BugSummaryDto> bugPage = new PageImpl<>(List.of(BugSummaryDto.from(testBug)));
+            when(bugService.getBugSummaries(any(Pageable.class))).thenReturn(bugPage);
 
             mockMvc.perform(get("/bugs"))
                     .andExpect(status().isOk())
@@ -86,6 +95,8 @@ class BugControllerTest {
                     .andExpect(model().attributeExists("bugsPage"))
                     .andExpect(model().attribute("bugsPage", hasProperty("content", hasSize(1))))
                     .andExpect(model().attribute("currentPage", "bugs"));
+
+            verify(bugService, never()).getAllBugs(any(Pageable.class));
         }
 
         @Test
@@ -97,6 +108,130 @@ class BugControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /bugs/browse - Keyset Bug List")
+    class BrowseBugsTests {
+        @Test
+        @WithMockUser
+        @DisplayName("Should render the list view with keyset navigation")
+        void browseBugs_ShouldReturnListWithCursors() throws Exception {
+            when(bugService.getBugsByCursor(null, 10)).thenReturn(new KeysetPage<>(List.of(BugSummaryDto.from(testBug)), 10, "nextToken", null));
+
+            mockMvc.perform(get("/bugs/browse"))
+                    .andExpect(status().isOk())
+                    .andExpect(view().name("bugs/list"))
+                    .andExpect(model().attribute("keyset", true))
+                    .andExpect(content().string(containsString("cursor=nextToken")));
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should return JSON with opaque cursors when JSON is requested")
+        void browseBugs_AsJson_ShouldReturnCursors() throws Exception {
+            when(bugService.getBugsByCursor("abc", 5)).thenReturn(new KeysetPage<>(List.of(BugSummaryDto.from(testBug)), 5, "next", "prev"));
+
+            mockMvc.perform(get("/bugs/browse").param("cursor", "abc").param("size", "5")
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.content[0].title").value("Test Bug Title"))
+                    .andExpect(jsonPath("$.nextCursor").value("next"))
+                    .andExpect(jsonPath("$.previousCursor").value("prev"));
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should answer 400 for a malformed cursor in JSON mode")
+        void browseBugs_AsJson_WithInvalidCursor_ShouldBeBadRequest() throws Exception {
+            when(bugService.getBugsByCursor("bad", 10))
+                    .thenThrow(new InvalidCriteriaException("cursor", "pagination.error.invalid_cursor"));
+
+            mockMvc.perform(get("/bugs/browse").param("cursor", "bad").accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /bugs/search - Search Bugs")
+    class SearchBugsTests {
+        @Test
+        @WithMockUser
+        @DisplayName("Should pass the form fields as criteria and render the list view")
+        void searchBugs_ShouldReturnFilteredList() throws Exception {
+            when(bugService.searchBugsByCursor(anyList(), isNull(), eq(10)))
+                    .thenReturn(new KeysetPage<>(List.of(BugSummaryDto.from(testBug)), 10, null, null));
+
+            mockMvc.perform(get("/bugs/search").param("title", "Test").param("status", "OPEN"))
+                    .andExpect(status().isOk())
+                    .andExpect(view().name("bugs/list"))
+                    .andExpect(model().attribute("bugsPage", hasProperty("content", hasSize(1))))
+                    .andExpect(model().attribute("search", hasProperty("title", is("Test"))));
+
+            verify(bugService, times(1)).searchBugsByCursor(argThat(criteria -> criteria.size() == 2), isNull(), eq(10));
+            verify(bugService, never()).searchBugs(anyList(), any(Pageable.class));
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should open the next page of a search from its cursor, and link on with the same search")
+        void searchBugs_NextPage_ShouldKeepCriteria() throws Exception {
+            String cursor = BugCursor.next(11L).encode();
+            String older = BugCursor.next(1L).encode();
+            String newer = BugCursor.previous(1L).encode();
+            when(bugService.searchBugsByCursor(anyList(), eq(cursor), eq(10)))
+                    .thenReturn(new KeysetPage<>(List.of(BugSummaryDto.from(testBug)), 10, older, newer));
+
+            mockMvc.perform(get("/bugs/search").param("title", "login page").param("status", "OPEN")
+                            .param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andExpect(model().attribute("keyset", true))
+                    .andExpect(content().string(containsString(
+                            "/bugs/search?title=login%20page&amp;status=OPEN&amp;cursor=" + older + "&amp;size=10")))
+                    .andExpect(content().string(containsString(
+                            "/bugs/search?title=login%20page&amp;status=OPEN&amp;cursor=" + newer + "&amp;size=10")));
+
+            verify(bugService).searchBugsByCursor(argThat(criteria -> criteria.size() == 2), eq(cursor), eq(10));
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should show an empty list with an error for invalid criteria")
+        void searchBugs_WithInvalidCriteria_ShouldShowError() throws Exception {
+            when(bugService.searchBugsByCursor(anyList(), isNull(), anyInt()))
+                    .thenThrow(new InvalidCriteriaException("status", "search.error.invalid_status"));
+
+            mockMvc.perform(get("/bugs/search").param("status", "NOPE"))
+                    .andExpect(status().isOk())
+                    .andExpect(view().name("bugs/list"))
+                    .andExpect(model().attribute("searchError", "search.error.invalid_status"))
+                    .andExpect(model().attribute("bugsPage", hasProperty("content", hasSize(0))));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /bugs/assignees - Assignee Typeahead")
+    class AssigneeTypeaheadTests {
+        @Test
+        @WithMockUser
+        @DisplayName("Should return matching users as JSON without credentials")
+        void findAssignees_ShouldReturnSuggestions() throws Exception {
+            when(userService.searchAssignees("te", 10)).thenReturn(List.of(AssigneeDto.from(testUser)));
+
+            mockMvc.perform(get("/bugs/assignees").param("q", "te").accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].id").value(1))
+                    .andExpect(jsonPath("$[0].username").value("testuser"))
+                    .andExpect(jsonPath("$[0].displayName").value("Test User (testuser)"))
+                    .andExpect(jsonPath("$[0].password").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Should redirect unauthenticated user to login")
+        void findAssignees_Unauthenticated_ShouldRedirect() throws Exception {
+            mockMvc.perform(get("/bugs/assignees").param("q", "te"))
+                    .andExpect(status().is3xxRedirection());
+        }
+    }
+
     @Nested
     @DisplayName("GET /bugs/new - Create Bug Form")
     class CreateBugFormTests {
@@ -108,10 +243,11 @@ class BugControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(view().name("bugs/create"))
                     .andExpect(model().attributeExists("bug"))
-                    .andExpect(model().attributeExists("users"))
+                    .andExpect(model().attributeExists("selectedAssignees"))
                     .andExpect(model().attribute("currentPage", "createBug"));
 
-            verify(userService, times(1)).getAllUsers(any(Pageable.class));
+            // The forms must never load the whole user table
+            verify(userService, never()).getAllUsers(any(Pageable.class));
         }
 
         @Test
@@ -130,7 +266,7 @@ class BugControllerTest {
         @WithMockUser // Any authenticated user can create
         @DisplayName("Should create a new bug and redirect to its detail page on success")
         void createBug_WithValidData_ShouldCreateBugAndRedirect() throws Exception {
-            when(bugService.createBug(any(Bug.class))).thenReturn(testBug);
+            when(bugService.createBug(any(Bug.class), any())).thenReturn(testBug);
 
             mockMvc.perform(post("/bugs")
                             .contentType(MediaType.APPLICATION_FORM_URLENCODED)
@@ -138,12 +274,15 @@ class BugControllerTest {
                             .param("description", testBug.getDescription())
                             .param("priority", testBug.getPriority().name())
                             .param("status", testBug.getStatus().name())
+                            .param("assigneeIds", "1", "2")
                             .with(csrf()))
                     .andExpect(status().is3xxRedirection())
                     .andExpect(redirectedUrl("/bugs/" + testBug.getId()))
                     .andExpect(flash().attribute("successMessage", "Bug created successfully!"));
 
-            verify(bugService, times(1)).createBug(any(Bug.class));
+            // Bug and assignees in one service call, i.e. one transaction
+            verify(bugService, times(1)).createBug(any(Bug.class), eq(List.of(1L, 2L)));
+            verify(bugService, never()).assignUsers(anyLong(), any());
         }
 
         @Test
@@ -159,11 +298,12 @@ class BugControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(view().name("bugs/create"))
                     .andExpect(model().attributeHasFieldErrors("bug", "title"))
-                    .andExpect(model().attributeExists("users")) // Ensure users are re-added
+                    .andExpect(model().attributeExists("selectedAssignees")) // Ensure the picked users are re-added
                     .andExpect(model().attribute("currentPage", "createBug"));
 
-            verify(bugService, never()).createBug(any(Bug.class));
-            verify(userService, times(1)).getAllUsers(any(Pageable.class));
+            verify(bugService, never()).createBug(any(Bug.class), any());
+            // The forms must never load the whole user table
+            verify(userService, never()).getAllUsers(any(Pageable.class));
         }
     }
 
@@ -210,10 +350,11 @@ class BugControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(view().name("bugs/edit"))
                     .andExpect(model().attribute("bug", hasProperty("id", is(1L))))
-                    .andExpect(model().attributeExists("users"))
+                    .andExpect(model().attributeExists("selectedAssignees"))
                     .andExpect(model().attribute("currentPage", "editBug"));
 
-            verify(userService, times(1)).getAllUsers(any(Pageable.class));
+            // The forms must never load the whole user table
+            verify(userService, never()).getAllUsers(any(Pageable.class));
         }
 
         @Test
@@ -237,7 +378,7 @@ class BugControllerTest {
         @WithMockUser // Any authenticated user can update
         @DisplayName("Should update bug and redirect to detail page on success")
         void updateBug_WithValidData_ShouldUpdateAndRedirect() throws Exception {
-            when(bugService.updateBug(eq(1L), any(Bug.class))).thenReturn(testBug);
+            when(bugService.updateBug(eq(1L), any(Bug.class), any())).thenReturn(testBug);
 
             mockMvc.perform(post("/bugs/1/edit")
                             .contentType(MediaType.APPLICATION_FORM_URLENCODED)
@@ -250,7 +391,51 @@ class BugControllerTest {
                     .andExpect(redirectedUrl("/bugs/1"))
                     .andExpect(flash().attribute("successMessage", "Bug updated successfully!"));
 
-            verify(bugService, times(1)).updateBug(eq(1L), any(Bug.class));
+            verify(bugService, times(1)).updateBug(eq(1L), any(Bug.class), isNull());
+            verify(bugService, never()).assignUsers(anyLong(), any());
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should replace the assignees with the users picked in the form")
+        void updateBug_WithAssignees_ShouldAssignUsers() throws Exception {
+            when(bugService.updateBug(eq(1L), any(Bug.class), any())).thenReturn(testBug);
+
+            mockMvc.perform(post("/bugs/1/edit")
+                            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                            .param("title", "Updated Title")
+                            .param("description", "Updated description.")
+                            .param("priority", "HIGH")
+                            .param("status", "IN_PROGRESS")
+                            .param("assigneeIds", "1", "2")
+                            .with(csrf()))
+                    .andExpect(status().is3xxRedirection())
+                    .andExpect(redirectedUrl("/bugs/1"));
+
+            verify(bugService, times(1)).updateBug(eq(1L), any(Bug.class), eq(List.of(1L, 2L)));
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should return to edit form with the user's input if the bug changed in the meantime")
+        void updateBug_WithStaleVersion_ShouldReturnFormWithConflict() throws Exception {
+            when(bugService.updateBug(eq(1L), any(Bug.class), any()))
+                    .thenThrow(new ConcurrentUpdateException("Bug 1 was changed by someone else"));
+
+            mockMvc.perform(post("/bugs/1/edit")
+                            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                            .param("title", "Updated Title")
+                            .param("description", "Updated description.")
+                            .param("priority", "HIGH")
+                            .param("status", "IN_PROGRESS")
+                            .param("version", "3")
+                            .with(csrf()))
+                    .andExpect(status().isOk())
+                    .andExpect(view().name("bugs/edit"))
+                    .andExpect(model().attributeHasErrors("bug"))
+                    .andExpect(model().attribute("bug", hasProperty("title", is("Updated Title"))));
+
+            verify(bugService, never()).assignUsers(anyLong(), any());
         }
 
         @Test
@@ -268,11 +453,12 @@ class BugControllerTest {
                     .andExpect(status().isOk())
                     .andExpect(view().name("bugs/edit"))
                     .andExpect(model().attributeHasFieldErrors("bug", "title"))
-                    .andExpect(model().attributeExists("users")) // Ensure users are re-added
+                    .andExpect(model().attributeExists("selectedAssignees")) // Ensure the picked users are re-added
                     .andExpect(model().attribute("currentPage", "editBug"));
 
-            verify(bugService, never()).updateBug(anyLong(), any(Bug.class));
-            verify(userService, times(1)).getAllUsers(any(Pageable.class));
+            verify(bugService, never()).updateBug(anyLong(), any(Bug.class), any());
+            // The forms must never load the whole user table
+            verify(userService, never()).getAllUsers(any(Pageable.class));
         }
     }
 
@@ -0,0 +1,158 @@
+package org.bugtracker.controllers;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.entities.User;
+import org.bugtracker.repos.BugRepo;
+import org.bugtracker.repos.UserRepo;
+import org.bugtracker.services.BugService;
+import org.bugtracker.support.StatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the number of SQL statements issued by the bug pages against N+1 regressions.
+ * Runs the real services against the embedded H2 database.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Bug pages statement count Tests")
+class BugQueryCountTest {
+
+    private static final int BUG_COUNT = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BugService bugService;
+
+    @Autowired
+    private BugRepo bugRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private StatementCounter counter;
+    private Long firstBugId;
+
+    @BeforeEach
+    void setUp() {
+        counter = new StatementCounter(entityManagerFactory);
+
+        List<Bug> bugs = new ArrayList<>();
+        for (int i = 0; i < BUG_COUNT; i++) {
+            bugs.add(new Bug("Bug " + i, "Description " + i, Priority.MEDIUM, Status.OPEN));
+        }
+        bugs = bugRepo.saveAll(bugs);
+        firstBugId = bugs.get(0).getId();
+
+        // Every bug gets two assignees (assignments are owned by the User side)
+        for (int u = 0; u < 3; u++) {
+            User user = new User("counter" + u, "secret-password", "First", "Last", "counter" + u + "@example.com", false);
+            for (int i = 0; i < BUG_COUNT; i++) {
+                if (i % 3 != u) {
+                    user.getAssignedBugs().add(bugs.get(i));
+                }
+            }
+            userRepo.save(user);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepo.deleteAll();
+        bugRepo.deleteAll();
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Bug detail page loads the bug and its assignees with at most two statements, none once cached")
+    void detailPage_ShouldUseAtMostTwoStatements() throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        counter.reset();
+
+        mockMvc.perform(get("/bugs/" + firstBugId))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("counter1")));
+
+        // Cold: the bug, then its assignees with one join (no query per assignee)
+        counter.assertStatementCountAtMost(2);
+
+        counter.reset();
+        mockMvc.perform(get("/bugs/" + firstBugId))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("counter1")));
+
+        // Warm: bug, assignee IDs and assignees all come from the second-level cache
+        counter.assertStatementCount(0);
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Bug list page issues one select and one count, independent of the number of bugs")
+    void listPage_ShouldUseTwoStatements() throws Exception {
+        counter.reset();
+
+        mockMvc.perform(get("/bugs").param("size", String.valueOf(BUG_COUNT)))
+                .andExpect(status().isOk());
+
+        counter.assertStatementCount(2);
+    }
+
+    @Test
+    @WithMockUser
+    @DisplayName("Keyset bug list issues a single statement")
+    void keysetListPage_ShouldUseOneStatement() throws Exception {
+        counter.reset();
+
+        mockMvc.perform(get("/bugs/browse").param("size", String.valueOf(BUG_COUNT)))
+                .andExpect(status().isOk());
+
+        counter.assertStatementCount(1);
+    }
+
+    @Test
+    @DisplayName("Touching the assignees of a page of bugs batch-fetches them instead of one query per bug")
+    void entityPage_ShouldBatchFetchAssignees() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        counter.reset();
+
+        int assignments = tx.execute(status -> bugService.getAllBugs(PageRequest.of(0, BUG_COUNT)).getContent().stream()
+                .mapToInt(bug -> bug.getAssignedUsers().size())
+                .sum());
+
+        assertThat(assignments).isEqualTo(BUG_COUNT * 2);
+        // 1 page select + 1 count + 1 batched collection fetch (20 bugs < batch size 50)
+        counter.assertStatementCountAtMost(3);
+    }
+}
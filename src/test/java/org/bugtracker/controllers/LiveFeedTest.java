@@ -0,0 +1,202 @@
+package org.bugtracker.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.entities.User;
+import org.bugtracker.repos.UserRepo;
+import org.bugtracker.services.BugEventHub;
+import org.bugtracker.services.BugService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reads the live feed at /bugs/events like a browser's EventSource, with a real Tomcat: the changes made
+ * through BugService arrive as coalesced batches, and only once their transaction has committed.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "bugtracker.live-feed.coalesce-window=200ms",
+        "bugtracker.login-throttling.enabled=false",
+        "bugtracker.password-hashing.strength=4"})
+@ActiveProfiles("test")
+@DisplayName("Live Feed Tests")
+class LiveFeedTest {
+
+    private static final Pattern CSRF_INPUT = Pattern.compile("name=\"_csrf\"[^>]*value=\"([^\"]*)\"");
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BugService bugService;
+
+    @Autowired
+    private BugEventHub bugEventHub;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Stream<String>> streams = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        userRepo.save(new User("watcher", passwordEncoder.encode("password"), "Live", "Feed",
+                "watcher@example.com", false));
+    }
+
+    @AfterEach
+    void tearDown() {
+        streams.forEach(Stream::close);
+        jdbcTemplate.batchUpdate("DELETE FROM user_assigned_bugs", "DELETE FROM bug", "DELETE FROM app_user");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    /** Logs in through the login form, like a browser; the returned client keeps the session cookie. */
+    private HttpClient login() throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        Matcher csrf = CSRF_INPUT.matcher(client.send(HttpRequest.newBuilder(uri("/auth")).build(),
+                HttpResponse.BodyHandlers.ofString()).body());
+        assertThat(csrf.find()).isTrue();
+        String form = "username=watcher&password=password&_csrf=" + URLEncoder.encode(csrf.group(1), StandardCharsets.UTF_8);
+        client.send(HttpRequest.newBuilder(uri("/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form)).build(), HttpResponse.BodyHandlers.discarding());
+        return client;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    /** Opens the feed; the data of every batch is put in the returned queue as it arrives. */
+    private BlockingQueue<JsonNode> subscribe(HttpClient client) throws Exception {
+        return subscribe(client, null);
+    }
+
+    /** Opens the feed like a reconnecting browser, which names the last batch it received. */
+    private BlockingQueue<JsonNode> subscribe(HttpClient client, String lastEventId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri("/bugs/events")).header("Accept", "text/event-stream");
+        if (lastEventId != null) {
+            request.header(BugEventHub.LAST_EVENT_ID_HEADER, lastEventId);
+        }
+        HttpResponse<Stream<String>> response = client.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(
+                type -> assertThat(type).startsWith("text/event-stream"));
+        streams.add(response.body());
+
+        BlockingQueue<JsonNode> batches = new LinkedBlockingQueue<>();
+        Thread reader = new Thread(() -> response.body()
+                .filter(line -> line.startsWith("data:"))
+                .forEach(line -> {
+                    try {
+                        batches.add(objectMapper.readTree(line.substring("data:".length())));
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }), "live-feed-reader");
+        reader.setDaemon(true);
+        reader.start();
+        return batches;
+    }
+
+    private static List<Long> ids(JsonNode batch) {
+        List<Long> ids = new ArrayList<>();
+        batch.get("changes").forEach(change -> ids.add(change.get("id").asLong()));
+        return ids;
+    }
+
+    @Test
+    @DisplayName("Committed changes should arrive as one batch; rolled-back ones not at all")
+    void pushesCommittedChanges() throws Exception {
+        BlockingQueue<JsonNode> batches = subscribe(login());
+        assertThat(bugEventHub.getClientCount()).isPositive();
+
+        Long rolledBack = new TransactionTemplate(transactionManager).execute(status -> {
+            Long id = bugService.createBug(new Bug("Rolled back", "Never committed", Priority.LOW, Status.OPEN)).getId();
+            status.setRollbackOnly();
+            return id;
+        });
+        Long created = bugService.createBug(new Bug("Live", "Pushed to open pages", Priority.HIGH, Status.OPEN)).getId();
+        Bug changed = bugService.getBugById(created);
+        changed.setStatus(Status.IN_PROGRESS);
+        bugService.updateBug(created, changed);
+
+        JsonNode batch = batches.poll(10, TimeUnit.SECONDS);
+        assertThat(batch).as("batch").isNotNull();
+        assertThat(ids(batch)).containsExactly(created).doesNotContain(rolledBack);
+        assertThat(batch.get("changes").get(0).get("type").asText()).isEqualTo("CREATED");
+        assertThat(batches.poll(1, TimeUnit.SECONDS)).as("further batches").isNull();
+    }
+
+    @Test
+    @DisplayName("A browser reconnecting after batches it missed should be told to reload")
+    void reconnectAfterMissedBatches() throws Exception {
+        // The ID of a batch from before a restart
+        BlockingQueue<JsonNode> batches = subscribe(login(), "0-1");
+
+        JsonNode batch = batches.poll(10, TimeUnit.SECONDS);
+        assertThat(batch).as("batch").isNotNull();
+        assertThat(batch.get("reload").asBoolean()).isTrue();
+        assertThat(batch.get("changes")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("The feed should require a login")
+    void requiresLogin() throws Exception {
+        HttpResponse<Void> response = HttpClient.newHttpClient().send(HttpRequest.newBuilder(uri("/bugs/events")).build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        // The login redirect; an EventSource gives up on it instead of reconnecting
+        assertThat(response.statusCode()).isEqualTo(302);
+    }
+}
@@ -1,32 +1,42 @@
 package org.bugtracker.controllers;
 
+import org.bugtracker.config.LoginThrottle;
+import org.bugtracker.config.SecurityConfig;
 import org.bugtracker.entities.User;
 import org.bugtracker.problems.NotFoundException;
+import org.bugtracker.services.BulkDeleteService;
 import org.bugtracker.services.UserService;
+import org.bugtracker.util.BulkDeleteResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(UserController.class)
+@Import({SecurityConfig.class, LoginThrottle.class}) // The real URL rules: /users/** is for admins only
+@ActiveProfiles("test") // Not the default dev profile, whose data loader needs the full service layer
 @DisplayName("UserController Tests")
 class UserControllerTest {
 
@@ -36,6 +46,9 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private BulkDeleteService bulkDeleteService;
+
     private User testUser;
     private User adminUser;
 
@@ -217,4 +230,35 @@ class UserControllerTest {
 
         verify(userService).deleteUser(99L);
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("POST /users/bulk-delete - Admin should purge the listed users and get the counts back")
+    void bulkDeleteUsers_AsAdmin_Success() throws Exception {
+        BulkDeleteResult result = new BulkDeleteResult(3);
+        result.addDeleted(2, 5);
+        when(bulkDeleteService.deleteUsers(eq(List.of(1L, 2L, 99L)), isNull())).thenReturn(result);
+
+        mockMvc.perform(post("/users/bulk-delete").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2, 99]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(3))
+                .andExpect(jsonPath("$.deleted").value(2))
+                .andExpect(jsonPath("$.assignmentsDeleted").value(5));
+
+        verify(bulkDeleteService).deleteUsers(eq(List.of(1L, 2L, 99L)), isNull());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("POST /users/bulk-delete - Regular user should be forbidden")
+    void bulkDeleteUsers_AsUser_Forbidden() throws Exception {
+        mockMvc.perform(post("/users/bulk-delete").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1]"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(bulkDeleteService);
+    }
+}
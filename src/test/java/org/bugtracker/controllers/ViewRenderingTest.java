@@ -0,0 +1,176 @@
+package org.bugtracker.controllers;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.Filter;
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.BugDetailDto;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.entities.User;
+import org.bugtracker.repos.BugRepo;
+import org.bugtracker.repos.UserRepo;
+import org.bugtracker.services.BugService;
+import org.bugtracker.support.ConnectionPoolProbe;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewFilter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.model;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Renders the Thymeleaf pages with the real services and without open-session-in-view: the persistence
+ * context is closed before a template runs, so any lazy load from a template fails the request (and the test)
+ * with a LazyInitializationException. Also compares how long requests keep a pooled connection with and
+ * without open-session-in-view, on a deliberately small pool.
+ */
+@SpringBootTest(properties = "spring.datasource.hikari.maximum-pool-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(ConnectionPoolProbe.class)
+@DisplayName("View rendering Tests")
+class ViewRenderingTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewRenderingTest.class);
+
+    private static final RequestPostProcessor AS_USER = user("jdoe").roles("USER");
+    private static final RequestPostProcessor AS_ADMIN = user("admin").roles("ADMIN");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    @Qualifier("springSecurityFilterChain")
+    private Filter springSecurityFilterChain;
+
+    @Autowired
+    private ConnectionPoolProbe probe;
+
+    @Autowired
+    private BugService bugService;
+
+    @Autowired
+    private BugRepo bugRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Bug bug;
+    private User jdoe;
+
+    @BeforeEach
+    void setUp() {
+        jdoe = userRepo.save(new User("jdoe", "not-a-hash", "John", "Doe", "jdoe@example.com", false));
+        userRepo.save(new User("admin", "not-a-hash", "Ada", "Admin", "admin@example.com", true));
+        bug = bugService.createBug(new Bug("Login fails", "Steps", Priority.HIGH, Status.OPEN));
+        bugService.assignUsers(bug.getId(), List.of(jdoe.getId()));
+        // Start cold, so the pages cannot get away with entities that happen to be cached
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                userRepo.findAll().forEach(user -> user.getAssignedBugs().clear()));
+        bugRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Bug pages should render from fully loaded models")
+    void bugPages() throws Exception {
+        mockMvc.perform(get("/bugs").with(AS_USER)).andExpect(status().isOk());
+        mockMvc.perform(get("/bugs/browse").with(AS_USER)).andExpect(status().isOk());
+        mockMvc.perform(get("/bugs/search").param("status", "OPEN").with(AS_USER)).andExpect(status().isOk());
+        mockMvc.perform(get("/bugs/new").with(AS_USER)).andExpect(status().isOk());
+        mockMvc.perform(get("/bugs/" + bug.getId()).with(AS_USER))
+                .andExpect(status().isOk())
+                .andExpect(model().attribute("bug", instanceOf(BugDetailDto.class)));
+        mockMvc.perform(get("/bugs/" + bug.getId() + "/edit").with(AS_USER)).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("User and static pages should render from fully loaded models")
+    void userPages() throws Exception {
+        mockMvc.perform(get("/users").with(AS_ADMIN)).andExpect(status().isOk());
+        mockMvc.perform(get("/users/" + jdoe.getId() + "/edit").with(AS_ADMIN)).andExpect(status().isOk());
+        mockMvc.perform(get("/users/profile").with(AS_ADMIN)).andExpect(status().isOk());
+        mockMvc.perform(get("/").with(AS_USER)).andExpect(status().isOk());
+        mockMvc.perform(get("/about").with(AS_USER)).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Without open-session-in-view, requests should hold pooled connections for less time")
+    void poolUsage_ComparedToOpenSessionInView() throws Exception {
+        OpenEntityManagerInViewFilter openInView = new OpenEntityManagerInViewFilter();
+        openInView.setServletContext(webApplicationContext.getServletContext());
+        MockMvc withOpenInView = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilters(springSecurityFilterChain, openInView)
+                .build();
+        renderConcurrently(mockMvc, 40); // Warm-up: templates compiled, caches filled
+
+        probe.reset();
+        renderConcurrently(withOpenInView, 200);
+        String withOsiv = probe.summary();
+
+        probe.reset();
+        renderConcurrently(mockMvc, 200);
+        String withoutOsiv = probe.summary();
+
+        logger.info("200 bug pages on 8 threads and 2 pooled connections; with open-session-in-view: {}; without: {}",
+                withOsiv, withoutOsiv);
+        assertThat(probe.getAcquisitions()).isPositive();
+    }
+
+    private void renderConcurrently(MockMvc mvc, int requests) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                String url = i % 2 == 0 ? "/bugs/" + bug.getId() : "/bugs";
+                statuses.add(executor.submit(() ->
+                        mvc.perform(get(url).with(AS_USER)).andReturn().getResponse().getStatus()));
+            }
+            for (Future<Integer> status : statuses) {
+                assertThat(status.get()).isEqualTo(200);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
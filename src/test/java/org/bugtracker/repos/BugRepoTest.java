@@ -0,0 +1,111 @@
+package org.bugtracker.repos;
+
+import jakarta.persistence.EntityManager;
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.BugSummaryDto;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.util.BugCursor;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the custom list-page queries of {@link BugRepo} against the embedded H2 database.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("BugRepo Tests")
+class BugRepoTest {
+
+    @Autowired
+    private BugRepo bugRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        bugRepo.deleteAll();
+        ids.clear();
+        for (int i = 1; i <= 5; i++) {
+            Bug bug = bugRepo.save(new Bug("Bug " + i, "Long description " + i, Priority.MEDIUM, Status.OPEN));
+            ids.add(bug.getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Summary page should be sorted, counted and not managed by the persistence context")
+    void findAllSummaries() {
+        Page<BugSummaryDto> page = bugRepo.findAllSummaries(PageRequest.of(0, 2, Sort.by("title").descending()));
+
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(page.getContent()).extracting(BugSummaryDto::getTitle).containsExactly("Bug 5", "Bug 4");
+        assertThat(page.getContent().get(0).getUpdatedAt()).isNotNull();
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Keyset queries should seek from the boundary id in both directions")
+    void keysetQueries() {
+        PageRequest limit = PageRequest.of(0, 2);
+
+        assertThat(bugRepo.findNewestSummaries(limit)).extracting(BugSummaryDto::getId)
+                .containsExactly(ids.get(4), ids.get(3));
+        assertThat(bugRepo.findSummariesBefore(ids.get(3), limit)).extracting(BugSummaryDto::getId)
+                .containsExactly(ids.get(2), ids.get(1));
+        assertThat(bugRepo.findSummariesAfter(ids.get(1), limit)).extracting(BugSummaryDto::getId)
+                .containsExactly(ids.get(2), ids.get(3));
+    }
+
+    @Test
+    @DisplayName("Filtered keyset queries should seek from the boundary id past the non-matching bugs")
+    void filteredKeysetQueries() {
+        Specification<Bug> notFourth = (root, query, cb) -> cb.notEqual(root.get("id"), ids.get(3));
+
+        assertThat(bugRepo.findSummaries(notFourth, null, 2)).extracting(BugSummaryDto::getId)
+                .containsExactly(ids.get(4), ids.get(2));
+        assertThat(bugRepo.findSummaries(notFourth, BugCursor.next(ids.get(2)), 2)).extracting(BugSummaryDto::getId)
+                .containsExactly(ids.get(1), ids.get(0));
+        assertThat(bugRepo.findSummaries(notFourth, BugCursor.previous(ids.get(1)), 2)).extracting(BugSummaryDto::getId)
+                .containsExactly(ids.get(2), ids.get(4));
+        assertThat(bugRepo.findSummaries(Specification.where(null), null, 10)).hasSize(5);
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Priority should be stored as its code and sort by severity")
+    void priorityOrder() {
+        bugRepo.deleteAll();
+        for (Priority priority : List.of(Priority.MEDIUM, Priority.CRITICAL, Priority.LOW, Priority.HIGH)) {
+            bugRepo.save(new Bug(priority.getDisplayName() + " bug", "d", priority, Status.IN_PROGRESS));
+        }
+        entityManager.flush();
+
+        Page<BugSummaryDto> page = bugRepo.findAllSummaries(PageRequest.of(0, 10, Sort.by("priority").descending()));
+
+        assertThat(page.getContent()).extracting(BugSummaryDto::getPriority)
+                .containsExactly(Priority.CRITICAL, Priority.HIGH, Priority.MEDIUM, Priority.LOW);
+        Object[] stored = (Object[]) entityManager.createNativeQuery(
+                "SELECT PRIORITY, STATUS FROM BUG WHERE TITLE = 'High bug'").getSingleResult();
+        assertThat(((Number) stored[0]).intValue()).isEqualTo(Priority.HIGH.getCode());
+        assertThat(((Number) stored[1]).intValue()).isEqualTo(Status.IN_PROGRESS.getCode());
+    }
+}
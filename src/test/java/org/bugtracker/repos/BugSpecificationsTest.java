@@ -0,0 +1,109 @@
+package org.bugtracker.repos;
+
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.problems.InvalidCriteriaException;
+import org.bugtracker.util.CriteriaDto;
+import org.bugtracker.util.SearchableBugField;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs the search specifications against the embedded H2 database.
+ * The "test" profile keeps the dev-only data loader (which needs the service layer) out of the JPA slice.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("BugSpecifications Tests")
+class BugSpecificationsTest {
+
+    @Autowired
+    private BugRepo bugRepo;
+
+    @BeforeEach
+    void setUp() {
+        bugRepo.deleteAll();
+        bugRepo.saveAll(List.of(
+                new Bug("Login page unresponsive", "Inputs are not clickable", Priority.HIGH, Status.OPEN),
+                new Bug("Login button misaligned", "Off by 2px", Priority.LOW, Status.IN_PROGRESS),
+                new Bug("Dashboard 100% CPU", "Spins forever", Priority.CRITICAL, Status.OPEN)));
+    }
+
+    private List<Bug> search(CriteriaDto... criteria) {
+        return bugRepo.findAll(BugSpecifications.fromCriteria(List.of(criteria)));
+    }
+
+    @Test
+    @DisplayName("Title contains match is case-insensitive")
+    void titleContains() {
+        assertThat(search(new CriteriaDto(SearchableBugField.TITLE, "login")))
+                .extracting(Bug::getTitle)
+                .containsExactlyInAnyOrder("Login page unresponsive", "Login button misaligned");
+    }
+
+    @Test
+    @DisplayName("Title exact match only returns the identical title")
+    void titleExact() {
+        assertThat(search(new CriteriaDto(SearchableBugField.TITLE, "Login button misaligned", true)))
+                .extracting(Bug::getTitle)
+                .containsExactly("Login button misaligned");
+        assertThat(search(new CriteriaDto(SearchableBugField.TITLE, "Login", true))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("LIKE wildcards in the search value are matched literally")
+    void wildcardsAreEscaped() {
+        assertThat(search(new CriteriaDto(SearchableBugField.TITLE, "100%")))
+                .extracting(Bug::getTitle)
+                .containsExactly("Dashboard 100% CPU");
+        assertThat(search(new CriteriaDto(SearchableBugField.TITLE, "_"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Multiple criteria are combined with AND")
+    void criteriaAreCombined() {
+        assertThat(search(
+                new CriteriaDto(SearchableBugField.TITLE, "login"),
+                new CriteriaDto(SearchableBugField.STATUS, "open", true)))
+                .extracting(Bug::getTitle)
+                .containsExactly("Login page unresponsive");
+    }
+
+    @Test
+    @DisplayName("Enum contains match resolves display names to an IN predicate")
+    void enumContains() {
+        // "i" matches CRITICAL, HIGH and MEDIUM (but not LOW); no MEDIUM bug exists in the fixture
+        assertThat(search(new CriteriaDto(SearchableBugField.PRIORITY, "i")))
+                .extracting(Bug::getPriority)
+                .containsExactlyInAnyOrder(Priority.HIGH, Priority.CRITICAL);
+        assertThat(search(new CriteriaDto(SearchableBugField.STATUS, "In Progress", true)))
+                .extracting(Bug::getStatus)
+                .containsExactly(Status.IN_PROGRESS);
+        assertThat(search(new CriteriaDto(SearchableBugField.STATUS, "zzz"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Unknown exact enum value is rejected")
+    void unknownExactEnumValue() {
+        InvalidCriteriaException e = assertThrows(InvalidCriteriaException.class,
+                () -> search(new CriteriaDto(SearchableBugField.PRIORITY, "urgent", true)));
+        assertThat(e.getFieldName()).isEqualTo("priority");
+        assertThat(e.getMessageKey()).isEqualTo("search.error.invalid_priority");
+    }
+
+    @Test
+    @DisplayName("Empty criteria match every bug")
+    void emptyCriteria() {
+        assertThat(search(new CriteriaDto(SearchableBugField.TITLE, " "))).hasSize(3);
+    }
+}
@@ -0,0 +1,36 @@
+package org.bugtracker.repos;
+
+import org.bugtracker.entities.AssigneeDto;
+import org.bugtracker.services.UserService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the assignee typeahead against the schema the dev profile generates from the entities, with Flyway off.
+ * The lower-cased name columns must be computed there too, or every prefix search comes back empty.
+ * The users are the ones the dev data loader creates (jdoe "John Doe", asmith "Alice Smith").
+ */
+@SpringBootTest(properties = {
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql=INFO",
+        "spring.jpa.properties.hibernate.show_sql=false"})
+@ActiveProfiles("dev")
+@DisplayName("Dev profile typeahead Tests")
+class DevProfileTypeaheadTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    @DisplayName("Prefixes of the username, first and last name should match case-insensitively")
+    void typeaheadMatchesSeededUsers() {
+        assertThat(userService.searchAssignees("JD", 10)).extracting(AssigneeDto::getUsername).containsExactly("jdoe");
+        assertThat(userService.searchAssignees("ali", 10)).extracting(AssigneeDto::getUsername).containsExactly("asmith");
+        assertThat(userService.searchAssignees("Smi", 10)).extracting(AssigneeDto::getUsername).containsExactly("asmith");
+    }
+}
@@ -0,0 +1,146 @@
+package org.bugtracker.repos;
+
+import org.bugtracker.entities.AssigneeDto;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks with H2's {@code EXPLAIN} that the hot queries run on the schema built by the migrations use an
+ * index instead of scanning a table. The SQL mirrors what Hibernate generates for the named repository
+ * methods and specifications; the tables are filled first so the optimizer sees realistic row counts.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Query plan Tests")
+class QueryPlanTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryPlanTest.class);
+
+    private static final String SUMMARY_COLUMNS = "SELECT B.ID, B.TITLE, B.PRIORITY, B.STATUS, B.CREATED_AT, B.UPDATED_AT FROM BUG B";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @BeforeEach
+    void setUp() {
+        Status[] statuses = Status.values();
+        Priority[] priorities = Priority.values();
+        List<Object[]> bugs = new ArrayList<>();
+        for (int i = 1; i <= 2_000; i++) {
+            bugs.add(new Object[]{i, "Bug " + i, statuses[i % statuses.length].getCode(),
+                    priorities[i % priorities.length].getCode()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO BUG (ID, TITLE, DESCRIPTION, CREATED_AT, UPDATED_AT, VERSION, STATUS, PRIORITY) "
+                + "VALUES (?, ?, 'd', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0, ?, ?)", bugs);
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> assignments = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            users.add(new Object[]{i, "user" + i, "user" + i + "@example.com"});
+            for (int bug = i; bug <= 2_000; bug += 100) {
+                assignments.add(new Object[]{i, bug});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO APP_USER (ID, USERNAME, PASSWORD, FIRST_NAME, LAST_NAME, EMAIL, IS_ADMIN, CREATED_AT, UPDATED_AT) "
+                + "VALUES (?, ?, 'x', 'First', 'Last', ?, FALSE, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO USER_ASSIGNED_BUGS (USER_ID, BUG_ID) VALUES (?, ?)", assignments);
+    }
+
+    private String plan(String sql) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        logger.info("Plan of {}:\n{}", sql, plan);
+        return plan;
+    }
+
+    @Test
+    @DisplayName("The list sorted by last change should read the update time index in order")
+    void listByUpdatedAt() {
+        String plan = plan(SUMMARY_COLUMNS + " ORDER BY B.UPDATED_AT DESC FETCH FIRST 10 ROWS ONLY");
+
+        assertThat(plan).contains("IDX_BUG_UPDATED_AT").contains("index sorted");
+    }
+
+    @Test
+    @DisplayName("The list sorted by creation should read the creation time index in order")
+    void listByCreatedAt() {
+        String plan = plan(SUMMARY_COLUMNS + " ORDER BY B.CREATED_AT DESC FETCH FIRST 10 ROWS ONLY");
+
+        assertThat(plan).contains("IDX_BUG_CREATED_AT").contains("index sorted");
+    }
+
+    @Test
+    @DisplayName("A status search sorted by last change should use the status/update time index")
+    void searchByStatus() {
+        String plan = plan(SUMMARY_COLUMNS + " WHERE B.STATUS = 1 ORDER BY B.UPDATED_AT DESC FETCH FIRST 10 ROWS ONLY");
+
+        assertThat(plan).contains("IDX_BUG_STATUS_UPDATED_AT: STATUS = 1");
+    }
+
+    @Test
+    @DisplayName("A priority and status search should use the priority/status index")
+    void searchByPriorityAndStatus() {
+        String plan = plan(SUMMARY_COLUMNS + " WHERE B.PRIORITY = 30 AND B.STATUS = 1");
+
+        assertThat(plan).contains("IDX_BUG_PRIORITY_STATUS: PRIORITY = 30").contains("AND STATUS = 1");
+    }
+
+    @Test
+    @DisplayName("Counting the bugs per status should not read the bug rows")
+    void countByStatus() {
+        String plan = plan("SELECT B.STATUS, COUNT(*) FROM BUG B GROUP BY B.STATUS");
+
+        assertThat(plan).contains("IDX_BUG_STATUS_UPDATED_AT");
+    }
+
+    @Test
+    @DisplayName("The bugs of a user (User.assignedBugs) should be found through the join-table index")
+    void bugsOfUser() {
+        String plan = plan("SELECT B.ID, B.TITLE FROM USER_ASSIGNED_BUGS A JOIN BUG B ON B.ID = A.BUG_ID WHERE A.USER_ID = 7");
+
+        assertThat(plan).contains("IDX_USER_ASSIGNED_BUGS_USER_ID: USER_ID =").doesNotContain("tableScan");
+    }
+
+    @Test
+    @DisplayName("The assignees of a bug (Bug.assignedUsers) should be found through the join-table primary key")
+    void assigneesOfBug() {
+        String plan = plan("SELECT U.ID, U.USERNAME FROM USER_ASSIGNED_BUGS A JOIN APP_USER U ON U.ID = A.USER_ID WHERE A.BUG_ID = 7");
+
+        assertThat(plan).containsPattern("PRIMARY_KEY_\\w*: BUG_ID =").doesNotContain("tableScan");
+    }
+
+    @Test
+    @DisplayName("The assignee typeahead should find each name prefix through its lower-cased index")
+    void assigneesByPrefix() {
+        String plan = plan("SELECT U.ID, U.USERNAME, U.FIRST_NAME, U.LAST_NAME FROM APP_USER U WHERE U.ID IN ("
+                + "SELECT N.ID FROM APP_USER N WHERE N.USERNAME_LOWER LIKE 'us%' ESCAPE '\\' "
+                + "UNION SELECT N.ID FROM APP_USER N WHERE N.FIRST_NAME_LOWER LIKE 'us%' ESCAPE '\\' "
+                + "UNION SELECT N.ID FROM APP_USER N WHERE N.LAST_NAME_LOWER LIKE 'us%' ESCAPE '\\') "
+                + "ORDER BY U.USERNAME FETCH FIRST 10 ROWS ONLY");
+
+        assertThat(plan).contains("IDX_APP_USER_USERNAME_LOWER: USERNAME_LOWER >= 'us'")
+                .contains("IDX_APP_USER_FIRST_NAME_LOWER: FIRST_NAME_LOWER >= 'us'")
+                .contains("IDX_APP_USER_LAST_NAME_LOWER: LAST_NAME_LOWER >= 'us'")
+                .doesNotContain("tableScan");
+        // The repository query has this shape, and matches regardless of case
+        assertThat(userRepo.findAssigneesByPrefix("user1%", PageRequest.of(0, 3)))
+                .extracting(AssigneeDto::getUsername).containsExactly("user1", "user10", "user100");
+        assertThat(userRepo.findAssigneesByPrefix("las%", PageRequest.of(0, 100))).hasSize(100);
+    }
+}
@@ -0,0 +1,45 @@
+package org.bugtracker.repos;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the migrations in db/migration on a database that already holds data in an older schema version,
+ * as an existing installation would.
+ */
+@DisplayName("Schema migration Tests")
+class SchemaMigrationTest {
+
+    private static Flyway flyway(DriverManagerDataSource dataSource, String target) {
+        return Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").target(target).load();
+    }
+
+    @Test
+    @DisplayName("V3 should convert the status and priority names of existing bugs to their codes")
+    void statusAndPriorityCodes() {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:schema-migration;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        flyway(dataSource, "2").migrate();
+        jdbcTemplate.update("INSERT INTO BUG (ID, TITLE, DESCRIPTION, CREATED_AT, UPDATED_AT, VERSION, PRIORITY, STATUS) VALUES "
+                + "(1, 'a', 'd', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0, 'CRITICAL', 'IN_PROGRESS'), "
+                + "(2, 'b', 'd', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0, 'LOW', 'REOPENED'), "
+                + "(3, 'c', 'd', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0, 'MEDIUM', 'OPEN')");
+
+        flyway(dataSource, "latest").migrate();
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("SELECT ID, PRIORITY, STATUS FROM BUG ORDER BY PRIORITY DESC");
+        assertThat(rows).extracting(row -> ((Number) row.get("ID")).longValue()).containsExactly(1L, 3L, 2L);
+        assertThat(rows).extracting(row -> ((Number) row.get("PRIORITY")).intValue()).containsExactly(40, 20, 10);
+        assertThat(rows).extracting(row -> ((Number) row.get("STATUS")).intValue()).containsExactly(2, 1, 5);
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+}
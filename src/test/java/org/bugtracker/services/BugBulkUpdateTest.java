@@ -0,0 +1,171 @@
+package org.bugtracker.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.problems.InvalidCriteriaException;
+import org.bugtracker.repos.BugRepo;
+import org.bugtracker.support.StatementCounter;
+import org.bugtracker.util.CriteriaDto;
+import org.bugtracker.util.SearchableBugField;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the set-based bulk status/priority updates against the embedded H2 database, including their effect
+ * on the second-level cache and the triage-sized close-out the feature exists for.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Bug bulk update Tests")
+class BugBulkUpdateTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BugBulkUpdateTest.class);
+
+    @Autowired
+    private BugService bugService;
+
+    @Autowired
+    private BugRepo bugRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private List<Bug> bugs;
+
+    @BeforeEach
+    void setUp() {
+        bugs = bugService.createBugs(List.of(
+                new Bug("Login fails", "d", Priority.HIGH, Status.RESOLVED),
+                new Bug("Logout fails", "d", Priority.LOW, Status.RESOLVED),
+                new Bug("Crash", "d", Priority.CRITICAL, Status.OPEN)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bugRepo.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Updating by IDs should change only those bugs and stamp their update time")
+    void bulkUpdateByIds() {
+        LocalDateTime before = bugService.getBugById(bugs.get(0).getId()).getUpdatedAt();
+
+        int updated = bugService.bulkUpdateByIds(List.of(bugs.get(0).getId(), bugs.get(2).getId(), -1L),
+                Status.CLOSED, null);
+
+        assertThat(updated).isEqualTo(2);
+        Bug first = bugService.getBugById(bugs.get(0).getId());
+        assertThat(first.getStatus()).isEqualTo(Status.CLOSED);
+        assertThat(first.getPriority()).isEqualTo(Priority.HIGH);
+        assertThat(first.getUpdatedAt()).isAfter(before);
+        assertThat(bugService.getBugById(bugs.get(1).getId()).getStatus()).isEqualTo(Status.RESOLVED);
+        assertThat(bugService.getBugById(bugs.get(2).getId()).getStatus()).isEqualTo(Status.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Updating by criteria should change exactly the matching bugs in one statement")
+    void bulkUpdateByCriteria() {
+        StatementCounter counter = new StatementCounter(entityManagerFactory);
+        counter.reset();
+
+        int updated = bugService.bulkUpdateByCriteria(List.of(
+                new CriteriaDto(SearchableBugField.STATUS, "RESOLVED", true),
+                new CriteriaDto(SearchableBugField.TITLE, "login")), Status.CLOSED, Priority.LOW);
+
+        assertThat(updated).isEqualTo(1);
+        counter.assertStatementCount(1);
+        Bug login = bugService.getBugById(bugs.get(0).getId());
+        assertThat(login.getStatus()).isEqualTo(Status.CLOSED);
+        assertThat(login.getPriority()).isEqualTo(Priority.LOW);
+        assertThat(bugService.getBugById(bugs.get(1).getId()).getStatus()).isEqualTo(Status.RESOLVED);
+    }
+
+    @Test
+    @DisplayName("Bugs held in the second-level cache should not be served stale after a bulk update")
+    void bulkUpdate_ShouldKeepCacheConsistent() {
+        Long id = bugs.get(2).getId();
+        bugService.getBugById(id); // Cache the bug
+        assertThat(entityManagerFactory.getCache().contains(Bug.class, id)).isTrue();
+
+        bugService.bulkUpdateByIds(List.of(id), Status.IN_PROGRESS, null);
+
+        assertThat(bugService.getBugById(id).getStatus()).isEqualTo(Status.IN_PROGRESS);
+    }
+
+    @Test
+    @DisplayName("A bulk update without a filter or without new values should be rejected")
+    void bulkUpdate_ShouldRejectIncompleteRequests() {
+        assertThrows(InvalidCriteriaException.class, () -> bugService.bulkUpdateByCriteria(List.of(), Status.CLOSED, null));
+        assertThrows(InvalidCriteriaException.class,
+                () -> bugService.bulkUpdateByCriteria(List.of(new CriteriaDto(SearchableBugField.TITLE, " ")), Status.CLOSED, null));
+        assertThrows(InvalidCriteriaException.class, () -> bugService.bulkUpdateByIds(List.of(bugs.get(0).getId()), null, null));
+        assertThat(bugRepo.findAll()).extracting(Bug::getStatus).doesNotContain(Status.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Closing 5,000 bugs should take one UPDATE per 1,000 IDs")
+    void bulkUpdate_CloseOut() {
+        List<Bug> triage = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            triage.add(new Bug("Triage " + i, "d", Priority.MEDIUM, Status.RESOLVED));
+        }
+        List<Long> ids = bugService.createBugs(triage).stream().map(Bug::getId).toList();
+        bugService.bulkUpdateByIds(ids, Status.REOPENED, null); // Warm-up: query compilation and JIT
+        StatementCounter counter = new StatementCounter(entityManagerFactory);
+        counter.reset();
+
+        long start = System.nanoTime();
+        int updated = bugService.bulkUpdateByIds(ids, Status.CLOSED, null);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        logger.info("Closed {} bugs in {} ms with {} statements", updated, elapsedMillis, counter.getStatementCount());
+        assertThat(updated).isEqualTo(5_000);
+        counter.assertStatementCount(5); // Wall-clock time is logged only; it depends too much on the machine
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("POST /bugs/bulk-update should report the number of updated bugs")
+    void bulkUpdateEndpoint() throws Exception {
+        mockMvc.perform(post("/bugs/bulk-update").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"criteria\":[{\"field\":\"STATUS\",\"value\":\"RESOLVED\",\"exactMatch\":true}],"
+                                + "\"status\":\"CLOSED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2));
+
+        mockMvc.perform(post("/bugs/bulk-update").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[" + bugs.get(0).getId() + "]}"))
+                .andExpect(status().isBadRequest());
+    }
+}
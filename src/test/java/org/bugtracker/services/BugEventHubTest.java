@@ -0,0 +1,362 @@
+package org.bugtracker.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bugtracker.config.LiveFeedProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the coalescing, the per-client buffers and the batch IDs of BugEventHub. The batches are flushed
+ * by hand and written to streams that record what they are sent, or take nothing while stalled, like a client
+ * on a stalled network. The writes happen on the calling thread, so a write that waited would hang the test.
+ */
+@DisplayName("BugEventHub Tests")
+class BugEventHubTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** Records the frames written to it as SSE text; refuses writes while not ready, as a servlet would. */
+    static class RecordingStream implements EventStream {
+
+        private final List<String> sent = new ArrayList<>();
+        private final IOException failure;
+        private Runnable onWritable;
+        private Runnable onClosed;
+        private boolean ready = true;
+        private boolean closed;
+        private int read;
+
+        RecordingStream() {
+            this(null);
+        }
+
+        RecordingStream(IOException failure) {
+            this.failure = failure;
+        }
+
+        @Override
+        public void start(Runnable onWritable, Runnable onClosed) {
+            this.onWritable = onWritable;
+            this.onClosed = onClosed;
+        }
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void write(byte[] frame) throws IOException {
+            if (failure != null) {
+                throw failure;
+            }
+            assertThat(ready).as("written only while ready").isTrue();
+            sent.add(new String(frame, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void flush() {
+            assertThat(ready).as("flushed only while ready").isTrue();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        /** The network stops taking data. */
+        void stall() {
+            ready = false;
+        }
+
+        /** The network takes data again, and the container says so. */
+        void resume() {
+            ready = true;
+            onWritable.run();
+        }
+
+        /** The browser goes away, and the container says so. */
+        void disconnect() {
+            closed = true;
+            onClosed.run();
+        }
+
+        /** The next frame not read yet, or null. */
+        String nextFrame() {
+            return read < sent.size() ? sent.get(read++) : null;
+        }
+
+        /** The next frame that carries a batch, skipping heartbeats and ID-only frames. */
+        JsonNode nextBatch() throws Exception {
+            String frame;
+            do {
+                frame = nextFrame();
+                assertThat(frame).as("next batch").isNotNull();
+            } while (!frame.contains("event:" + BugEventHub.EVENT_NAME + "\n"));
+            return objectMapper.readTree(field(frame, "data"));
+        }
+    }
+
+    private LiveFeedProperties properties;
+    private BugEventHub hub;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LiveFeedProperties();
+        // The tests flush by hand
+        properties.setCoalesceWindow(Duration.ofHours(1));
+        properties.setHeartbeatInterval(Duration.ofHours(1));
+        properties.setMaxChangesPerBatch(100);
+        properties.setClientBufferSize(2);
+        hub = new BugEventHub(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    /** The value of a field of an SSE frame, or null if it has none. */
+    private static String field(String frame, String name) {
+        return frame.lines().filter(line -> line.startsWith(name + ":"))
+                .map(line -> line.substring(name.length() + 1)).findFirst().orElse(null);
+    }
+
+    private static List<String> changes(JsonNode batch) {
+        List<String> changes = new ArrayList<>();
+        batch.get("changes").forEach(change -> changes.add(change.get("id").asLong() + ":" + change.get("type").asText()));
+        return changes;
+    }
+
+    @Test
+    @DisplayName("A burst of changes should reach every client as one batch, one entry per bug")
+    void coalescesBurst() throws Exception {
+        RecordingStream first = new RecordingStream();
+        RecordingStream second = new RecordingStream();
+        hub.register(first, null);
+        hub.register(second, null);
+
+        for (int i = 0; i < 50; i++) {
+            hub.onBugChange(BugChangeEvent.updated(1L));
+        }
+        hub.onBugChange(BugChangeEvent.created(2L));
+        hub.onBugChange(BugChangeEvent.updated(2L));
+        hub.onBugChange(BugChangeEvent.updated(3L));
+        hub.onBugChange(BugChangeEvent.deleted(3L));
+        hub.flush();
+        hub.flush(); // Nothing new since
+
+        for (RecordingStream stream : List.of(first, second)) {
+            JsonNode batch = stream.nextBatch();
+            assertThat(changes(batch)).containsExactly("1:UPDATED", "2:CREATED", "3:DELETED");
+            assertThat(batch.get("reload").asBoolean()).isFalse();
+            assertThat(stream.nextFrame()).isNull();
+        }
+        assertThat(hub.getBatchCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("More changes than a batch may list should collapse into a reload")
+    void collapsesLargeBurstIntoReload() throws Exception {
+        RecordingStream stream = new RecordingStream();
+        hub.register(stream, null);
+
+        hub.onBugChange(BugChangeEvent.created(LongStream.rangeClosed(1, 500).boxed().toList()));
+        hub.onBugChange(BugChangeEvent.updated(501L));
+        hub.flush();
+
+        JsonNode batch = stream.nextBatch();
+        assertThat(batch.get("reload").asBoolean()).isTrue();
+        assertThat(changes(batch)).isEmpty();
+
+        // The next window lists its changes again
+        hub.onBugChange(BugChangeEvent.updatedUnknown());
+        hub.flush();
+        assertThat(stream.nextBatch().get("reload").asBoolean()).isTrue();
+        hub.onBugChange(BugChangeEvent.updated(7L));
+        hub.flush();
+        assertThat(changes(stream.nextBatch())).containsExactly("7:UPDATED");
+    }
+
+    @Test
+    @DisplayName("Without clients, changes should not even be collected")
+    void ignoresChangesWithoutClients() {
+        hub.onBugChange(BugChangeEvent.updated(1L));
+        hub.register(new RecordingStream(), null);
+        hub.flush();
+
+        assertThat(hub.getBatchCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Stalled clients should be dropped once their buffers overflow, without holding back the others")
+    void dropsStalledClients() throws Exception {
+        // More stalled clients than the old pool had writer threads
+        List<RecordingStream> stalled = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            RecordingStream stream = new RecordingStream();
+            hub.register(stream, null);
+            stream.stall();
+            stalled.add(stream);
+        }
+        RecordingStream fast = new RecordingStream();
+        hub.register(fast, null);
+
+        for (long id = 1; id <= 5; id++) {
+            hub.onBugChange(BugChangeEvent.updated(id));
+            hub.flush();
+            assertThat(changes(fast.nextBatch())).containsExactly(id + ":UPDATED");
+        }
+
+        assertThat(hub.getDroppedClientCount()).isEqualTo(4);
+        assertThat(hub.getClientCount()).isEqualTo(1);
+        for (RecordingStream stream : stalled) {
+            // The stream is ended, so the browser reconnects; nothing is written to it any more
+            assertThat(stream.closed).isTrue();
+            stream.resume();
+            assertThat(stream.sent).hasSize(1); // The opening frame
+        }
+    }
+
+    @Test
+    @DisplayName("A client that stalls only briefly should get its buffered batches once it can take them")
+    void resumesStalledClient() throws Exception {
+        RecordingStream stream = new RecordingStream();
+        hub.register(stream, null);
+        stream.stall();
+
+        hub.onBugChange(BugChangeEvent.updated(1L));
+        hub.flush();
+        hub.onBugChange(BugChangeEvent.updated(2L));
+        hub.flush();
+        assertThat(stream.sent).hasSize(1);
+
+        stream.resume();
+        assertThat(changes(stream.nextBatch())).containsExactly("1:UPDATED");
+        assertThat(changes(stream.nextBatch())).containsExactly("2:UPDATED");
+        assertThat(hub.getDroppedClientCount()).isZero();
+        assertThat(stream.closed).isFalse();
+    }
+
+    @Test
+    @DisplayName("A client whose connection fails should be removed")
+    void removesFailedClient() {
+        RecordingStream stream = new RecordingStream(new IOException("Broken pipe"));
+        hub.register(stream, null);
+
+        assertThat(hub.getClientCount()).isZero();
+        assertThat(stream.closed).isTrue();
+        assertThat(hub.getDroppedClientCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Clients beyond max-clients should be turned away")
+    void rejectsClientsBeyondLimit() throws IOException {
+        properties.setMaxClients(1);
+        hub.register(new RecordingStream(), null);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        assertThat(hub.subscribe(request, new MockHttpServletResponse(), null)).isFalse();
+        assertThat(request.isAsyncStarted()).isFalse();
+        assertThat(hub.getRejectedClientCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Every batch should carry an ID, and a new client should learn the current one right away")
+    void sendsBatchIds() throws Exception {
+        RecordingStream stream = new RecordingStream();
+        hub.register(stream, null);
+
+        String opening = stream.nextFrame();
+        assertThat(field(opening, "event")).isNull();
+        assertThat(field(opening, "data")).isNull();
+        String initialId = field(opening, "id");
+        assertThat(initialId).isNotBlank();
+
+        hub.onBugChange(BugChangeEvent.updated(1L));
+        hub.flush();
+        hub.onBugChange(BugChangeEvent.updated(2L));
+        hub.flush();
+        String first = field(stream.nextFrame(), "id");
+        String second = field(stream.nextFrame(), "id");
+        assertThat(List.of(initialId, first, second)).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("A reconnecting client should be told to reload if it missed batches, and only then")
+    void honoursLastEventId() throws Exception {
+        RecordingStream watcher = new RecordingStream();
+        hub.register(watcher, null);
+        hub.onBugChange(BugChangeEvent.updated(1L));
+        hub.flush();
+        hub.onBugChange(BugChangeEvent.updated(2L));
+        hub.flush();
+        watcher.nextFrame();
+        String missedSecond = field(watcher.nextFrame(), "id");
+        String current = field(watcher.nextFrame(), "id");
+
+        RecordingStream upToDate = new RecordingStream();
+        hub.register(upToDate, current);
+        assertThat(upToDate.sent).singleElement().satisfies(frame -> {
+            assertThat(field(frame, "id")).isEqualTo(current);
+            assertThat(field(frame, "event")).isNull();
+        });
+
+        RecordingStream behind = new RecordingStream();
+        hub.register(behind, missedSecond);
+        JsonNode reload = behind.nextBatch();
+        assertThat(reload.get("reload").asBoolean()).isTrue();
+        assertThat(field(behind.sent.get(0), "id")).isEqualTo(current);
+
+        // An ID from before a restart, or from another instance
+        RecordingStream elsewhere = new RecordingStream();
+        hub.register(elsewhere, "0-1");
+        assertThat(elsewhere.nextBatch().get("reload").asBoolean()).isTrue();
+    }
+
+    @Test
+    @DisplayName("A page reconnecting after changes made while no client was connected should be told to reload")
+    void reloadsAfterChangesWithoutClients() throws Exception {
+        RecordingStream page = new RecordingStream();
+        hub.register(page, null);
+        String seen = field(page.nextFrame(), "id");
+        page.disconnect();
+        assertThat(hub.getClientCount()).isZero();
+
+        hub.onBugChange(BugChangeEvent.updated(1L));
+        hub.flush();
+
+        RecordingStream reconnected = new RecordingStream();
+        hub.register(reconnected, seen);
+        assertThat(reconnected.nextBatch().get("reload").asBoolean()).isTrue();
+        assertThat(field(reconnected.sent.get(0), "id")).isNotEqualTo(seen);
+        assertThat(hub.getBatchCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("A bug created in the window should stay new, and a deleted one deleted")
+    void coalesce() {
+        assertThat(BugEventHub.coalesce(BugChangeEvent.Type.CREATED, BugChangeEvent.Type.UPDATED))
+                .isEqualTo(BugChangeEvent.Type.CREATED);
+        assertThat(BugEventHub.coalesce(BugChangeEvent.Type.CREATED, BugChangeEvent.Type.DELETED))
+                .isEqualTo(BugChangeEvent.Type.DELETED);
+        assertThat(BugEventHub.coalesce(BugChangeEvent.Type.UPDATED, BugChangeEvent.Type.DELETED))
+                .isEqualTo(BugChangeEvent.Type.DELETED);
+        assertThat(BugEventHub.coalesce(BugChangeEvent.Type.UPDATED, BugChangeEvent.Type.UPDATED))
+                .isEqualTo(BugChangeEvent.Type.UPDATED);
+    }
+}
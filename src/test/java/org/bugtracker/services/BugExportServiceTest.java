@@ -0,0 +1,184 @@
+package org.bugtracker.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.entities.User;
+import org.bugtracker.repos.BugRepo;
+import org.bugtracker.repos.UserRepo;
+import org.bugtracker.support.StatementCounter;
+import org.bugtracker.util.BugImportFormat;
+import org.bugtracker.util.BugImportReader;
+import org.bugtracker.util.BugImportRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the streaming export against the embedded H2 database, with more bugs than one fetch window.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("BugExportService Tests")
+class BugExportServiceTest {
+
+    private static final int BUG_COUNT = 1_200; // Two full windows of BugRepo.EXPORT_FETCH_SIZE and a partial one
+
+    @Autowired
+    private BugExportService bugExportService;
+
+    @Autowired
+    private BugService bugService;
+
+    @Autowired
+    private BugRepo bugRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<Bug> bugs;
+
+    @BeforeEach
+    void setUp() {
+        User jdoe = userRepo.save(new User("jdoe", "not-a-hash", "John", "Doe", "jdoe@example.com", false));
+        User asmith = userRepo.save(new User("asmith", "not-a-hash", "Alice", "Smith", "asmith@example.com", false));
+        List<Bug> newBugs = new ArrayList<>();
+        newBugs.add(new Bug("Crash, then \"hang\"", "Line one\nLine two", Priority.CRITICAL, Status.IN_PROGRESS));
+        for (int i = 1; i < BUG_COUNT; i++) {
+            newBugs.add(new Bug("Bug " + i, "Description " + i, Priority.LOW, Status.OPEN));
+        }
+        bugs = bugService.createBugs(newBugs);
+        bugService.assignUsers(bugs.get(0).getId(), List.of(jdoe.getId(), asmith.getId()));
+        bugService.assignUsers(bugs.get(BUG_COUNT - 1).getId(), List.of(jdoe.getId()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                userRepo.findAll().forEach(user -> user.getAssignedBugs().clear()));
+        bugRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    private List<BugImportRecord> readBack(byte[] export, BugImportFormat format) throws IOException {
+        List<BugImportRecord> records = new ArrayList<>();
+        try (BugImportReader reader = BugImportReader.open(new ByteArrayInputStream(export), StandardCharsets.UTF_8, format)) {
+            BugImportRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    @Test
+    @DisplayName("The CSV export should contain every bug in ID order and be readable by the import")
+    void exportCsv() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = bugExportService.exportBugs(out, BugImportFormat.CSV);
+
+        assertThat(count).isEqualTo(BUG_COUNT);
+        List<BugImportRecord> records = readBack(out.toByteArray(), BugImportFormat.CSV);
+        assertThat(records).hasSize(BUG_COUNT);
+        assertThat(records).allSatisfy(record -> assertThat(record.problem()).isNull());
+        assertThat(records.get(0).title()).isEqualTo("Crash, then \"hang\"");
+        assertThat(records.get(0).description()).isEqualTo("Line one\nLine two");
+        assertThat(records.get(0).status()).isEqualTo("IN_PROGRESS");
+        assertThat(records.get(0).assignees()).containsExactly("asmith", "jdoe");
+        assertThat(records.get(1).title()).isEqualTo("Bug 1");
+        assertThat(records.get(1).assignees()).isEmpty();
+        assertThat(records.get(BUG_COUNT - 1).assignees()).containsExactly("jdoe");
+    }
+
+    @Test
+    @DisplayName("The NDJSON export should hold one object per line")
+    void exportNdjson() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        bugExportService.exportBugs(out, BugImportFormat.NDJSON);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(BUG_COUNT);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asLong()).isEqualTo(bugs.get(0).getId());
+        assertThat(first.get("priority").asText()).isEqualTo("CRITICAL");
+        assertThat(first.get("assignees")).hasSize(2);
+        assertThat(first.get("created_at").asText()).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("The export should read through one cursor plus one assignee query per window")
+    void export_ShouldNotQueryPerBug() throws IOException {
+        StatementCounter counter = new StatementCounter(entityManagerFactory);
+        counter.reset();
+
+        bugExportService.exportBugs(new ByteArrayOutputStream(), BugImportFormat.CSV);
+
+        int windows = (BUG_COUNT + BugRepo.EXPORT_FETCH_SIZE - 1) / BugRepo.EXPORT_FETCH_SIZE;
+        counter.assertStatementCount(1 + windows);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /bugs/export should stream the export as an attachment")
+    void exportEndpoint() throws Exception {
+        MvcResult pending = mockMvc.perform(get("/bugs/export").param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"bugs.ndjson\""))
+                .andReturn();
+        assertThat(result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n")).hasSize(BUG_COUNT);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @DisplayName("GET /bugs/export with an unknown format should be rejected")
+    void exportEndpoint_UnknownFormat() throws Exception {
+        mockMvc.perform(get("/bugs/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+}
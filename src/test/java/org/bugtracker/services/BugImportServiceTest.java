@@ -0,0 +1,208 @@
+package org.bugtracker.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.entities.User;
+import org.bugtracker.problems.InvalidImportException;
+import org.bugtracker.repos.BugRepo;
+import org.bugtracker.repos.UserRepo;
+import org.bugtracker.support.StatementCounter;
+import org.bugtracker.util.BugImportFormat;
+import org.bugtracker.util.BugImportResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the bulk import against the embedded H2 database: parsing, row validation, assignee resolution,
+ * chunked writes and the HTTP endpoint.
+ */
+@SpringBootTest(properties = "bugtracker.import.chunk-size=100")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("BugImportService Tests")
+class BugImportServiceTest {
+
+    @Autowired
+    private BugImportService bugImportService;
+
+    @Autowired
+    private BugRepo bugRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private User jdoe;
+
+    @BeforeEach
+    void setUp() {
+        jdoe = userRepo.save(new User("jdoe", "not-a-hash", "John", "Doe", "jdoe@example.com", false));
+        userRepo.save(new User("asmith", "not-a-hash", "Alice", "Smith", "asmith@example.com", false));
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                userRepo.findAll().forEach(user -> {
+                    user.getAssignedBugs().clear();
+                    userRepo.save(user);
+                }));
+        bugRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    private BugImportResult importText(String text, BugImportFormat format) throws IOException {
+        return bugImportService.importBugs(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)),
+                StandardCharsets.UTF_8, format);
+    }
+
+    private List<Bug> importedBugs() {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<Bug> bugs = bugRepo.findAll();
+            bugs.forEach(bug -> bug.getAssignedUsers().size());
+            bugs.sort(Comparator.comparing(Bug::getId));
+            return bugs;
+        });
+    }
+
+    @Test
+    @DisplayName("CSV rows with quoting, defaults and assignees should be imported")
+    void importCsv() throws IOException {
+        String csv = """
+                Title,Description,Priority,Status,Assignees
+                Crash on save,"Steps:\r
+                1. open, 2. save",HIGH,In Progress,jdoe;asmith
+                "Quoted ""title\""",Plain,low,,
+
+                Third,Another,critical,closed,jdoe
+                """;
+
+        BugImportResult result = importText(csv, BugImportFormat.CSV);
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getRejected()).isZero();
+        List<Bug> bugs = importedBugs();
+        assertThat(bugs).extracting(Bug::getTitle).containsExactly("Crash on save", "Quoted \"title\"", "Third");
+        assertThat(bugs.get(0).getDescription()).isEqualTo("Steps:\r\n1. open, 2. save");
+        assertThat(bugs.get(0).getStatus()).isEqualTo(Status.IN_PROGRESS);
+        assertThat(bugs.get(0).getAssignedUsers()).extracting(User::getUsername).containsExactlyInAnyOrder("jdoe", "asmith");
+        assertThat(bugs.get(1).getPriority()).isEqualTo(Priority.LOW);
+        assertThat(bugs.get(1).getStatus()).isEqualTo(Status.OPEN);
+        assertThat(bugs.get(1).getAssignedUsers()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Invalid NDJSON rows should be reported with their line and skipped")
+    void importNdjsonWithErrors() throws IOException {
+        String ndjson = """
+                {"title":"Valid","description":"Fine","priority":"MEDIUM","assignees":["jdoe"]}
+                {"title":"No description","priority":"MEDIUM"}
+                {not json}
+                {"title":"Bad priority","description":"x","priority":"URGENT"}
+
+                {"title":"Ghost","description":"x","priority":"LOW","assignees":["nobody"]}
+                {"title":"Also valid","description":"Fine","priority":"LOW","status":"RESOLVED"}
+                """;
+
+        BugImportResult result = importText(ndjson, BugImportFormat.NDJSON);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(4);
+        assertThat(result.getErrors()).extracting(BugImportResult.RowError::line).containsExactly(2L, 3L, 4L, 6L);
+        assertThat(result.getErrors().get(3).message()).isEqualTo("Unknown assignee: nobody");
+        assertThat(importedBugs()).extracting(Bug::getTitle).containsExactly("Valid", "Also valid");
+    }
+
+    @Test
+    @DisplayName("A CSV header without required columns should reject the whole import")
+    void importCsvWithoutRequiredColumns() {
+        assertThrows(InvalidImportException.class, () -> importText("title,status\nA,OPEN\n", BugImportFormat.CSV));
+    }
+
+    @Test
+    @DisplayName("A large import should be streamed and written in batched chunks")
+    void importLargeStream() throws IOException {
+        int rows = 5_000;
+        StatementCounter counter = new StatementCounter(entityManagerFactory);
+        counter.reset();
+
+        BugImportResult result = bugImportService.importBugs(generatedNdjson(rows), StandardCharsets.UTF_8,
+                BugImportFormat.NDJSON);
+
+        assertThat(result.getImported()).isEqualTo(rows);
+        assertThat(bugRepo.count()).isEqualTo(rows);
+        // Per chunk of 100: one assignee lookup and a couple of insert batches, never a statement per row
+        counter.assertStatementCountAtMost(rows / 10);
+        assertThat(userRepo.findUsersByAssignedBugId(importedBugs().get(0).getId())).extracting(User::getId)
+                .containsExactly(jdoe.getId());
+    }
+
+    /** Produces the rows on demand, so the input is never held in memory as a whole. */
+    private static InputStream generatedNdjson(int rows) {
+        return new InputStream() {
+            private int row;
+            private byte[] line = new byte[0];
+            private int position;
+
+            @Override
+            public int read() {
+                if (position == line.length) {
+                    if (row == rows) {
+                        return -1;
+                    }
+                    line = ("{\"title\":\"Imported " + row + "\",\"description\":\"Row " + row
+                            + "\",\"priority\":\"HIGH\",\"assignees\":[\"jdoe\"]}\n").getBytes(StandardCharsets.UTF_8);
+                    position = 0;
+                    row++;
+                }
+                return line[position++];
+            }
+        };
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("POST /bugs/import should import the request body as an admin")
+    void importEndpoint_AsAdmin() throws Exception {
+        mockMvc.perform(post("/bugs/import").with(csrf())
+                        .contentType("text/csv")
+                        .content("title,description,priority\nFrom HTTP,Body,LOW\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(0));
+    }
+}
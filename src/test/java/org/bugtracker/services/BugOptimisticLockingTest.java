@@ -0,0 +1,164 @@
+package org.bugtracker.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.entities.User;
+import org.bugtracker.problems.ConcurrentUpdateException;
+import org.bugtracker.problems.NotFoundException;
+import org.bugtracker.repos.BugRepo;
+import org.bugtracker.repos.UserRepo;
+import org.bugtracker.support.StatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that concurrent edits of a bug cannot overwrite each other, through the form path
+ * ({@link BugService#updateBug}) and the read-free conditional update ({@link BugService#patchBug}).
+ * Runs the real services against the embedded H2 database.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Optimistic locking Tests")
+class BugOptimisticLockingTest {
+
+    @Autowired
+    private BugService bugService;
+
+    @Autowired
+    private BugRepo bugRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private StatementCounter counter;
+    private Bug bug;
+
+    @BeforeEach
+    void setUp() {
+        counter = new StatementCounter(entityManagerFactory);
+        bug = bugService.createBug(new Bug("Login fails", "Steps", Priority.HIGH, Status.OPEN));
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                userRepo.findAll().forEach(user -> user.getAssignedBugs().clear()));
+        bugRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    private static Bug edit(Bug read, String title) {
+        Bug edited = new Bug(title, read.getDescription(), read.getPriority(), read.getStatus());
+        edited.setVersion(read.getVersion());
+        return edited;
+    }
+
+    @Test
+    @DisplayName("Of two edits based on the same version, the second should fail instead of overwriting the first")
+    void updateBug_WithStaleVersion_ShouldFail() {
+        Bug firstRead = bugService.getBugById(bug.getId());
+        Bug secondRead = bugService.getBugById(bug.getId());
+
+        bugService.updateBug(bug.getId(), edit(firstRead, "First edit"));
+
+        assertThrows(ConcurrentUpdateException.class,
+                () -> bugService.updateBug(bug.getId(), edit(secondRead, "Second edit")));
+        Bug current = bugService.getBugById(bug.getId());
+        assertThat(current.getTitle()).isEqualTo("First edit");
+        assertThat(current.getVersion()).isEqualTo(firstRead.getVersion() + 1);
+    }
+
+    @Test
+    @DisplayName("patchBug should change only the given fields with one UPDATE and no read")
+    void patchBug_ShouldNotLoadTheBug() {
+        Bug other = bugService.createBug(new Bug("Logout fails", "Steps", Priority.LOW, Status.OPEN));
+        bugService.getBugById(bug.getId());
+        bugService.getBugById(other.getId()); // Both cached
+        long version = bug.getVersion();
+        counter.reset();
+
+        long newVersion = bugService.patchBug(bug.getId(), version, new Bug(null, null, Priority.CRITICAL, Status.RESOLVED));
+
+        // The UPDATE goes through JDBC; Hibernate neither loads nor writes the entity
+        counter.assertStatementCount(0);
+        assertThat(newVersion).isEqualTo(version + 1);
+        Bug patched = bugService.getBugById(bug.getId());
+        assertThat(patched.getPriority()).isEqualTo(Priority.CRITICAL);
+        assertThat(patched.getStatus()).isEqualTo(Status.RESOLVED);
+        assertThat(patched.getTitle()).isEqualTo("Login fails");
+        assertThat(patched.getVersion()).isEqualTo(newVersion);
+
+        // Only the patched bug was evicted; the other one is still served from the cache
+        counter.reset();
+        bugService.getBugById(other.getId());
+        counter.assertStatementCount(0);
+    }
+
+    @Test
+    @DisplayName("patchBug should tell a stale version apart from a missing bug")
+    void patchBug_WithStaleVersionOrUnknownBug_ShouldFail() {
+        long version = bug.getVersion();
+        bugService.patchBug(bug.getId(), version, new Bug(null, null, null, Status.IN_PROGRESS));
+
+        assertThrows(ConcurrentUpdateException.class,
+                () -> bugService.patchBug(bug.getId(), version, new Bug(null, null, null, Status.CLOSED)));
+        assertThrows(NotFoundException.class,
+                () -> bugService.patchBug(-1L, 0, new Bug(null, null, null, Status.CLOSED)));
+        assertThat(bugService.getBugById(bug.getId()).getStatus()).isEqualTo(Status.IN_PROGRESS);
+    }
+
+    @Test
+    @DisplayName("patchBug with assignees should apply the fields and the assignees together, or neither")
+    void patchBug_WithAssignees_ShouldChangeBothOrNeither() {
+        User jdoe = userRepo.save(new User("jdoe", "not-a-hash", "John", "Doe", "jdoe@example.com", false));
+        long version = bug.getVersion();
+
+        long newVersion = bugService.patchBug(bug.getId(), version, new Bug(null, null, null, Status.IN_PROGRESS),
+                List.of(jdoe.getId()));
+
+        Bug patched = bugService.getBugById(bug.getId());
+        assertThat(patched.getVersion()).isEqualTo(newVersion).isGreaterThan(version);
+        assertThat(patched.getStatus()).isEqualTo(Status.IN_PROGRESS);
+        assertThat(patched.getAssignedUsers()).extracting(User::getUsername).containsExactly("jdoe");
+
+        // A client still at the old version changes nothing, neither the status nor the assignees
+        assertThrows(ConcurrentUpdateException.class, () -> bugService.patchBug(bug.getId(), version,
+                new Bug(null, null, null, Status.CLOSED), List.of()));
+        Bug current = bugService.getBugById(bug.getId());
+        assertThat(current.getVersion()).isEqualTo(newVersion);
+        assertThat(current.getStatus()).isEqualTo(Status.IN_PROGRESS);
+        assertThat(current.getAssignedUsers()).extracting(User::getUsername).containsExactly("jdoe");
+    }
+
+    @Test
+    @DisplayName("Bulk updates should increment the version, so edits based on older versions fail")
+    void bulkUpdate_ShouldIncrementVersion() {
+        Bug read = bugService.getBugById(bug.getId());
+
+        bugService.bulkUpdateByIds(List.of(bug.getId()), Status.CLOSED, null);
+
+        assertThat(bugService.getBugById(bug.getId()).getVersion()).isEqualTo(read.getVersion() + 1);
+        assertThrows(ConcurrentUpdateException.class,
+                () -> bugService.updateBug(bug.getId(), edit(read, "Reopened")));
+    }
+}
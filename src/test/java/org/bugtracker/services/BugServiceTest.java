@@ -1,10 +1,19 @@
 package org.bugtracker.services;
 
 import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.BugSummaryDto;
 import org.bugtracker.entities.Priority;
 import org.bugtracker.entities.Status;
+import org.bugtracker.entities.User;
+import org.bugtracker.problems.ConcurrentUpdateException;
 import org.bugtracker.problems.NotFoundException;
 import org.bugtracker.repos.BugRepo;
+import org.bugtracker.repos.UserRepo;
+import org.bugtracker.problems.InvalidCriteriaException;
+import org.bugtracker.util.BugCursor;
+import org.bugtracker.util.CriteriaDto;
+import org.bugtracker.util.KeysetPage;
+import org.bugtracker.util.SearchableBugField;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,13 +21,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,6 +42,12 @@ public class BugServiceTest {
     @Mock
     private BugRepo bugRepo;
 
+    @Mock
+    private UserRepo userRepo;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BugServiceImpl bugService;
 
@@ -68,6 +86,103 @@ public class BugServiceTest {
         verify(bugRepo, times(1)).findAll(pageable);
     }
 
+    @Test
+    @DisplayName("Search Bugs - Should delegate to a single specification query")
+    @SuppressWarnings("unchecked")
+    void testSearchBugs() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<Bug> bugPage = new PageImpl<>(List.of(testBug), pageable, 1);
+        when(bugRepo.findAll(any(Specification.class), eq(pageable))).thenReturn(bugPage);
+
+        Page<Bug> result = bugService.searchBugs(List.of(
+                new CriteriaDto(SearchableBugField.TITLE, "Test"),
+                new CriteriaDto(SearchableBugField.STATUS, "OPEN", true)), pageable);
+
+        assertThat(result.getContent()).containsExactly(testBug);
+        verify(bugRepo, times(1)).findAll(any(Specification.class), eq(pageable));
+        verify(bugRepo, never()).findAll(pageable);
+    }
+
+    private static BugSummaryDto bugWithId(long id) {
+        return new BugSummaryDto(id, "Bug " + id, Priority.LOW, Status.OPEN, null, null);
+    }
+
+    @Test
+    @DisplayName("Get Bug Summaries - Should use the projection query instead of loading entities")
+    void testGetBugSummaries() {
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<BugSummaryDto> summaries = new PageImpl<>(List.of(BugSummaryDto.from(testBug)), pageable, 1);
+        when(bugRepo.findAllSummaries(pageable)).thenReturn(summaries);
+
+        Page<BugSummaryDto> result = bugService.getBugSummaries(pageable);
+
+        assertThat(result.getContent()).extracting(BugSummaryDto::getTitle).containsExactly("Test Bug");
+        verify(bugRepo, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Keyset Page - First page should seek without offset or count and expose a next cursor")
+    void testGetBugsByCursor_FirstPage() {
+        when(bugRepo.findNewestSummaries(PageRequest.of(0, 3))).thenReturn(List.of(bugWithId(9), bugWithId(8), bugWithId(7)));
+
+        KeysetPage<BugSummaryDto> page = bugService.getBugsByCursor(null, 2);
+
+        assertThat(page.getContent()).extracting(BugSummaryDto::getId).containsExactly(9L, 8L);
+        assertFalse(page.hasPrevious());
+        assertEquals(BugCursor.next(8L).encode(), page.getNextCursor());
+        verify(bugRepo, never()).count();
+        verify(bugRepo, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Keyset Page - Next cursor should seek below the boundary id")
+    void testGetBugsByCursor_NextPage() {
+        when(bugRepo.findSummariesBefore(8L, PageRequest.of(0, 3))).thenReturn(List.of(bugWithId(7), bugWithId(6)));
+
+        KeysetPage<BugSummaryDto> page = bugService.getBugsByCursor(BugCursor.next(8L).encode(), 2);
+
+        assertThat(page.getContent()).extracting(BugSummaryDto::getId).containsExactly(7L, 6L);
+        assertFalse(page.hasNext());
+        assertEquals(BugCursor.previous(7L).encode(), page.getPreviousCursor());
+    }
+
+    @Test
+    @DisplayName("Keyset Page - Previous cursor should seek above the boundary id and restore display order")
+    void testGetBugsByCursor_PreviousPage() {
+        when(bugRepo.findSummariesAfter(7L, PageRequest.of(0, 3))).thenReturn(List.of(bugWithId(8), bugWithId(9)));
+
+        KeysetPage<BugSummaryDto> page = bugService.getBugsByCursor(BugCursor.previous(7L).encode(), 2);
+
+        assertThat(page.getContent()).extracting(BugSummaryDto::getId).containsExactly(9L, 8L);
+        assertFalse(page.hasPrevious());
+        assertEquals(BugCursor.next(8L).encode(), page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Keyset Page - Malformed cursor should be rejected")
+    void testGetBugsByCursor_InvalidCursor() {
+        assertThrows(InvalidCriteriaException.class, () -> bugService.getBugsByCursor("not-a-cursor!", 10));
+        verifyNoInteractions(bugRepo);
+    }
+
+    @Test
+    @DisplayName("Keyset Search - Should seek through the matching summaries without loading entities or counting")
+    @SuppressWarnings("unchecked")
+    void testSearchBugsByCursor() {
+        when(bugRepo.findSummaries(any(Specification.class), argThat((BugCursor position) ->
+                position.getDirection() == BugCursor.Direction.NEXT && position.getId() == 8L), eq(3)))
+                .thenReturn(List.of(bugWithId(6), bugWithId(4), bugWithId(2)));
+
+        KeysetPage<BugSummaryDto> page = bugService.searchBugsByCursor(
+                List.of(new CriteriaDto(SearchableBugField.STATUS, "OPEN", true)), BugCursor.next(8L).encode(), 2);
+
+        assertThat(page.getContent()).extracting(BugSummaryDto::getId).containsExactly(6L, 4L);
+        assertEquals(BugCursor.next(4L).encode(), page.getNextCursor());
+        assertEquals(BugCursor.previous(6L).encode(), page.getPreviousCursor());
+        verify(bugRepo, never()).findAll(any(Specification.class), any(Pageable.class));
+        verify(bugRepo, never()).count(any(Specification.class));
+    }
+
     @Test
     @DisplayName("Get Bug By ID - Should return bug when found")
     void testGetBugById_Found() {
@@ -127,26 +242,100 @@ public class BugServiceTest {
         verify(bugRepo, never()).save(any(Bug.class));
     }
 
+    @Test
+    @DisplayName("Assign Users - Should only add and remove the difference to the current assignees")
+    void testAssignUsers() {
+        User kept = new User("kept", "password", "Kept", "User", "kept@example.com", false);
+        kept.setId(10L);
+        User removed = new User("removed", "password", "Removed", "User", "removed@example.com", false);
+        removed.setId(11L);
+        User added = new User("added", "password", "Added", "User", "added@example.com", false);
+        added.setId(12L);
+        testBug.assignUser(kept);
+        testBug.assignUser(removed);
+        when(bugRepo.findWithAssignedUsersById(1L)).thenReturn(Optional.of(testBug));
+        when(userRepo.findAllById(Set.of(12L))).thenReturn(List.of(added));
+
+        bugService.assignUsers(1L, List.of(10L, 12L));
+
+        assertThat(testBug.getAssignedUsers()).containsExactlyInAnyOrder(kept, added);
+        assertThat(removed.getAssignedBugs()).doesNotContain(testBug);
+        assertThat(added.getAssignedBugs()).contains(testBug);
+    }
+
+    @Test
+    @DisplayName("Create Bug With Assignees - Should assign the users to the new bug in the same call")
+    void testCreateBug_WithAssignees() {
+        User assignee = new User("assignee", "password", "First", "Last", "assignee@example.com", false);
+        assignee.setId(10L);
+        when(bugRepo.save(testBug)).thenReturn(testBug);
+        when(userRepo.findAllById(Set.of(10L))).thenReturn(List.of(assignee));
+
+        Bug created = bugService.createBug(testBug, List.of(10L));
+
+        assertThat(created.getAssignedUsers()).containsExactly(assignee);
+        assertThat(assignee.getAssignedBugs()).contains(testBug);
+        verify(eventPublisher, times(1)).publishEvent(any(BugChangeEvent.class));
+    }
+
+    @Test
+    @DisplayName("Update Bug With Assignees - Should change fields and assignees, or neither on a stale version")
+    void testUpdateBug_WithAssignees() {
+        User added = new User("added", "password", "Added", "User", "added@example.com", false);
+        added.setId(12L);
+        testBug.setVersion(3L);
+        when(bugRepo.findWithAssignedUsersById(1L)).thenReturn(Optional.of(testBug));
+        when(userRepo.findAllById(Set.of(12L))).thenReturn(List.of(added));
+        when(bugRepo.save(testBug)).thenReturn(testBug);
+
+        Bug stale = new Bug("Stale Title", "Stale Desc", Priority.LOW, Status.CLOSED);
+        stale.setVersion(2L);
+        assertThrows(ConcurrentUpdateException.class, () -> bugService.updateBug(1L, stale, List.of(12L)));
+        assertEquals("Test Bug", testBug.getTitle());
+        assertThat(testBug.getAssignedUsers()).isEmpty();
+
+        Bug current = new Bug("New Title", "New Desc", Priority.LOW, Status.CLOSED);
+        current.setVersion(3L);
+        bugService.updateBug(1L, current, List.of(12L));
+        assertEquals("New Title", testBug.getTitle());
+        assertThat(testBug.getAssignedUsers()).containsExactly(added);
+        verify(bugRepo, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Assign Users - Should throw NotFoundException for non-existent bug")
+    void testAssignUsers_NotFound() {
+        when(bugRepo.findWithAssignedUsersById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> bugService.assignUsers(1L, List.of(10L)));
+        verifyNoInteractions(userRepo);
+    }
+
     @Test
     @DisplayName("Delete Bug - Should succeed for existing bug")
     void testDeleteBug_Success() {
-        when(bugRepo.existsById(1L)).thenReturn(true);
-        doNothing().when(bugRepo).deleteById(1L);
+        User assignee = new User("assignee", "secret-password", "First", "Last", "assignee@example.com", false);
+        testBug.assignUser(assignee);
+        when(bugRepo.findWithAssignedUsersById(1L)).thenReturn(Optional.of(testBug));
 
         assertDoesNotThrow(() -> bugService.deleteBug(1L));
 
-        verify(bugRepo, times(1)).existsById(1L);
-        verify(bugRepo, times(1)).deleteById(1L);
+        // Assignees are detached first, so their join-table rows and cached collections go too
+        assertTrue(testBug.getAssignedUsers().isEmpty());
+        assertTrue(assignee.getAssignedBugs().isEmpty());
+        verify(bugRepo, times(1)).delete(testBug);
+        // Announced to the live feed (after commit, see BugEventHub)
+        verify(eventPublisher).publishEvent((Object) argThat(event -> event instanceof BugChangeEvent change
+                && change.getType() == BugChangeEvent.Type.DELETED && change.getBugIds().equals(List.of(1L))));
     }
 
     @Test
     @DisplayName("Delete Bug - Should throw NotFoundException for non-existent bug")
     void testDeleteBug_NotFound() {
-        when(bugRepo.existsById(1L)).thenReturn(false);
+        when(bugRepo.findWithAssignedUsersById(1L)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> bugService.deleteBug(1L));
 
-        verify(bugRepo, times(1)).existsById(1L);
-        verify(bugRepo, never()).deleteById(1L);
+        verify(bugRepo, never()).delete(any(Bug.class));
     }
-}
\ No newline at end of file
+}
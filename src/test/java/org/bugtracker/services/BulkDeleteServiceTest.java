@@ -0,0 +1,198 @@
+package org.bugtracker.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.entities.User;
+import org.bugtracker.repos.BugRepo;
+import org.bugtracker.repos.UserRepo;
+import org.bugtracker.support.StatementCounter;
+import org.bugtracker.util.BulkDeleteResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the chunked bulk deletes against the embedded H2 database, including the join-table cleanup, the cache
+ * eviction, and a comparison with deleting the same number of bugs one by one through {@link BugService#deleteBug}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("BulkDeleteService Tests")
+class BulkDeleteServiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkDeleteServiceTest.class);
+
+    private static final int BUG_COUNT = 2_500; // Two full chunks and a partial one
+
+    @Autowired
+    private BulkDeleteService bulkDeleteService;
+
+    @Autowired
+    private BugService bugService;
+
+    @Autowired
+    private BugRepo bugRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private User jdoe;
+    private User asmith;
+    private List<Long> bugIds;
+
+    @BeforeEach
+    void setUp() {
+        jdoe = userRepo.save(new User("jdoe", "not-a-hash", "John", "Doe", "jdoe@example.com", false));
+        asmith = userRepo.save(new User("asmith", "not-a-hash", "Alice", "Smith", "asmith@example.com", false));
+        List<Bug> bugs = new ArrayList<>();
+        for (int i = 0; i < BUG_COUNT; i++) {
+            bugs.add(new Bug("Bug " + i, "d", Priority.LOW, Status.OPEN));
+        }
+        bugIds = bugService.createBugs(bugs).stream().map(Bug::getId).toList();
+        // Every bug is assigned to jdoe, the first one to asmith as well
+        jdbcTemplate.batchUpdate("INSERT INTO user_assigned_bugs (user_id, bug_id) VALUES (?, ?)",
+                bugIds.stream().map(bugId -> new Object[]{jdoe.getId(), bugId}).toList());
+        jdbcTemplate.update("INSERT INTO user_assigned_bugs (user_id, bug_id) VALUES (?, ?)", asmith.getId(), bugIds.get(0));
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM user_assigned_bugs");
+        bugRepo.deleteAll();
+        userRepo.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private int assignmentCount() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_assigned_bugs", Integer.class);
+        return count == null ? 0 : count;
+    }
+
+    private int assignedBugCount(Long userId) {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                userRepo.findById(userId).orElseThrow().getAssignedBugs().size());
+    }
+
+    @Test
+    @DisplayName("Deleting bugs should remove them and their assignments chunk by chunk")
+    void deleteBugs() {
+        List<Long> toDelete = new ArrayList<>(bugIds.subList(0, BUG_COUNT - 1));
+        toDelete.add(-1L); // Unknown IDs are skipped
+        assertThat(assignedBugCount(jdoe.getId())).isEqualTo(BUG_COUNT); // Caches jdoe's assignedBugs
+        List<Integer> progress = new ArrayList<>();
+
+        BulkDeleteResult result = bulkDeleteService.deleteBugs(toDelete,
+                (processed, total, deleted) -> progress.add(processed));
+
+        assertThat(result.getRequested()).isEqualTo(BUG_COUNT);
+        assertThat(result.getDeleted()).isEqualTo(BUG_COUNT - 1);
+        assertThat(result.getAssignmentsDeleted()).isEqualTo(BUG_COUNT);
+        assertThat(progress).containsExactly(1_000, 2_000, BUG_COUNT);
+        assertThat(bugRepo.count()).isEqualTo(1);
+        assertThat(assignmentCount()).isEqualTo(1);
+        assertThat(assignedBugCount(jdoe.getId())).isEqualTo(1); // Not served from the stale cached collection
+        assertThat(assignedBugCount(asmith.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("Deleting users should remove them and their assignments but keep their bugs")
+    void deleteUsers() {
+        Long bugId = bugIds.get(0);
+        assertThat(userRepo.findUsersByAssignedBugId(bugId)).hasSize(2);
+        bugService.getBugById(bugId); // Caches the bug's assignedUsers collection
+        userCache.putUserInCache(org.springframework.security.core.userdetails.User
+                .withUsername("jdoe").password("not-a-hash").roles("USER").build());
+
+        BulkDeleteResult result = bulkDeleteService.deleteUsers(List.of(jdoe.getId()), null);
+
+        assertThat(result.getDeleted()).isEqualTo(1);
+        assertThat(result.getAssignmentsDeleted()).isEqualTo(BUG_COUNT);
+        assertThat(userRepo.findById(jdoe.getId())).isEmpty();
+        assertThat(userCache.getUserFromCache("jdoe")).isNull();
+        assertThat(bugRepo.count()).isEqualTo(BUG_COUNT);
+        assertThat(bugService.getBugById(bugId).getAssignedUsers())
+                .extracting(User::getUsername).containsExactly("asmith");
+    }
+
+    @Test
+    @DisplayName("The bulk path should be much cheaper than deleting bug by bug")
+    void deleteBugs_ComparedToPerEntityDeletes() {
+        int rows = 200; // The per-entity path also loads the 2,500 assignments of jdoe for every bug
+        List<Long> perEntityIds = bugIds.subList(0, rows);
+        List<Long> bulkIds = bugIds.subList(rows, 2 * rows);
+        StatementCounter counter = new StatementCounter(entityManagerFactory);
+
+        counter.reset();
+        long start = System.nanoTime();
+        perEntityIds.forEach(bugService::deleteBug);
+        long perEntityMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long perEntityStatements = counter.getStatementCount();
+
+        start = System.nanoTime();
+        BulkDeleteResult result = bulkDeleteService.deleteBugs(bulkIds, null);
+        long bulkMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        logger.info("Deleted {} bugs one by one in {} ms ({} statements), in bulk in {} ms (1 batch of 2 statements)",
+                rows, perEntityMillis, perEntityStatements, bulkMillis);
+        assertThat(result.getDeleted()).isEqualTo(rows);
+        assertThat(perEntityStatements).isGreaterThanOrEqualTo(3L * rows); // Load, join-table delete, delete per bug
+        assertThat(bugRepo.count()).isEqualTo(BUG_COUNT - 2 * rows);
+        assertThat(assignmentCount()).isEqualTo(BUG_COUNT - 2 * rows);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("POST /bugs/bulk-delete should report the number of deleted bugs")
+    void bulkDeleteEndpoint() throws Exception {
+        mockMvc.perform(post("/bugs/bulk-delete").with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + bugIds.get(0) + "," + bugIds.get(1) + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requested").value(2))
+                .andExpect(jsonPath("$.deleted").value(2))
+                .andExpect(jsonPath("$.assignmentsDeleted").value(3));
+    }
+}
@@ -0,0 +1,110 @@
+package org.bugtracker.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.entities.User;
+import org.bugtracker.repos.BugRepo;
+import org.bugtracker.repos.UserRepo;
+import org.bugtracker.support.StatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures bulk creation of bugs and users against the embedded H2 database and checks that the inserts
+ * are batched: with pooled sequence IDs Hibernate sends one statement per JDBC batch (plus an occasional
+ * sequence call) instead of one round trip per row. The throughput is logged as rows/sec.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Bulk insert benchmark Tests")
+class BulkInsertBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkInsertBenchmarkTest.class);
+
+    private static final int ROWS = 5_000;
+
+    @Autowired
+    private BugService bugService;
+
+    @Autowired
+    private BugRepo bugRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private StatementCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new StatementCounter(entityManagerFactory);
+        bugRepo.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bugRepo.deleteAll();
+        userRepo.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Creating bugs in bulk should batch the inserts")
+    void createBugs_ShouldBatchInserts() {
+        List<Bug> bugs = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            bugs.add(new Bug("Imported bug " + i, "Imported description " + i, Priority.values()[i % 4], Status.OPEN));
+        }
+
+        counter.reset();
+        long start = System.nanoTime();
+        List<Bug> created = bugService.createBugs(bugs);
+        long elapsedNanos = System.nanoTime() - start;
+
+        logger.info("Created {} bugs in {} ms ({} rows/sec, {} statements)", ROWS,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rowsPerSecond(elapsedNanos), counter.getStatementCount());
+        assertThat(created).allSatisfy(bug -> assertThat(bug.getId()).isNotNull());
+        assertThat(bugRepo.count()).isEqualTo(ROWS);
+        counter.assertStatementCountAtMost(ROWS / 10);
+    }
+
+    @Test
+    @DisplayName("Creating users in bulk should batch the inserts")
+    void saveAllUsers_ShouldBatchInserts() {
+        List<User> users = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            // The password is stored as given here; hashing is not what this benchmark measures
+            users.add(new User("bulk" + i, "not-a-hash", "Bulk", "User", "bulk" + i + "@example.com", false));
+        }
+
+        counter.reset();
+        long start = System.nanoTime();
+        userRepo.saveAll(users);
+        long elapsedNanos = System.nanoTime() - start;
+
+        logger.info("Created {} users in {} ms ({} rows/sec, {} statements)", ROWS,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rowsPerSecond(elapsedNanos), counter.getStatementCount());
+        assertThat(userRepo.count()).isEqualTo(ROWS);
+        counter.assertStatementCountAtMost(ROWS / 10);
+    }
+
+    private static long rowsPerSecond(long elapsedNanos) {
+        return ROWS * TimeUnit.SECONDS.toNanos(1) / Math.max(1, elapsedNanos);
+    }
+}
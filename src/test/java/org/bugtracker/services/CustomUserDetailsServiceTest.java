@@ -0,0 +1,110 @@
+package org.bugtracker.services;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.bugtracker.entities.User;
+import org.bugtracker.repos.UserRepo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the cached lookup in CustomUserDetailsService, using a real (in-memory) JCacheUserCache.
+ */
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserRepo userRepository;
+
+    private CacheManager cacheManager;
+    private JCacheUserCache userCache;
+    private CustomUserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        cacheManager = provider.getCacheManager(URI.create("test:" + UUID.randomUUID()), provider.getDefaultClassLoader());
+        CaffeineConfiguration<String, JCacheUserCache.CachedUser> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false); // As configured in CacheConfig
+        Cache<String, JCacheUserCache.CachedUser> cache = cacheManager.createCache("userDetails", configuration);
+        userCache = new JCacheUserCache(cache);
+        userDetailsService = new CustomUserDetailsService(userRepository, userCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    @DisplayName("Repeated lookups of the same user only query the database once")
+    void loadUserByUsername_ShouldBeCached() {
+        when(userRepository.findByUsername("jdoe"))
+                .thenReturn(Optional.of(new User("jdoe", "hash", "John", "Doe", "jdoe@example.com", true)));
+
+        UserDetails first = userDetailsService.loadUserByUsername("jdoe");
+        UserDetails second = userDetailsService.loadUserByUsername("jdoe");
+
+        assertThat(second.getPassword()).isEqualTo("hash");
+        assertThat(second.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+        assertThat(second).isNotSameAs(first);
+        verify(userRepository, times(1)).findByUsername("jdoe");
+    }
+
+    @Test
+    @DisplayName("Erasing the credentials of a returned user does not corrupt the cache")
+    void erasedCredentials_ShouldNotLeakIntoCache() {
+        when(userRepository.findByUsername("jdoe"))
+                .thenReturn(Optional.of(new User("jdoe", "hash", "John", "Doe", "jdoe@example.com", false)));
+
+        // ProviderManager does this to the authenticated principal after every successful login
+        ((CredentialsContainer) userDetailsService.loadUserByUsername("jdoe")).eraseCredentials();
+
+        assertThat(userDetailsService.loadUserByUsername("jdoe").getPassword()).isEqualTo("hash");
+    }
+
+    @Test
+    @DisplayName("An evicted user is loaded from the database again")
+    void evictedUser_ShouldBeReloaded() {
+        when(userRepository.findByUsername("jdoe"))
+                .thenReturn(Optional.of(new User("jdoe", "hash", "John", "Doe", "jdoe@example.com", false)));
+        userDetailsService.loadUserByUsername("jdoe");
+
+        userCache.removeUserFromCache("jdoe");
+        userDetailsService.loadUserByUsername("jdoe");
+
+        verify(userRepository, times(2)).findByUsername("jdoe");
+    }
+
+    @Test
+    @DisplayName("Unknown usernames are rejected and not cached")
+    void unknownUser_ShouldNotBeCached() {
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("ghost"));
+
+        assertThat(userCache.getUserFromCache("ghost")).isNull();
+    }
+}
@@ -0,0 +1,175 @@
+package org.bugtracker.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.bugtracker.config.DatasetProperties;
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.entities.User;
+import org.bugtracker.repos.BugRepo;
+import org.bugtracker.repos.UserRepo;
+import org.bugtracker.util.DatasetGenerationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Generates small synthetic datasets in the embedded H2 database: their shape, their reproducibility from the
+ * seed, and that Hibernate keeps allocating IDs past the generated rows.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("DatasetGenerator Tests")
+class DatasetGeneratorTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGeneratorTest.class);
+
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+
+    @Autowired
+    private BugService bugService;
+
+    @Autowired
+    private BugRepo bugRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        // Set-based: deleteAll would load tens of thousands of entities first
+        jdbcTemplate.batchUpdate("DELETE FROM user_assigned_bugs", "DELETE FROM bug", "DELETE FROM app_user");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private static DatasetProperties spec(String usernamePrefix, long seed) {
+        DatasetProperties spec = new DatasetProperties();
+        spec.setUsers(500);
+        spec.setBugs(20_000);
+        spec.setSeed(seed);
+        spec.setUsernamePrefix(usernamePrefix);
+        spec.setBatchSize(1_000);
+        return spec;
+    }
+
+    /** The generated bugs in ID order, without their IDs: title, priority, status, dates and description. */
+    private List<String> bugContents(DatasetGenerationResult result) {
+        return jdbcTemplate.queryForList("SELECT CONCAT_WS('|', title, priority, status, created_at, updated_at, "
+                        + "description) FROM bug WHERE id BETWEEN ? AND ? ORDER BY id", String.class,
+                result.getFirstBugId(), result.getFirstBugId() + result.getBugs() - 1);
+    }
+
+    /** The assignments as (bug offset, user offset) pairs, relative to the first generated IDs. */
+    private List<String> assignments(DatasetGenerationResult result) {
+        return jdbcTemplate.queryForList("SELECT CONCAT(a.bug_id - ?, ':', a.user_id - ?) FROM user_assigned_bugs a "
+                        + "WHERE a.bug_id BETWEEN ? AND ? ORDER BY a.bug_id, a.user_id", String.class,
+                result.getFirstBugId(), result.getFirstUserId(),
+                result.getFirstBugId(), result.getFirstBugId() + result.getBugs() - 1);
+    }
+
+    private Map<Integer, Long> countBy(String column) {
+        Map<Integer, Long> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT " + column + ", COUNT(*) FROM bug GROUP BY " + column,
+                (RowCallbackHandler) row -> counts.put(row.getInt(1), row.getLong(2)));
+        return counts;
+    }
+
+    @Test
+    @DisplayName("Should write users, bugs and skewed assignments with the configured shape")
+    void generate() {
+        DatasetProperties spec = spec("gen", 42);
+
+        DatasetGenerationResult result = datasetGenerator.generate(spec);
+
+        logger.info("Generated {} users, {} bugs and {} assignments in {} ms", result.getUsers(), result.getBugs(),
+                result.getAssignments(), result.getElapsedMillis());
+        assertThat(userRepo.count()).isEqualTo(500);
+        assertThat(bugRepo.count()).isEqualTo(20_000);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_assigned_bugs", Long.class))
+                .isEqualTo(result.getAssignments())
+                .isBetween(20_000L, 30_000L); // About 1.2 assignees per bug
+
+        // Every status and priority occurs, closed bugs most and critical ones least often
+        Map<Status, Long> byStatus = countBy("status").entrySet().stream()
+                .collect(Collectors.toMap(entry -> Status.fromCode(entry.getKey()), Map.Entry::getValue));
+        assertThat(byStatus).containsOnlyKeys(Status.values());
+        assertThat(byStatus.get(Status.CLOSED)).isGreaterThan(byStatus.get(Status.OPEN));
+        Map<Integer, Long> byPriority = countBy("priority");
+        assertThat(byPriority).hasSize(Priority.values().length);
+        assertThat(byPriority.get(Priority.CRITICAL.getCode())).isBetween(500L, 1_500L);
+
+        // Zipf: the busiest user holds far more bugs than the median one
+        List<Long> perUser = jdbcTemplate.queryForList(
+                "SELECT COUNT(*) FROM user_assigned_bugs GROUP BY user_id ORDER BY COUNT(*) DESC", Long.class);
+        assertThat(perUser.get(0)).isGreaterThan(20 * perUser.get(perUser.size() / 2));
+
+        Integer shortest = jdbcTemplate.queryForObject("SELECT MIN(LENGTH(description)) FROM bug", Integer.class);
+        Integer longest = jdbcTemplate.queryForObject("SELECT MAX(LENGTH(description)) FROM bug", Integer.class);
+        assertThat(shortest).isGreaterThanOrEqualTo(spec.getMinDescriptionLength());
+        assertThat(longest).isLessThanOrEqualTo(spec.getMaxDescriptionLength()).isGreaterThan(3_000);
+
+        User user = userRepo.findByUsername("gen000001").orElseThrow();
+        assertThat(passwordEncoder.matches("password", user.getPassword())).isTrue();
+    }
+
+    @Test
+    @DisplayName("The same seed should produce the same rows, another seed different ones")
+    void generate_IsReproducible() {
+        DatasetGenerationResult first = datasetGenerator.generate(spec("first", 7));
+        DatasetGenerationResult second = datasetGenerator.generate(spec("second", 7));
+        DatasetGenerationResult other = datasetGenerator.generate(spec("other", 8));
+
+        assertThat(bugContents(second)).isEqualTo(bugContents(first));
+        assertThat(assignments(second)).isEqualTo(assignments(first));
+        assertThat(bugContents(other)).isNotEqualTo(bugContents(first));
+    }
+
+    @Test
+    @DisplayName("Entities saved afterwards should get IDs past the generated rows")
+    void generate_ThenSaveEntities() {
+        // Hibernate has already fetched a block of IDs when the dataset is generated
+        Bug before = bugService.createBug(new Bug("Before", "Saved before the dataset", Priority.LOW, Status.OPEN));
+
+        DatasetGenerationResult result = datasetGenerator.generate(spec("gen", 1));
+        // Enough to use up the block fetched before and take IDs from the moved sequence
+        List<Bug> after = new ArrayList<>();
+        for (int i = 0; i < 2 * Bug.ID_ALLOCATION_SIZE; i++) {
+            after.add(new Bug("After " + i, "Saved after the dataset", Priority.LOW, Status.OPEN));
+        }
+        List<Long> afterIds = bugService.createBugs(after).stream().map(Bug::getId).toList();
+        User user = userRepo.save(new User("latecomer", "not-a-hash", "Late", "Comer", "late@example.com", false));
+
+        long lastBugId = result.getFirstBugId() + result.getBugs() - 1;
+        assertThat(before.getId()).isLessThan(result.getFirstBugId());
+        assertThat(afterIds).allSatisfy(id -> assertThat(id < result.getFirstBugId() || id > lastBugId).isTrue());
+        assertThat(afterIds.get(afterIds.size() - 1)).isGreaterThan(lastBugId);
+        assertThat(user.getId() < result.getFirstUserId() || user.getId() >= result.getFirstUserId() + result.getUsers()).isTrue();
+        assertThat(bugRepo.count()).isEqualTo(20_001 + 2 * Bug.ID_ALLOCATION_SIZE);
+    }
+}
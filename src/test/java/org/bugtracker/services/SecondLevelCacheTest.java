@@ -0,0 +1,186 @@
+package org.bugtracker.services;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.entities.User;
+import org.bugtracker.entities.UserProfileUpdateDto;
+import org.bugtracker.problems.NotFoundException;
+import org.bugtracker.repos.BugRepo;
+import org.bugtracker.repos.UserRepo;
+import org.bugtracker.support.StatementCounter;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks that the second-level and query caches serve repeated reads, and that every write path
+ * leaves them consistent with the database. Runs the real services against the embedded H2 database.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Second-level cache Tests")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private BugService bugService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private BugRepo bugRepo;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private StatementCounter counter;
+    private Long bugId;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        counter = new StatementCounter(entityManagerFactory);
+
+        Bug bug = bugRepo.save(new Bug("Cached bug", "Description", Priority.HIGH, Status.OPEN));
+        bugId = bug.getId();
+        User user = userRepo.save(new User("cached", "secret-password", "Cached", "User", "cached@example.com", false));
+        userId = user.getId();
+        bugService.assignUsers(bugId, List.of(userId));
+    }
+
+    @AfterEach
+    void tearDown() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userRepo.findAll().forEach(user -> userService.deleteUser(user.getId()));
+            bugRepo.deleteAll();
+        });
+    }
+
+    private CacheRegionStatistics region(String name) {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getDomainDataRegionStatistics(name);
+    }
+
+    @Test
+    @DisplayName("A warm bug, its assignee IDs and the assignees are read without touching the database")
+    void getBugById_ShouldBeServedFromCache() {
+        bugService.getBugById(bugId); // Warm up
+        counter.reset();
+
+        Bug bug = bugService.getBugById(bugId);
+
+        assertThat(bug.getAssignedUsers()).extracting(User::getUsername).containsExactly("cached");
+        counter.assertStatementCount(0);
+        assertThat(region(Bug.CACHE_REGION).getHitCount()).isEqualTo(1);
+        assertThat(region(Bug.ASSIGNED_USERS_CACHE_REGION).getHitCount()).isEqualTo(1);
+        assertThat(region(User.CACHE_REGION).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("findByUsername and findByEmail are answered from the query cache")
+    void findByUsername_ShouldBeServedFromQueryCache() {
+        userService.findByUsername("cached");
+        userRepo.findByEmail("cached@example.com");
+        counter.reset();
+
+        assertThat(userService.findByUsername("cached")).isPresent();
+        assertThat(userRepo.findByEmail("cached@example.com")).isPresent();
+
+        counter.assertStatementCount(0);
+        assertThat(entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getQueryCacheHitCount())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("updateBug replaces the cached bug")
+    void updateBug_ShouldRefreshCachedBug() {
+        bugService.getBugById(bugId);
+
+        bugService.updateBug(bugId, new Bug("Renamed bug", "New description", Priority.LOW, Status.RESOLVED));
+
+        Bug bug = bugService.getBugById(bugId);
+        assertThat(bug.getTitle()).isEqualTo("Renamed bug");
+        assertThat(bug.getStatus()).isEqualTo(Status.RESOLVED);
+    }
+
+    @Test
+    @DisplayName("deleteBug evicts the bug and the cached assignedBugs collections of its assignees")
+    void deleteBug_ShouldEvictBugAndAssignments() {
+        bugService.getBugById(bugId);
+        readAssignedBugIds(); // Caches the user's assignedBugs collection
+
+        bugService.deleteBug(bugId);
+
+        assertThrows(NotFoundException.class, () -> bugService.getBugById(bugId));
+        assertThat(readAssignedBugIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("updateUser with a new username invalidates the cached username lookups")
+    void updateUser_ShouldInvalidateUsernameQueryCache() {
+        assertThat(userService.findByUsername("cached")).isPresent();
+
+        User changes = new User("renamed", "", "Renamed", "User", "cached@example.com", false);
+        changes.setId(userId);
+        userService.updateUser(changes);
+
+        assertThat(userService.findByUsername("cached")).isEmpty();
+        assertThat(userService.findByUsername("renamed")).get()
+                .extracting(User::getFirstName).isEqualTo("Renamed");
+    }
+
+    @Test
+    @DisplayName("updateUserProfile is visible through cached lookups and cached assignees")
+    void updateUserProfile_ShouldRefreshCachedUser() {
+        userService.findByUsername("cached");
+        bugService.getBugById(bugId);
+
+        UserProfileUpdateDto profile = new UserProfileUpdateDto();
+        profile.setFirstName("Profile");
+        profile.setLastName("Changed");
+        profile.setEmail("changed@example.com");
+        userService.updateUserProfile("cached", profile);
+
+        assertThat(userService.findByUsername("cached")).get()
+                .extracting(User::getEmail).isEqualTo("changed@example.com");
+        assertThat(userRepo.findByEmail("cached@example.com")).isEmpty();
+        assertThat(bugService.getBugById(bugId).getAssignedUsers())
+                .extracting(User::getFirstName).containsExactly("Profile");
+    }
+
+    @Test
+    @DisplayName("deleteUser evicts the cached assignedUsers collections of the user's bugs")
+    void deleteUser_ShouldEvictAssignments() {
+        assertThat(bugService.getBugById(bugId).getAssignedUsers()).hasSize(1);
+
+        userService.deleteUser(userId);
+
+        assertThat(bugService.getBugById(bugId).getAssignedUsers()).isEmpty();
+        assertThat(userService.findByUsername("cached")).isEmpty();
+    }
+
+    private List<Long> readAssignedBugIds() {
+        return new TransactionTemplate(transactionManager).execute(status -> userRepo.findById(userId).orElseThrow()
+                .getAssignedBugs().stream().map(Bug::getId).toList());
+    }
+}
@@ -1,5 +1,9 @@
 package org.bugtracker.services;
 
+import org.bugtracker.entities.AssigneeDto;
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
 import org.bugtracker.entities.User;
 import org.bugtracker.problems.NotFoundException;
 import org.bugtracker.problems.UserAlreadyExistsException;
@@ -16,6 +20,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.List;
@@ -29,10 +34,10 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -48,6 +53,9 @@ public class UserServiceTest {
     @Mock // Mocks the PasswordEncoder dependency
     private PasswordEncoder passwordEncoder;
 
+    @Mock // Mocks the login cache that user changes must evict
+    private UserCache userCache;
+
     @InjectMocks // Injects the mocked dependencies into UserServiceImpl
     private UserServiceImpl userService;
 
@@ -181,6 +189,7 @@ public class UserServiceTest {
         assertEquals("encodedNewPassword", result.getPassword()); // Verify encoded password
         assertTrue(result.getAdmin());
         verify(userRepository, times(1)).save(testUser); // Verify save was called with the updated user
+        verify(userCache).removeUserFromCache("testuser"); // Cached login of the old state is dropped
     }
 
     @Test
@@ -210,28 +219,53 @@ public class UserServiceTest {
     @DisplayName("Delete User - Should succeed for existing user")
     void deleteUser_Success() {
         // Arrange
-        when(userRepository.existsById(1L)).thenReturn(true);
-        doNothing().when(userRepository).deleteById(1L);
+        Bug bug = new Bug("Assigned bug", "Description", Priority.LOW, Status.OPEN);
+        bug.assignUser(testUser);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
 
         // Act
         assertDoesNotThrow(() -> userService.deleteUser(1L));
 
-        // Assert
-        verify(userRepository, times(1)).existsById(1L);
-        verify(userRepository, times(1)).deleteById(1L);
+        // Assert: both sides of the assignment are cleared before the delete
+        assertTrue(bug.getAssignedUsers().isEmpty());
+        assertTrue(testUser.getAssignedBugs().isEmpty());
+        verify(userRepository, times(1)).delete(testUser);
+        verify(userCache).removeUserFromCache("testuser");
     }
 
     @Test
     @DisplayName("Delete User - Should fail for non-existent user")
     void deleteUser_NotFound() {
         // Arrange
-        when(userRepository.existsById(1L)).thenReturn(false);
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(NotFoundException.class, () -> {
             userService.deleteUser(1L);
         });
-        verify(userRepository, times(1)).existsById(1L);
-        verify(userRepository, never()).deleteById(1L);
+        verify(userRepository, never()).delete(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Search Assignees - Should query a lower-cased, escaped prefix with a capped limit")
+    void searchAssignees_Success() {
+        // Arrange
+        AssigneeDto suggestion = AssigneeDto.from(testUser);
+        when(userRepository.findAssigneesByPrefix("te\\_%", PageRequest.of(0, UserService.MAX_ASSIGNEE_SUGGESTIONS)))
+                .thenReturn(List.of(suggestion));
+
+        // Act
+        List<AssigneeDto> result = userService.searchAssignees(" TE_ ", 1000);
+
+        // Assert
+        assertEquals(List.of(suggestion), result);
+        verify(userRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Search Assignees - Should not query the database for blank input")
+    void searchAssignees_BlankInput() {
+        assertTrue(userService.searchAssignees("  ", 10).isEmpty());
+        verifyNoInteractions(userRepository);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,100 @@
+package org.bugtracker.support;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Test helper that records how long threads wait for a connection from the Hikari pool and how long they keep
+ * it. Import it into a test context ({@code @Import(ConnectionPoolProbe.class)}); it hooks into the pool before
+ * the pool starts.
+ * <pre>
+ *     probe.reset();
+ *     // ... run requests ...
+ *     logger.info("{}", probe.summary());
+ * </pre>
+ */
+public class ConnectionPoolProbe implements BeanPostProcessor, MetricsTrackerFactory {
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final LongAccumulator maxAcquireNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder usageMillis = new LongAdder();
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource) {
+            dataSource.setMetricsTrackerFactory(this);
+        }
+        return bean;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquisitions.increment();
+                acquireNanos.add(elapsedAcquiredNanos);
+                maxAcquireNanos.accumulate(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usageMillis.add(elapsedBorrowedMillis);
+            }
+        };
+    }
+
+    /**
+     * Starts a new measurement.
+     */
+    public void reset() {
+        acquisitions.reset();
+        acquireNanos.reset();
+        maxAcquireNanos.reset();
+        usageMillis.reset();
+    }
+
+    /**
+     * @return The number of connections handed out since the last {@link #reset()}.
+     */
+    public long getAcquisitions() {
+        return acquisitions.sum();
+    }
+
+    /**
+     * @return The total time threads waited for a connection since the last {@link #reset()}, in milliseconds.
+     */
+    public long getTotalWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(acquireNanos.sum());
+    }
+
+    /**
+     * @return The longest single wait for a connection since the last {@link #reset()}, in milliseconds.
+     */
+    public long getMaxWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxAcquireNanos.get());
+    }
+
+    /**
+     * @return The total time connections were borrowed since the last {@link #reset()}, in milliseconds.
+     */
+    public long getTotalUsageMillis() {
+        return usageMillis.sum();
+    }
+
+    /**
+     * @return The measurements in one line, for logging.
+     */
+    public String summary() {
+        return String.format("%d connections, waited %d ms in total (max %d ms), held %d ms in total",
+                getAcquisitions(), getTotalWaitMillis(), getMaxWaitMillis(), getTotalUsageMillis());
+    }
+}
@@ -0,0 +1,64 @@
+package org.bugtracker.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test helper that counts the JDBC statements Hibernate prepares, based on Hibernate {@link Statistics}.
+ * Use it to pin the number of queries an endpoint or service call may issue, so N+1 regressions fail a test.
+ * <pre>
+ *     counter.reset();
+ *     mockMvc.perform(get("/bugs/1"));
+ *     counter.assertStatementCount(1);
+ * </pre>
+ */
+public class StatementCounter {
+
+    private final Statistics statistics;
+
+    public StatementCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    /**
+     * Starts a new measurement.
+     */
+    public void reset() {
+        statistics.clear();
+    }
+
+    /**
+     * @return The number of statements prepared since the last {@link #reset()}.
+     */
+    public long getStatementCount() {
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Asserts that exactly the given number of statements was prepared since the last {@link #reset()}.
+     *
+     * @param expected The expected number of statements.
+     */
+    public void assertStatementCount(long expected) {
+        assertThat(getStatementCount())
+                .as("JDBC statements prepared (entities loaded: %d, collections fetched: %d)",
+                        statistics.getEntityLoadCount(), statistics.getCollectionFetchCount())
+                .isEqualTo(expected);
+    }
+
+    /**
+     * Asserts that at most the given number of statements was prepared since the last {@link #reset()}.
+     *
+     * @param max The maximum number of statements.
+     */
+    public void assertStatementCountAtMost(long max) {
+        assertThat(getStatementCount())
+                .as("JDBC statements prepared (entities loaded: %d, collections fetched: %d)",
+                        statistics.getEntityLoadCount(), statistics.getCollectionFetchCount())
+                .isLessThanOrEqualTo(max);
+    }
+}
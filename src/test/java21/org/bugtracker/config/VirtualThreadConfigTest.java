@@ -0,0 +1,389 @@
+package org.bugtracker.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.bugtracker.entities.Bug;
+import org.bugtracker.entities.Priority;
+import org.bugtracker.entities.Status;
+import org.bugtracker.entities.User;
+import org.bugtracker.repos.UserRepo;
+import org.bugtracker.services.BugService;
+import org.bugtracker.support.ConnectionPoolProbe;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the application on virtual threads, with a real Tomcat and a deliberately small connection pool:
+ * which threads requests and {@code @Async} methods run on, how requests beyond the pool size wait for a
+ * connection instead of holding a thread, and whether the request paths pin their virtual threads (jdk.VirtualThreadPinned events,
+ * recorded with JFR while the requests run).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "bugtracker.virtual-threads.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=" + VirtualThreadConfigTest.POOL_SIZE,
+        "bugtracker.login-throttling.enabled=false",
+        "bugtracker.password-hashing.strength=4"})
+@ActiveProfiles("test")
+@Import({ConnectionPoolProbe.class, VirtualThreadConfigTest.Probes.class})
+@DisplayName("VirtualThreadConfig Tests")
+class VirtualThreadConfigTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfigTest.class);
+
+    static final int POOL_SIZE = 2;
+
+    /** More than the pool, and as many as Tomcat's default platform-thread pool would serve at once. */
+    private static final int CONCURRENT_REQUESTS = 200;
+
+    /** Each holds a connection for {@link SlowQueryController#HOLD}, so they need several rounds of the pool. */
+    private static final int SLOW_QUERIES = 40;
+
+    private static final Pattern CSRF_INPUT = Pattern.compile("name=\"_csrf\"[^>]*value=\"([^\"]*)\"");
+
+    /**
+     * Records the thread every request runs on and how many requests run at the same time.
+     */
+    static class RequestThreadFilter extends OncePerRequestFilter {
+
+        private final Queue<Thread> threads = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LongAccumulator maxInFlight = new LongAccumulator(Math::max, 0);
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            threads.add(Thread.currentThread());
+            maxInFlight.accumulate(inFlight.incrementAndGet());
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        void reset() {
+            threads.clear();
+            maxInFlight.reset();
+        }
+    }
+
+    static class AsyncProbe {
+
+        @Async
+        public CompletableFuture<Thread> currentThread() {
+            return CompletableFuture.completedFuture(Thread.currentThread());
+        }
+    }
+
+    /**
+     * Stands in for a slow query: keeps its connection, inside a transaction, while its thread waits as if on
+     * the database. The embedded H2 answers too quickly for the application's own pages to queue on the pool.
+     */
+    @RestController
+    static class SlowQueryController {
+
+        static final Duration HOLD = Duration.ofMillis(50);
+
+        private final JdbcTemplate jdbcTemplate;
+        private final TransactionTemplate transactionTemplate;
+
+        SlowQueryController(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+            this.jdbcTemplate = jdbcTemplate;
+            this.transactionTemplate = new TransactionTemplate(transactionManager);
+        }
+
+        @GetMapping("/test/slow-query")
+        Long slowQuery() {
+            return transactionTemplate.execute(status -> {
+                Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bug", Long.class);
+                try {
+                    Thread.sleep(HOLD);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return count;
+            });
+        }
+    }
+
+    @TestConfiguration
+    static class Probes {
+
+        @Bean
+        RequestThreadFilter requestThreadFilter() {
+            return new RequestThreadFilter();
+        }
+
+        @Bean
+        AsyncProbe asyncProbe() {
+            return new AsyncProbe();
+        }
+
+        @Bean
+        SlowQueryController slowQueryController(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+            return new SlowQueryController(jdbcTemplate, transactionManager);
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RequestThreadFilter requestThreadFilter;
+
+    @Autowired
+    private AsyncProbe asyncProbe;
+
+    @Autowired
+    private ConnectionPoolProbe poolProbe;
+
+    @Autowired
+    private BugService bugService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<Long> bugIds;
+
+    @BeforeEach
+    void setUp() {
+        userRepo.save(new User("vthreads", passwordEncoder.encode("password"), "Virtual", "Threads",
+                "vthreads@example.com", false));
+        List<Bug> bugs = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            bugs.add(new Bug("Bug " + i, "Steps to reproduce bug " + i, Priority.MEDIUM, Status.OPEN));
+        }
+        bugIds = bugService.createBugs(bugs).stream().map(Bug::getId).toList();
+        requestThreadFilter.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.batchUpdate("DELETE FROM user_assigned_bugs", "DELETE FROM bug", "DELETE FROM app_user");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    /** Logs in through the login form, like a browser; the returned client keeps the session cookie. */
+    private HttpClient login() throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        Matcher csrf = CSRF_INPUT.matcher(client.send(HttpRequest.newBuilder(uri("/auth")).build(),
+                HttpResponse.BodyHandlers.ofString()).body());
+        assertThat(csrf.find()).isTrue();
+        String form = "username=vthreads&password=password&_csrf=" + URLEncoder.encode(csrf.group(1), StandardCharsets.UTF_8);
+        HttpResponse<Void> result = client.send(HttpRequest.newBuilder(uri("/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form)).build(), HttpResponse.BodyHandlers.discarding());
+        assertThat(result.headers().firstValue("Location")).hasValueSatisfying(location -> assertThat(location).doesNotContain("/auth"));
+        return client;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    /**
+     * Runs the work while recording every jdk.VirtualThreadPinned event, however short.
+     */
+    private static List<RecordedEvent> recordPinning(ThrowingRunnable work) throws Exception {
+        List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", pinned::add);
+            recording.startAsync();
+            work.run();
+            recording.stop(); // Delivers the remaining events before returning
+        }
+        return pinned;
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    /** The frames of the pinned thread below the JDK's own parking code, where the monitor was taken. */
+    private static String topFrames(RecordedEvent event) {
+        StringBuilder frames = new StringBuilder();
+        List<RecordedFrame> stack = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        stack.stream()
+                .filter(frame -> !frame.getMethod().getType().getName().matches("(java\\.lang|jdk\\.internal|java\\.util\\.concurrent\\.locks)\\..*"))
+                .limit(12)
+                .forEach(frame -> frames.append("\n    at ").append(frame.getMethod().getType().getName()).append('.')
+                        .append(frame.getMethod().getName()).append(':').append(frame.getLineNumber()));
+        return frames.toString();
+    }
+
+    @Test
+    @DisplayName("Requests should run on virtual threads")
+    void requestsRunOnVirtualThreads() throws Exception {
+        HttpResponse<String> response = HttpClient.newHttpClient().send(HttpRequest.newBuilder(uri("/auth")).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(requestThreadFilter.threads).isNotEmpty().allSatisfy(thread -> {
+            assertThat(thread.isVirtual()).isTrue();
+            assertThat(thread.getName()).startsWith("http-virtual-");
+        });
+    }
+
+    @Test
+    @DisplayName("@Async methods should run on virtual threads")
+    void asyncMethodsRunOnVirtualThreads() throws Exception {
+        Thread thread = asyncProbe.currentThread().get(10, TimeUnit.SECONDS);
+
+        assertThat(thread).isNotSameAs(Thread.currentThread());
+        assertThat(thread.isVirtual()).isTrue();
+        assertThat(thread.getName()).startsWith("task-virtual-");
+    }
+
+    /** Sends the requests all at once from virtual threads and collects their status codes. */
+    private static List<Integer> sendConcurrently(HttpClient client, List<URI> uris) throws Exception {
+        List<Integer> statuses = new CopyOnWriteArrayList<>();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> calls = new ArrayList<>();
+            for (URI target : uris) {
+                calls.add(callers.submit(() -> statuses.add(client.send(HttpRequest.newBuilder(target).build(),
+                        HttpResponse.BodyHandlers.discarding()).statusCode())));
+            }
+            for (Future<?> call : calls) {
+                call.get(60, TimeUnit.SECONDS);
+            }
+        }
+        return statuses;
+    }
+
+    @Test
+    @DisplayName("Concurrent page requests should not pin their virtual threads")
+    void concurrentPageRequests_DoNotPin() throws Exception {
+        HttpClient client = login();
+        List<URI> pages = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            pages.add(uri(i % 2 == 0 ? "/bugs/" + bugIds.get(i % bugIds.size()) : "/bugs?page=" + (i % 5)));
+        }
+        // One request per page first, so one-time work (class initialization holds a monitor) is not recorded
+        sendConcurrently(client, List.of(pages.get(0), pages.get(1)));
+        poolProbe.reset();
+        requestThreadFilter.reset();
+        List<Integer> statuses = new ArrayList<>();
+
+        List<RecordedEvent> pinned = recordPinning(() -> statuses.addAll(sendConcurrently(client, pages)));
+
+        logger.info("{} concurrent requests, at most {} at once on the server: {}; {} pinned events",
+                CONCURRENT_REQUESTS, requestThreadFilter.maxInFlight.get(), poolProbe.summary(), pinned.size());
+        pinned.stream().limit(5).forEach(event -> logger.info("Pinned for {} ms:{}",
+                event.getDuration().toMillis(), topFrames(event)));
+
+        assertThat(statuses).hasSize(CONCURRENT_REQUESTS).containsOnly(200);
+        assertThat(poolProbe.getAcquisitions()).isGreaterThanOrEqualTo(CONCURRENT_REQUESTS);
+        assertThat(pinned).as(() -> "pinned virtual threads, first at:" + topFrames(pinned.get(0))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Requests beyond the pool size should wait for a connection, not fail")
+    void slowQueries_WaitForThePool() throws Exception {
+        HttpClient client = login();
+        poolProbe.reset();
+        requestThreadFilter.reset();
+        List<URI> calls = new ArrayList<>();
+        for (int i = 0; i < SLOW_QUERIES; i++) {
+            calls.add(uri("/test/slow-query"));
+        }
+        long start = System.nanoTime();
+
+        List<Integer> statuses = sendConcurrently(client, calls);
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.info("{} slow queries in {} ms, at most {} at once on the server: {}",
+                SLOW_QUERIES, elapsedMillis, requestThreadFilter.maxInFlight.get(), poolProbe.summary());
+
+        assertThat(statuses).hasSize(SLOW_QUERIES).containsOnly(200);
+        // The parked requests did not hold a thread, so more of them were in flight than there are connections...
+        assertThat(requestThreadFilter.maxInFlight.get()).isGreaterThan(POOL_SIZE);
+        // ...and the ones beyond the pool size waited for a connection to come back
+        assertThat(poolProbe.getMaxWaitMillis()).isGreaterThanOrEqualTo(SlowQueryController.HOLD.toMillis());
+        assertThat(elapsedMillis).isGreaterThanOrEqualTo(SLOW_QUERIES * SlowQueryController.HOLD.toMillis() / POOL_SIZE);
+    }
+
+    @Test
+    @DisplayName("Blocking inside synchronized code should be reported as pinning")
+    void synchronizedBlocking_IsDetected() throws Exception {
+        Object monitor = new Object();
+
+        List<RecordedEvent> pinned = recordPinning(() -> Thread.ofVirtual().start(() -> {
+            synchronized (monitor) {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }).join());
+
+        // Guards the check above: the recording does see pinning when it happens
+        assertThat(pinned).hasSize(1);
+        assertThat(pinned.get(0).getDuration()).isGreaterThan(Duration.ofMillis(10));
+    }
+}